@@ -7,6 +7,8 @@ import '../styles/DashboardPage.css';
 function DashboardPage({ userRole }) {
   const [documents, setDocuments] = useState([]);
   const [analyses, setAnalyses] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [stats, setStats] = useState({
     totalDocuments: 0,
@@ -24,22 +26,24 @@ function DashboardPage({ userRole }) {
       setLoading(true);
       const userId = parseInt(localStorage.getItem('userId') || '1', 10);
 
-      const [docsRes, pendingRes] = await Promise.all([
+      const [docsRes, pendingRes, statsRes] = await Promise.all([
         axios.get(`http://localhost:8080/api/documents/user/${userId}`),
-        axios.get(`http://localhost:8080/api/risk-analysis/pending-user/${userId}`)
+        axios.get(`http://localhost:8080/api/risk-analysis/pending-user/${userId}`),
+        axios.get('http://localhost:8080/api/risk-analysis/stats')
       ]);
 
-      setDocuments(docsRes.data);
-      setAnalyses(pendingRes.data);
+      const docs = docsRes.data.items;
+      const pending = pendingRes.data.items;
+      const riskStats = statsRes.data;
+      setDocuments(docs);
+      setNextCursor(docsRes.data.nextCursor);
+      setAnalyses(pending);
 
       setStats({
-        totalDocuments: docsRes.data.length,
-        completedAnalyses: docsRes.data.filter(d => d.processingStatus === 'COMPLETED').length,
-        highRiskDocuments: docsRes.data.filter(d => {
-          const riskAnalysis = getRiskAnalysisForDocument(d.id, docsRes.data, pendingRes.data);
-          return riskAnalysis && (riskAnalysis.overallRiskLevel === 'HIGH' || riskAnalysis.overallRiskLevel === 'CRITICAL');
-        }).length,
-        pendingReviews: pendingRes.data.length
+        totalDocuments: docs.length,
+        completedAnalyses: riskStats.totalAnalyses,
+        highRiskDocuments: riskStats.byRiskLevel.HIGH + riskStats.byRiskLevel.CRITICAL,
+        pendingReviews: riskStats.pendingReview
       });
     } catch (error) {
       toast.error('Failed to load dashboard: ' + error.message);
@@ -48,8 +52,20 @@ function DashboardPage({ userRole }) {
     }
   };
 
-  const getRiskAnalysisForDocument = (docId, allDocs, pendingAnalyses) => {
-    return pendingAnalyses.find(a => a.document?.id === docId) || null;
+  const loadMoreDocuments = async () => {
+    try {
+      setLoadingMore(true);
+      const userId = parseInt(localStorage.getItem('userId') || '1', 10);
+      const res = await axios.get(`http://localhost:8080/api/documents/user/${userId}`, {
+        params: { cursor: nextCursor }
+      });
+      setDocuments(prev => [...prev, ...res.data.items]);
+      setNextCursor(res.data.nextCursor);
+    } catch (error) {
+      toast.error('Failed to load more documents: ' + error.message);
+    } finally {
+      setLoadingMore(false);
+    }
   };
 
   const getReviewStatus = (docId) => {
@@ -137,7 +153,7 @@ function DashboardPage({ userRole }) {
                 </tr>
               </thead>
               <tbody>
-                {documents.slice(0, 10).map((doc) => {
+                {documents.map((doc) => {
                   const reviewStatus = getReviewStatus(doc.id);
                   return (
                     <tr key={doc.id}>
@@ -178,6 +194,11 @@ function DashboardPage({ userRole }) {
               </tbody>
             </table>
           </div>
+          {nextCursor && (
+            <button onClick={loadMoreDocuments} className="action-button" disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          )}
         </div>
 
         {analyses.length > 0 && (
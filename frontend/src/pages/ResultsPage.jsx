@@ -52,7 +52,9 @@ function ResultsPage() {
         return;
       }
 
-      setDocumentData(docRes.data);
+      const contentRes = await axios.get(`http://localhost:8080/api/documents/${documentId}/content`, { responseType: 'text' })
+        .catch(() => ({ data: null }));
+      setDocumentData({ ...docRes.data, extractedText: contentRes.data || null });
 
       let classification = null;
       let riskAnalysis = null;
@@ -41,9 +41,37 @@ export const documentAPI = {
       headers: { 'Content-Type': 'multipart/form-data' }
     });
   },
+  uploadDocumentAsync: (file, userId) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    formData.append('userId', userId);
+    return api.post('/documents/upload/async', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' }
+    });
+  },
+  uploadDocumentBatch: (files, userId) => {
+    const formData = new FormData();
+    files.forEach((file) => formData.append('files', file));
+    formData.append('userId', userId);
+    return api.post('/documents/upload/batch', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' }
+    });
+  },
+  uploadDocumentArchive: (archive, userId) => {
+    const formData = new FormData();
+    formData.append('archive', archive);
+    formData.append('userId', userId);
+    return api.post('/documents/upload/batch', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' }
+    });
+  },
+  getDocumentStatus: (id) => api.get(`/documents/${id}/status`),
   getDocument: (id) => api.get(`/documents/${id}`),
-  getUserDocuments: (userId) => api.get(`/documents/user/${userId}`),
-  getDocumentsByStatus: (status) => api.get(`/documents/status/${status}`),
+  getDocumentContent: (id) => api.get(`/documents/${id}/content`, { responseType: 'text' }),
+  // plain URL so <iframe>/<embed> previews fetch byte ranges directly instead of buffering through axios
+  getDownloadUrl: (id) => `${API_BASE_URL}/documents/${id}/download`,
+  getUserDocuments: (userId, cursor, size) => api.get(`/documents/user/${userId}`, { params: { cursor, size } }),
+  getDocumentsByStatus: (status, cursor, size) => api.get(`/documents/status/${status}`, { params: { cursor, size } }),
   updateDocumentStatus: (id, status) => api.put(`/documents/${id}/status`, { status }),
   deleteDocument: (id) => api.delete(`/documents/${id}`),
   extractText: (id) => api.post(`/documents/${id}/extract-text`)
@@ -55,8 +83,8 @@ export const classificationAPI = {
     return api.post(`/classifications/classify/${documentId}`);
   },
   getClassification: (documentId) => api.get(`/classifications/${documentId}`),
-  getByCategory: (category) => api.get(`/classifications/category/${category}`),
-  getHighConfidence: (minConfidence) => api.get(`/classifications/high-confidence/${minConfidence}`),
+  getByCategory: (category, cursor, size) => api.get(`/classifications/category/${category}`, { params: { cursor, size } }),
+  getHighConfidence: (minConfidence, cursor, size) => api.get(`/classifications/high-confidence/${minConfidence}`, { params: { cursor, size } }),
   updateClassification: (id, category) => api.put(`/classifications/${id}`, { category }),
   validateClassification: (id) => api.get(`/classifications/${id}/validate`)
 };
@@ -67,9 +95,9 @@ export const riskAnalysisAPI = {
     return api.post(`/risk-analysis/analyze/${documentId}`, { framework });
   },
   getAnalysis: (documentId) => api.get(`/risk-analysis/${documentId}`),
-  getByRiskLevel: (level) => api.get(`/risk-analysis/level/${level}`),
-  getHighRisk: (minScore) => api.get(`/risk-analysis/high-risk/${minScore}`),
-  getUnreviewed: () => api.get('/risk-analysis/unreviewed'),
+  getByRiskLevel: (level, cursor, size) => api.get(`/risk-analysis/level/${level}`, { params: { cursor, size } }),
+  getHighRisk: (minScore, cursor, size) => api.get(`/risk-analysis/high-risk/${minScore}`, { params: { cursor, size } }),
+  getUnreviewed: (cursor, size) => api.get('/risk-analysis/unreviewed', { params: { cursor, size } }),
   reviewAnalysis: (id, reviewerUserId, notes = 'Review requested by user') => {
     return api.post(`/risk-analysis/${id}/review`, null, {
       params: {
@@ -79,7 +107,8 @@ export const riskAnalysisAPI = {
     });
   },
   updateRiskLevel: (id, newLevel) => api.put(`/risk-analysis/${id}/risk-level`, { newLevel }),
-  getByFramework: (framework) => api.get(`/risk-analysis/framework/${framework}`)
+  getByFramework: (framework, cursor, size) => api.get(`/risk-analysis/framework/${framework}`, { params: { cursor, size } }),
+  getStats: (days = 30) => api.get('/risk-analysis/stats', { params: { days } })
 };
 
 export default api;
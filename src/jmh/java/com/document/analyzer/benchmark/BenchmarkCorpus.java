@@ -0,0 +1,120 @@
+package com.document.analyzer.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * Deterministic document corpus for the benchmarks. Text mixes contract, privacy and
+ * security vocabulary with filler so keyword density resembles real uploads; the same
+ * size always produces the same bytes, so results stay comparable between commits.
+ * Generated files are cached under {@code jmh.corpus.dir} (default {@code target/jmh-corpus}).
+ */
+public final class BenchmarkCorpus {
+
+    private static final String[] KEYWORDS = {
+            "agreement", "contract", "confidential", "non-disclosure", "payment", "invoice", "bank account",
+            "personal data", "email address", "phone number", "password", "api key", "token", "medical",
+            "diagnosis", "treatment", "proprietary", "restricted", "terms of service", "liability",
+            "termination", "governing law", "data processing", "subprocessor", "security incident"
+    };
+
+    private static final String[] FILLER = {
+            "the", "parties", "shall", "within", "thirty", "days", "of", "receipt", "and", "any", "other",
+            "provided", "that", "such", "notice", "is", "given", "in", "writing", "to", "customer", "supplier",
+            "services", "period", "under", "this", "section", "including", "without", "limitation", "all"
+    };
+
+    private static final int PDF_LINE_CHARS = 90;
+    private static final int PDF_LINES_PER_PAGE = 50;
+
+    private BenchmarkCorpus() {
+    }
+
+    public static String text(DataSize size) {
+        return text(size.toBytes(), new Random(size.toBytes()));
+    }
+
+    /**
+     * A text-only PDF whose file size is roughly {@code size}. Content streams are left
+     * uncompressed so the file size tracks the amount of text to extract.
+     */
+    public static Path pdf(DataSize size) throws IOException {
+        Path file = corpusDir().resolve("corpus-" + size.toBytes() + ".pdf");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Random random = new Random(size.toBytes());
+        Path partial = Files.createTempFile(corpusDir(), "corpus-", ".part");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            long written = 0;
+            do {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(
+                        document, page, PDPageContentStream.AppendMode.OVERWRITE, false)) {
+                    content.beginText();
+                    content.setFont(font, 8);
+                    content.setLeading(10);
+                    content.newLineAtOffset(36, 750);
+                    for (int line = 0; line < PDF_LINES_PER_PAGE && written < size.toBytes(); line++) {
+                        String text = text(PDF_LINE_CHARS, random).replace('\n', ' ');
+                        content.showText(text);
+                        content.newLine();
+                        written += text.length() + 8;
+                    }
+                    content.endText();
+                }
+            } while (written < size.toBytes());
+            document.save(partial.toFile());
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    public static Path textFile(DataSize size) throws IOException {
+        Path file = corpusDir().resolve("corpus-" + size.toBytes() + ".txt");
+        if (!Files.exists(file)) {
+            Files.writeString(file, text(size), StandardCharsets.UTF_8);
+        }
+        return file;
+    }
+
+    private static String text(long bytes, Random random) {
+        StringBuilder text = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, bytes + 64));
+        int wordsInSentence = 0;
+        int sentencesInParagraph = 0;
+        while (text.length() < bytes) {
+            String word = random.nextInt(12) == 0
+                    ? KEYWORDS[random.nextInt(KEYWORDS.length)]
+                    : FILLER[random.nextInt(FILLER.length)];
+            if (wordsInSentence == 0) {
+                text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                text.append(' ').append(word);
+            }
+            if (++wordsInSentence >= 8 + random.nextInt(12)) {
+                text.append('.');
+                wordsInSentence = 0;
+                text.append(++sentencesInParagraph % 5 == 0 ? "\n\n" : " ");
+            }
+        }
+        text.setLength((int) bytes);
+        return text.toString();
+    }
+
+    private static Path corpusDir() throws IOException {
+        return Files.createDirectories(Path.of(System.getProperty("jmh.corpus.dir", "target/jmh-corpus")));
+    }
+}
@@ -0,0 +1,75 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.benchmark.BenchmarkCorpus;
+import com.document.analyzer.domain.DocumentType;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound analysis stages that run for every uploaded document: risk keyword
+ * scoring, category classification and document type detection. Services are built
+ * without repositories because only their compute-only methods are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AnalysisPipelineBenchmark {
+
+    @Param({"1KB", "64KB", "1MB", "50MB"})
+    public String size;
+
+    private final RiskAnalysisService riskAnalysisService = new RiskAnalysisService(null, null, null, null);
+    private final ClassificationRules classificationRules = ClassificationRules.defaults();
+    private final ClassificationService classificationService = new ClassificationService(null, null, null, classificationRules);
+    private final DocumentClassifier documentClassifier = new DocumentClassifier(classificationRules);
+
+    private String text;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkCorpus.text(DataSize.parse(size));
+        document = Document.builder()
+                .id(1L)
+                .fileName("master-services-agreement.pdf")
+                .filePath("benchmark/master-services-agreement.pdf")
+                .fileSize((long) text.length())
+                .documentType(Document.DocumentType.PDF)
+                .extractedText(text)
+                .processingStatus(Document.ProcessingStatus.PROCESSING)
+                .build();
+    }
+
+    @Benchmark
+    public RiskAnalysis riskKeywordScoring() {
+        return riskAnalysisService.buildAnalysis(document, RiskAnalysis.AnalysisFramework.OWASP);
+    }
+
+    @Benchmark
+    public Classification classification() {
+        return classificationService.buildClassification(document);
+    }
+
+    @Benchmark
+    public DocumentType documentTypeDetection() {
+        return documentClassifier.classify(text);
+    }
+}
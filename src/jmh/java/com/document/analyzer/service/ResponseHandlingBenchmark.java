@@ -0,0 +1,72 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.AnalysisResponse;
+import com.document.analyzer.domain.DocumentType;
+import com.document.analyzer.domain.LLMAnalysisResult;
+import com.document.analyzer.domain.RiskCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of LLM analysis responses (code-fenced JSON, as models tend to return it) and
+ * formatting of the parsed result into the API response, for a typical and an oversized
+ * answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseHandlingBenchmark {
+
+    @Param({"5", "200"})
+    public int items;
+
+    private final JsonFormatter jsonFormatter = new JsonFormatter();
+
+    private String response;
+    private LLMAnalysisResult parsed;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("```json\n{\"summary\": \"Master services agreement with payment, ")
+                .append("confidentiality and data processing obligations.\", \"keyPoints\": [");
+        for (int i = 0; i < items; i++) {
+            json.append(i > 0 ? ", " : "").append("\"Key point ").append(i).append(" about payment terms\"");
+        }
+        json.append("], \"risks\": [");
+        for (int i = 0; i < items; i++) {
+            json.append(i > 0 ? ", " : "").append("{\"level\": \"").append(i % 3 == 0 ? "HIGH" : "MEDIUM")
+                    .append("\", \"description\": \"Risk ").append(i).append(" in liability clause\", ")
+                    .append("\"impact\": \"Financial exposure\"}");
+        }
+        json.append("], \"recommendations\": [");
+        for (int i = 0; i < items; i++) {
+            json.append(i > 0 ? ", " : "").append("\"Recommendation ").append(i).append("\"");
+        }
+        response = json.append("], \"confidence\": 0.87}\n```").toString();
+        parsed = IntentAnalyzer.parseLLMResponse(response);
+    }
+
+    @Benchmark
+    public LLMAnalysisResult llmResponseParsing() {
+        return IntentAnalyzer.parseLLMResponse(response);
+    }
+
+    @Benchmark
+    public AnalysisResponse jsonFormatting() {
+        return jsonFormatter.format(DocumentType.B2B_CONTRACT, RiskCategory.CONTRACTUAL, parsed);
+    }
+}
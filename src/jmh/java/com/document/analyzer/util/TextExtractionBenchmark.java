@@ -0,0 +1,63 @@
+package com.document.analyzer.util;
+
+import com.document.analyzer.benchmark.BenchmarkCorpus;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF and plain-text extraction with the production extractor settings.
+ * The first run generates the PDFs, which takes a while for the 50 MB file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TextExtractionBenchmark {
+
+    @Param({"1KB", "64KB", "1MB", "50MB"})
+    public String size;
+
+    private DocumentTextExtractor extractor;
+    private Path pdf;
+    private Path text;
+
+    @Setup
+    public void setUp() throws IOException {
+        extractor = new DocumentTextExtractor(DataSize.ofMegabytes(16), 0, 32, ObservationRegistry.NOOP);
+        pdf = BenchmarkCorpus.pdf(DataSize.parse(size));
+        text = BenchmarkCorpus.textFile(DataSize.parse(size));
+    }
+
+    @TearDown
+    public void tearDown() {
+        extractor.destroy();
+    }
+
+    @Benchmark
+    public String pdfExtraction() throws IOException {
+        return extractor.extractText(pdf);
+    }
+
+    @Benchmark
+    public String plainTextExtraction() throws IOException {
+        return extractor.extractText(text);
+    }
+}
@@ -0,0 +1,59 @@
+package com.document.analyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class IngestionConfig {
+
+    /**
+     * Runs the whole pipeline of asynchronous uploads. In virtual-thread mode every accepted
+     * upload gets its own virtual thread instead of waiting in the queue, so a slow LLM or
+     * database call does not hold back the others; the number accepted stays the same.
+     */
+    @Bean(name = "ingestionExecutor")
+    public TaskExecutor ingestionExecutor(
+            @Value("${app.ingestion.pool-size:4}") int poolSize,
+            @Value("${app.ingestion.queue-capacity:100}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("ingestion-", poolSize + queueCapacity);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ingestion-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Extraction and analysis pool for batch uploads. When the queue is full the uploading
+     * request thread runs the task itself, which throttles how fast entries are read. The work
+     * is mostly CPU-bound parsing and scoring, so it stays on platform threads in either mode.
+     */
+    @Bean(name = "batchIngestionExecutor")
+    public ThreadPoolTaskExecutor batchIngestionExecutor(
+            @Value("${app.ingestion.batch.pool-size:4}") int poolSize,
+            @Value("${app.ingestion.batch.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-ingestion-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.document.analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.llm")
+public class LLMProperties {
+
+    private boolean enabled = false;
+
+    private String endpoint = "https://api.openai.com/v1/chat/completions";
+
+    private String apiKey;
+
+    private String model = "gpt-4o-mini";
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration requestTimeout = Duration.ofSeconds(60);
+
+    private int maxConcurrency = 16;
+
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    private int maxRetries = 3;
+
+    private Duration retryBackoff = Duration.ofMillis(500);
+
+    private Duration maxRetryBackoff = Duration.ofSeconds(10);
+
+    /**
+     * Documents estimated above this many tokens are split into chunks that are analyzed
+     * concurrently and merged.
+     */
+    private int maxChunkTokens = 3000;
+
+    /**
+     * Chunks of one document in flight at once. Kept below maxConcurrency so the rest of a
+     * large document waits its turn instead of running out acquireTimeout on the shared permits.
+     */
+    private int maxChunkConcurrency = 4;
+}
@@ -0,0 +1,41 @@
+package com.document.analyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ReanalysisConfig {
+
+    // one job at a time; the job thread reads and writes chunks, the workers score documents
+    @Bean(name = "reanalysisJobExecutor")
+    public ThreadPoolTaskExecutor reanalysisJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("reanalysis-job-");
+        return executor;
+    }
+
+    /**
+     * Scoring pool for re-analysis. Keyword matching is CPU-bound, so the default is one
+     * thread per processor; when the queue is full the job thread scores documents itself.
+     */
+    @Bean(name = "reanalysisExecutor")
+    public ThreadPoolTaskExecutor reanalysisExecutor(
+            @Value("${app.reanalysis.pool-size:0}") int poolSize,
+            @Value("${app.reanalysis.queue-capacity:1000}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("reanalysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
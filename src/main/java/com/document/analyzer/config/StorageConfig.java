@@ -0,0 +1,37 @@
+package com.document.analyzer.config;
+
+import com.document.analyzer.storage.DocumentStorage;
+import com.document.analyzer.storage.LocalDocumentStorage;
+import com.document.analyzer.storage.S3DocumentStorage;
+import com.document.analyzer.storage.S3RequestSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfig {
+
+    /**
+     * Local storage keeps files under the upload directory; with the S3 backend the upload
+     * directory is only used to spool and hash uploads before they are sent.
+     */
+    @Bean
+    public DocumentStorage documentStorage(StorageProperties properties,
+                                           @Value("${app.document.upload-dir}") String uploadDir) {
+        if (properties.getType() == StorageProperties.Type.LOCAL) {
+            return new LocalDocumentStorage(Path.of(uploadDir));
+        }
+        StorageProperties.S3 s3 = properties.getS3();
+        S3RequestSigner signer = StringUtils.hasText(s3.getAccessKey())
+                ? new S3RequestSigner(s3.getAccessKey(), s3.getSecretKey(), s3.getRegion())
+                : null;
+        return new S3DocumentStorage(URI.create(s3.getEndpoint()), s3.getBucket(), s3.getRequestTimeout(), signer,
+                Path.of(uploadDir, ".tmp"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.document.analyzer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.document.storage")
+public class StorageProperties {
+
+    private Type type = Type.LOCAL;
+
+    private S3 s3 = new S3();
+
+    public enum Type {
+        LOCAL, S3
+    }
+
+    @Data
+    public static class S3 {
+
+        private String endpoint = "http://localhost:9000";
+
+        private String bucket = "documents";
+
+        private String region = "us-east-1";
+
+        private String accessKey;
+
+        private String secretKey;
+
+        private Duration requestTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,30 @@
+package com.document.analyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StreamingConfig {
+
+    // streamed analyses mostly wait on the LLM, so in virtual-thread mode each gets its own thread
+    @Bean(name = "analysisStreamExecutor")
+    public TaskExecutor analysisStreamExecutor(
+            @Value("${app.analysis.stream.pool-size:8}") int poolSize,
+            @Value("${app.analysis.stream.queue-capacity:50}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("analysis-stream-", poolSize + queueCapacity);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-stream-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
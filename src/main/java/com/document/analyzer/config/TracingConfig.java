@@ -0,0 +1,93 @@
+package com.document.analyzer.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer Tracing turns every observation into an OpenTelemetry span, so one request
+ * shows up as its HTTP span, the pipeline and stage spans, LLM requests and the repository
+ * calls underneath them. Spans go to an OTLP collector when
+ * {@code management.otlp.tracing.endpoint} is set and to the log when
+ * {@code app.tracing.log-spans=true}.
+ * <p>
+ * Repository calls are observed on a registry of their own that only has the tracing
+ * handler: they get a span but no timers, since Boot already records
+ * {@code spring.data.repository.invocations} for them.
+ */
+@Configuration
+public class TracingConfig {
+
+    static final String REPOSITORY_INVOCATION = "repository.invocation";
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    // static and lazy so the post-processor does not pull the tracer in before it is configured
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<Tracer> tracer) {
+        Supplier<ObservationRegistry> registry = SingletonSupplier.of(
+                () -> tracingOnlyRegistry(tracer.getIfAvailable()));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryObservationInterceptor(
+                                    registry, information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static ObservationRegistry tracingOnlyRegistry(Tracer tracer) {
+        if (tracer == null) {
+            return ObservationRegistry.NOOP;
+        }
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        return registry;
+    }
+
+    static final class RepositoryObservationInterceptor implements MethodInterceptor {
+
+        private final Supplier<ObservationRegistry> observationRegistry;
+        private final String repository;
+
+        RepositoryObservationInterceptor(Supplier<ObservationRegistry> observationRegistry, String repository) {
+            this.observationRegistry = observationRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            return Observation.createNotStarted(REPOSITORY_INVOCATION, observationRegistry.get())
+                    .contextualName(repository + "." + method.getName())
+                    .lowCardinalityKeyValue("repository", repository)
+                    .lowCardinalityKeyValue("method", method.getName())
+                    .observeChecked(invocation::proceed);
+        }
+    }
+}
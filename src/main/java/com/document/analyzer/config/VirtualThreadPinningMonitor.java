@@ -0,0 +1,81 @@
+package com.document.analyzer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the JFR {@value #PINNED_EVENT} event while virtual threads are enabled. A virtual
+ * thread that blocks inside {@code synchronized} (ours or a library's) keeps its carrier thread
+ * busy; every such pin longer than {@code app.threads.pinned-threshold} is recorded in the
+ * {@code jvm.threads.virtual.pinned} timer, and the first pin at each call site is logged with
+ * its stack so the lock can be found.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private final RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recording.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String site = describe(event.getStackTrace());
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread {} was pinned to its carrier for {} ms{}",
+                    event.getThread() != null ? event.getThread().getJavaName() : "?",
+                    event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " (no stack trace)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String line = frame.getLineNumber() >= 0 ? ":" + frame.getLineNumber() : "";
+        return "\n\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + line;
+    }
+}
@@ -0,0 +1,48 @@
+package com.document.analyzer.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs each task on its own virtual thread. At most {@code maxInFlight} tasks are admitted at
+ * a time and the rest are rejected with a {@link TaskRejectedException}, so callers keep the
+ * back-pressure of the bounded platform pool it replaces while blocked tasks no longer hold
+ * on to a platform thread.
+ */
+public class VirtualThreadTaskExecutor extends SimpleAsyncTaskExecutor {
+
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxInFlight) {
+        super(threadNamePrefix);
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        setVirtualThreads(true);
+        setTaskDecorator(new ContextPropagatingTaskDecorator());
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void execute(Runnable task, long startTimeout) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("Executor [" + getThreadNamePrefix() + "] already runs "
+                    + maxInFlight + " tasks; did not accept task: " + task);
+        }
+        try {
+            super.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            }, startTimeout);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.document.analyzer.controller;
 
+import com.document.analyzer.domain.ClassificationResponse;
+import com.document.analyzer.domain.ClassificationRuleSet;
+import com.document.analyzer.domain.CursorPage;
 import com.document.analyzer.entity.Classification;
+import com.document.analyzer.service.ClassificationRules;
 import com.document.analyzer.service.ClassificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -16,38 +19,57 @@ import java.util.Optional;
 public class ClassificationController {
 
     private final ClassificationService classificationService;
+    private final ClassificationRules classificationRules;
 
     @PostMapping("/classify/{documentId}")
-    public ResponseEntity<Classification> classifyDocument(@PathVariable Long documentId) {
+    public ResponseEntity<ClassificationResponse> classifyDocument(@PathVariable Long documentId) {
         Classification classification = classificationService.classifyDocument(documentId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(classification);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ClassificationResponse.from(classification));
+    }
+
+    @GetMapping("/rules")
+    public ResponseEntity<ClassificationRuleSet> getRules() {
+        return ResponseEntity.ok(classificationRules.current().ruleSet());
+    }
+
+    @PostMapping("/rules/reload")
+    public ResponseEntity<ClassificationRuleSet> reloadRules() {
+        return ResponseEntity.ok(classificationRules.reload());
     }
 
     @GetMapping("/{documentId}")
-    public ResponseEntity<Classification> getLatestClassification(@PathVariable Long documentId) {
+    public ResponseEntity<ClassificationResponse> getLatestClassification(@PathVariable Long documentId) {
         Optional<Classification> classification = classificationService.getLatestClassification(documentId);
-        return classification.map(ResponseEntity::ok)
+        return classification.map(ClassificationResponse::from).map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Classification>> getByCategory(@PathVariable Classification.DocumentCategory category) {
-        List<Classification> classifications = classificationService.getClassificationsByCategory(category);
+    public ResponseEntity<CursorPage<ClassificationResponse>> getByCategory(
+            @PathVariable Classification.DocumentCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<ClassificationResponse> classifications = classificationService.getClassificationsByCategory(category, cursor, size)
+                .map(ClassificationResponse::from);
         return ResponseEntity.ok(classifications);
     }
 
     @GetMapping("/high-confidence/{minConfidence}")
-    public ResponseEntity<List<Classification>> getHighConfidence(@PathVariable Float minConfidence) {
-        List<Classification> classifications = classificationService.getHighConfidenceClassifications(minConfidence);
+    public ResponseEntity<CursorPage<ClassificationResponse>> getHighConfidence(
+            @PathVariable Float minConfidence,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<ClassificationResponse> classifications = classificationService.getHighConfidenceClassifications(minConfidence, cursor, size)
+                .map(ClassificationResponse::from);
         return ResponseEntity.ok(classifications);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Classification> updateClassification(
+    public ResponseEntity<ClassificationResponse> updateClassification(
             @PathVariable Long id,
             @RequestParam Classification.DocumentCategory newCategory) {
         Classification updated = classificationService.updateClassification(id, newCategory);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(ClassificationResponse.from(updated));
     }
 
     @DeleteMapping("/{id}")
@@ -2,14 +2,27 @@ package com.document.analyzer.controller;
 
 import com.document.analyzer.domain.AnalysisRequest;
 import com.document.analyzer.domain.AnalysisResponse;
+import com.document.analyzer.service.AnalysisResultCache;
 import com.document.analyzer.service.DocumentService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,9 +31,18 @@ import java.util.Map;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final AnalysisResultCache analysisResultCache;
+    private final TaskExecutor analysisStreamExecutor;
+    private final long streamTimeoutMillis;
 
-    public DocumentController(DocumentService documentService) {
+    public DocumentController(DocumentService documentService,
+                              AnalysisResultCache analysisResultCache,
+                              @Qualifier("analysisStreamExecutor") TaskExecutor analysisStreamExecutor,
+                              @Value("${app.analysis.stream.timeout:PT2M}") Duration streamTimeout) {
         this.documentService = documentService;
+        this.analysisResultCache = analysisResultCache;
+        this.analysisStreamExecutor = analysisStreamExecutor;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
     }
 
     @PostMapping("/analyze")
@@ -45,4 +67,69 @@ public class DocumentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    @PostMapping(value = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> analyzeStream(@RequestBody AnalysisRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        if (!request.isValid()) {
+            sendError(emitter, "Validation Error",
+                    request.getValidationError() != null ? request.getValidationError() : "Invalid request");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(emitter);
+        }
+
+        try {
+            analysisStreamExecutor.execute(() -> streamAnalysis(request, emitter));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void streamAnalysis(AnalysisRequest request, SseEmitter emitter) {
+        try {
+            documentService.analyzeStreaming(request, (name, data) -> send(emitter, name, data));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            emitter.completeWithError(e);
+        } catch (IllegalArgumentException e) {
+            sendError(emitter, "Validation Error", e.getMessage());
+        } catch (IllegalStateException e) {
+            sendError(emitter, "Analysis Error", e.getMessage());
+        } catch (Exception e) {
+            sendError(emitter, "Internal Server Error", "An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    private void sendError(SseEmitter emitter, String error, String message) {
+        Map<String, String> errorEvent = new HashMap<>();
+        errorEvent.put("error", error);
+        errorEvent.put("message", message);
+        try {
+            send(emitter, "error", errorEvent);
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @GetMapping("/analyze/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(analysisResultCache.getStats());
+    }
+
+    @DeleteMapping("/analyze/cache")
+    public ResponseEntity<Void> clearCache() {
+        analysisResultCache.clear();
+        return ResponseEntity.noContent().build();
+    }
 }
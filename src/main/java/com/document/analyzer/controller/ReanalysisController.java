@@ -0,0 +1,53 @@
+package com.document.analyzer.controller;
+
+import com.document.analyzer.domain.ReanalysisJobStatus;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.service.ReanalysisJobService;
+import com.document.analyzer.service.ReanalysisRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/reanalysis/jobs")
+@RequiredArgsConstructor
+public class ReanalysisController {
+
+    private final ReanalysisRunner reanalysisRunner;
+    private final ReanalysisJobService reanalysisJobService;
+
+    @PostMapping
+    public ResponseEntity<ReanalysisJobStatus> startJob(
+            @RequestParam(defaultValue = "OWASP") RiskAnalysis.AnalysisFramework framework) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reanalysisRunner.start(framework));
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<ReanalysisJobStatus> getLatestJob() {
+        return reanalysisJobService.findLatestJob()
+                .map(job -> ReanalysisJobStatus.from(job, LocalDateTime.now()))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReanalysisJobStatus> getJob(@PathVariable Long id) {
+        return reanalysisJobService.findJob(id)
+                .map(job -> ReanalysisJobStatus.from(job, LocalDateTime.now()))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ReanalysisJobStatus> resumeJob(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reanalysisRunner.resume(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ReanalysisJobStatus> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reanalysisRunner.cancel(id));
+    }
+}
@@ -1,13 +1,16 @@
 package com.document.analyzer.controller;
 
+import com.document.analyzer.domain.CursorPage;
+import com.document.analyzer.domain.RiskAnalysisResponse;
+import com.document.analyzer.domain.RiskStatistics;
 import com.document.analyzer.entity.RiskAnalysis;
 import com.document.analyzer.service.RiskAnalysisService;
+import com.document.analyzer.service.RiskStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -16,72 +19,107 @@ import java.util.Optional;
 public class RiskAnalysisController {
 
     private final RiskAnalysisService riskAnalysisService;
+    private final RiskStatsService riskStatsService;
 
     @PostMapping("/analyze/{documentId}")
-    public ResponseEntity<RiskAnalysis> analyzeDocument(
+    public ResponseEntity<RiskAnalysisResponse> analyzeDocument(
             @PathVariable Long documentId,
             @RequestParam(defaultValue = "OWASP") RiskAnalysis.AnalysisFramework framework) {
         RiskAnalysis analysis = riskAnalysisService.analyzeDocumentRisk(documentId, framework);
-        return ResponseEntity.status(HttpStatus.CREATED).body(analysis);
+        return ResponseEntity.status(HttpStatus.CREATED).body(RiskAnalysisResponse.from(analysis));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<RiskStatistics> getStatistics(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(riskStatsService.getStatistics(days));
+    }
+
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<RiskStatistics> rebuildStatistics(@RequestParam(defaultValue = "30") int days) {
+        riskStatsService.rebuild();
+        return ResponseEntity.ok(riskStatsService.getStatistics(days));
     }
 
     @GetMapping("/{documentId}")
-    public ResponseEntity<RiskAnalysis> getAnalysis(@PathVariable Long documentId) {
+    public ResponseEntity<RiskAnalysisResponse> getAnalysis(@PathVariable Long documentId) {
         Optional<RiskAnalysis> analysis = riskAnalysisService.getAnalysisForDocument(documentId);
-        return analysis.map(ResponseEntity::ok)
+        return analysis.map(RiskAnalysisResponse::from).map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/level/{riskLevel}")
-    public ResponseEntity<List<RiskAnalysis>> getByRiskLevel(@PathVariable RiskAnalysis.RiskLevel riskLevel) {
-        List<RiskAnalysis> analyses = riskAnalysisService.getAnalysisByRiskLevel(riskLevel);
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getByRiskLevel(
+            @PathVariable RiskAnalysis.RiskLevel riskLevel,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getAnalysisByRiskLevel(riskLevel, cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 
     @GetMapping("/high-risk/{minScore}")
-    public ResponseEntity<List<RiskAnalysis>> getHighRisk(@PathVariable Float minScore) {
-        List<RiskAnalysis> analyses = riskAnalysisService.getHighRiskAnalyses(minScore);
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getHighRisk(
+            @PathVariable Float minScore,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getHighRiskAnalyses(minScore, cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 
     @GetMapping("/unreviewed")
-    public ResponseEntity<List<RiskAnalysis>> getUnreviewed() {
-        List<RiskAnalysis> analyses = riskAnalysisService.getUnreviewedAnalyses();
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getUnreviewed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getUnreviewedAnalyses(cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 
     @PostMapping("/{id}/review")
-    public ResponseEntity<RiskAnalysis> reviewAnalysis(
+    public ResponseEntity<RiskAnalysisResponse> reviewAnalysis(
             @PathVariable Long id,
             @RequestParam Long reviewerUserId,
             @RequestParam(required = false) String reviewNotes) {
         RiskAnalysis reviewed = riskAnalysisService.reviewAnalysis(id, reviewerUserId, reviewNotes);
-        return ResponseEntity.ok(reviewed);
+        return ResponseEntity.ok(RiskAnalysisResponse.from(reviewed));
     }
 
     @PutMapping("/{id}/risk-level")
-    public ResponseEntity<RiskAnalysis> updateRiskLevel(
+    public ResponseEntity<RiskAnalysisResponse> updateRiskLevel(
             @PathVariable Long id,
             @RequestParam RiskAnalysis.RiskLevel newLevel) {
         RiskAnalysis updated = riskAnalysisService.updateRiskLevel(id, newLevel);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(RiskAnalysisResponse.from(updated));
     }
 
     @GetMapping("/framework/{framework}")
-    public ResponseEntity<List<RiskAnalysis>> getByFramework(@PathVariable RiskAnalysis.AnalysisFramework framework) {
-        List<RiskAnalysis> analyses = riskAnalysisService.getAnalysesByFramework(framework);
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getByFramework(
+            @PathVariable RiskAnalysis.AnalysisFramework framework,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getAnalysesByFramework(framework, cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 
     @GetMapping("/reviewed-by/{userId}")
-    public ResponseEntity<List<RiskAnalysis>> getReviewedBy(@PathVariable Long userId) {
-        List<RiskAnalysis> analyses = riskAnalysisService.getAnalysesReviewedBy(userId);
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getReviewedBy(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getAnalysesReviewedBy(userId, cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 
     @GetMapping("/pending-user/{userId}")
-    public ResponseEntity<List<RiskAnalysis>> getPendingReviewsForUser(@PathVariable Long userId) {
-        List<RiskAnalysis> analyses = riskAnalysisService.getPendingReviewsForUser(userId);
+    public ResponseEntity<CursorPage<RiskAnalysisResponse>> getPendingReviewsForUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<RiskAnalysisResponse> analyses = riskAnalysisService.getPendingReviewsForUser(userId, cursor, size)
+                .map(RiskAnalysisResponse::from);
         return ResponseEntity.ok(analyses);
     }
 }
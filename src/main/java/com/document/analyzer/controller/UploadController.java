@@ -1,11 +1,22 @@
 package com.document.analyzer.controller;
 
+import com.document.analyzer.domain.BatchUploadManifest;
+import com.document.analyzer.domain.CursorPage;
 import com.document.analyzer.entity.Document;
+import com.document.analyzer.repository.DocumentSummary;
+import com.document.analyzer.service.BatchIngestionService;
+import com.document.analyzer.service.DocumentDownloadService;
+import com.document.analyzer.service.DocumentIngestionService;
 import com.document.analyzer.service.UploadService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -18,6 +29,9 @@ import java.util.Optional;
 public class UploadController {
 
     private final UploadService uploadService;
+    private final DocumentIngestionService documentIngestionService;
+    private final BatchIngestionService batchIngestionService;
+    private final DocumentDownloadService documentDownloadService;
 
     @PostMapping("/upload")
     public ResponseEntity<Document> uploadDocument(
@@ -33,6 +47,53 @@ public class UploadController {
         }
     }
 
+    @PostMapping("/upload/async")
+    public ResponseEntity<Document> uploadDocumentAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("userId") Long userId) {
+        try {
+            Document document = documentIngestionService.submitDocument(file, userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(document);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @PostMapping("/upload/batch")
+    public ResponseEntity<BatchUploadManifest> uploadBatch(
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            @RequestParam("userId") Long userId) {
+        boolean hasFiles = files != null && !files.isEmpty();
+        if (hasFiles == (archive != null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            BatchUploadManifest manifest = hasFiles
+                    ? batchIngestionService.ingestFiles(files, userId)
+                    : batchIngestionService.ingestZip(archive, userId);
+            return ResponseEntity.ok(manifest);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<Document.ProcessingStatus> getDocumentStatus(@PathVariable Long id) {
+        return uploadService.getDocumentById(id)
+                .map(Document::getProcessingStatus)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Document> getDocument(@PathVariable Long id) {
         Optional<Document> document = uploadService.getDocumentById(id);
@@ -40,15 +101,36 @@ public class UploadController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/{id}/content", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getDocumentContent(@PathVariable Long id) {
+        return uploadService.getDocumentText(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/download")
+    public void downloadDocument(@PathVariable Long id, ServletWebRequest request, HttpServletResponse response)
+            throws IOException {
+        if (!documentDownloadService.download(id, request)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Document>> getUserDocuments(@PathVariable Long userId) {
-        List<Document> documents = uploadService.getUserDocuments(userId);
+    public ResponseEntity<CursorPage<DocumentSummary>> getUserDocuments(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<DocumentSummary> documents = uploadService.getUserDocuments(userId, cursor, size);
         return ResponseEntity.ok(documents);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Document>> getDocumentsByStatus(@PathVariable Document.ProcessingStatus status) {
-        List<Document> documents = uploadService.getDocumentsByStatus(status);
+    public ResponseEntity<CursorPage<DocumentSummary>> getDocumentsByStatus(
+            @PathVariable Document.ProcessingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<DocumentSummary> documents = uploadService.getDocumentsByStatus(status, cursor, size);
         return ResponseEntity.ok(documents);
     }
 
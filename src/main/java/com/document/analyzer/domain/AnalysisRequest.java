@@ -17,6 +17,9 @@ public class AnalysisRequest {
     @JsonProperty("fileName")
     private String fileName;
 
+    @JsonProperty("skipCache")
+    private boolean skipCache;
+
     public boolean isValid() {
         if (text == null || text.isBlank()) {
             return false;
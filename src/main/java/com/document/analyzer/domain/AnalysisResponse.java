@@ -1,5 +1,6 @@
 package com.document.analyzer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +15,8 @@ import java.util.Map;
 @AllArgsConstructor
 @Builder
 public class AnalysisResponse {
+    public static final String INCOMPLETE = "incomplete";
+
     @JsonProperty("documentType")
     private String documentType;
 
@@ -35,6 +38,14 @@ public class AnalysisResponse {
     @JsonProperty("metadata")
     private Map<String, Object> metadata;
 
+    /**
+     * True when part of the document could not be analyzed; such responses are not cached.
+     */
+    @JsonIgnore
+    public boolean isIncomplete() {
+        return metadata != null && Boolean.TRUE.equals(metadata.get(INCOMPLETE));
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,52 @@
+package com.document.analyzer.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchUploadManifest {
+    @JsonProperty("total")
+    private int total;
+
+    @JsonProperty("completed")
+    private int completed;
+
+    @JsonProperty("duplicates")
+    private int duplicates;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("entries")
+    private List<Entry> entries;
+
+    public enum Outcome {
+        COMPLETED, DUPLICATE, FAILED, REJECTED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        @JsonProperty("fileName")
+        private String fileName;
+
+        @JsonProperty("documentId")
+        private Long documentId;
+
+        @JsonProperty("outcome")
+        private Outcome outcome;
+
+        @JsonProperty("message")
+        private String message;
+    }
+}
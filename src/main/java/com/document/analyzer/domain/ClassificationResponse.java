@@ -0,0 +1,57 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.Classification;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * API view of a classification. Reads the document association, so the entity must be
+ * loaded with it (see the entity graphs on ClassificationRepository).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassificationResponse {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("document")
+    private DocumentRef document;
+
+    @JsonProperty("category")
+    private Classification.DocumentCategory category;
+
+    @JsonProperty("confidence")
+    private Float confidence;
+
+    @JsonProperty("classificationReason")
+    private String classificationReason;
+
+    @JsonProperty("version")
+    private Integer version;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    public static ClassificationResponse from(Classification classification) {
+        return ClassificationResponse.builder()
+                .id(classification.getId())
+                .document(DocumentRef.from(classification.getDocument()))
+                .category(classification.getCategory())
+                .confidence(classification.getConfidence())
+                .classificationReason(classification.getClassificationReason())
+                .version(classification.getVersion())
+                .createdAt(classification.getCreatedAt())
+                .updatedAt(classification.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.document.analyzer.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyword rules for the two classifiers: {@code documentCategories} name a stored
+ * {@code Classification.DocumentCategory}, {@code documentTypes} a {@link DocumentType} for
+ * analysis requests. A rule matches when any of its keywords occurs in its field, and adds
+ * its weight to its category's score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClassificationRuleSet {
+    @JsonProperty("documentCategories")
+    private List<Rule> documentCategories;
+
+    @JsonProperty("documentTypes")
+    private List<Rule> documentTypes;
+
+    public enum Field {
+        FILE_NAME, CONTENT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Rule {
+        @JsonProperty("category")
+        private String category;
+
+        @Builder.Default
+        @JsonProperty("field")
+        private Field field = Field.CONTENT;
+
+        @JsonProperty("keywords")
+        private List<String> keywords;
+
+        @Builder.Default
+        @JsonProperty("weight")
+        private double weight = 1.0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.document.analyzer.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing, newest (highest id) first. The continuation
+ * token encodes the last id returned; the next page is everything with a smaller id, so
+ * paging stays an index range scan no matter how deep the client scrolls.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    public static final String DEFAULT_SIZE = "50";
+    public static final int MAX_SIZE = 500;
+
+    private static final String TOKEN_PREFIX = "id:";
+
+    @JsonProperty("items")
+    private List<T> items;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+
+    /**
+     * Page request for one row more than the clamped page size, so {@link #of} can tell
+     * whether another page exists without a count query.
+     */
+    public static Pageable request(int size) {
+        return PageRequest.ofSize(Math.max(1, Math.min(size, MAX_SIZE)) + 1);
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, Pageable request, Function<T, Long> idOf) {
+        int size = request.getPageSize() - 1;
+        boolean hasMore = fetched.size() > size;
+        List<T> items = new ArrayList<>(hasMore ? fetched.subList(0, size) : fetched);
+        String nextCursor = hasMore ? encode(idOf.apply(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * Exclusive upper id bound for the page after {@code cursor}; a missing cursor starts
+     * from the newest row.
+     */
+    public static long beforeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!token.startsWith(TOKEN_PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(token.substring(TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidCursorException extends IllegalArgumentException {
+        public InvalidCursorException(String cursor) {
+            super("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.Document;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentRef {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("fileName")
+    private String fileName;
+
+    @JsonProperty("documentType")
+    private Document.DocumentType documentType;
+
+    @JsonProperty("processingStatus")
+    private Document.ProcessingStatus processingStatus;
+
+    public static DocumentRef from(Document document) {
+        if (document == null) {
+            return null;
+        }
+        return new DocumentRef(document.getId(), document.getFileName(), document.getDocumentType(),
+                document.getProcessingStatus());
+    }
+}
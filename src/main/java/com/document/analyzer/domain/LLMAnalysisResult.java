@@ -1,5 +1,6 @@
 package com.document.analyzer.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,4 +29,8 @@ public class LLMAnalysisResult {
 
     @JsonProperty("confidence")
     private Double confidence;
+
+    // chunks of a split document that could not be analyzed; never read from the LLM output
+    @JsonIgnore
+    private int failedChunks;
 }
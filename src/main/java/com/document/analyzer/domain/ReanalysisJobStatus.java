@@ -0,0 +1,97 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.ReanalysisJob;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a re-analysis job. Throughput covers the current run only, so a job resumed
+ * after a restart reports the rate it is actually achieving rather than an average with
+ * the downtime in it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReanalysisJobStatus {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("status")
+    private ReanalysisJob.Status status;
+
+    @JsonProperty("framework")
+    private RiskAnalysis.AnalysisFramework framework;
+
+    @JsonProperty("total")
+    private long total;
+
+    @JsonProperty("processed")
+    private long processed;
+
+    @JsonProperty("failed")
+    private long failed;
+
+    @JsonProperty("lastDocumentId")
+    private Long lastDocumentId;
+
+    @JsonProperty("percentComplete")
+    private double percentComplete;
+
+    @JsonProperty("documentsPerSecond")
+    private double documentsPerSecond;
+
+    @JsonProperty("etaSeconds")
+    private Long etaSeconds;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    @JsonProperty("finishedAt")
+    private LocalDateTime finishedAt;
+
+    public static ReanalysisJobStatus from(ReanalysisJob job, LocalDateTime now) {
+        long done = job.getProcessed() + job.getFailed();
+        long remaining = Math.max(0, job.getTotal() - done);
+        LocalDateTime runEnd = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+        double seconds = Duration.between(job.getRunStartedAt(), runEnd).toMillis() / 1000.0;
+        double rate = seconds > 0 ? (job.getProcessed() - job.getRunStartProcessed()) / seconds : 0;
+
+        Long eta = null;
+        if (job.getStatus() == ReanalysisJob.Status.COMPLETED) {
+            eta = 0L;
+        } else if (job.getStatus() == ReanalysisJob.Status.RUNNING && rate > 0) {
+            eta = (long) Math.ceil(remaining / rate);
+        }
+
+        return ReanalysisJobStatus.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .framework(job.getFramework())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .failed(job.getFailed())
+                .lastDocumentId(job.getLastDocumentId())
+                .percentComplete(job.getTotal() == 0 ? 100.0 : Math.min(100.0, done * 100.0 / job.getTotal()))
+                .documentsPerSecond(rate)
+                .etaSeconds(eta)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.RiskAnalysis;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * API view of a risk analysis. Reads the document and reviewer associations, so the
+ * entity must be loaded with them (see the entity graphs on RiskAnalysisRepository).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskAnalysisResponse {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("document")
+    private DocumentRef document;
+
+    @JsonProperty("overallRiskLevel")
+    private RiskAnalysis.RiskLevel overallRiskLevel;
+
+    @JsonProperty("riskScore")
+    private Float riskScore;
+
+    @JsonProperty("identifiedRisks")
+    private String identifiedRisks;
+
+    @JsonProperty("mitigationRecommendations")
+    private String mitigationRecommendations;
+
+    @JsonProperty("framework")
+    private RiskAnalysis.AnalysisFramework framework;
+
+    @JsonProperty("reviewed")
+    private Boolean reviewed;
+
+    @JsonProperty("reviewNotes")
+    private String reviewNotes;
+
+    @JsonProperty("reviewedByUser")
+    private UserRef reviewedByUser;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    public static RiskAnalysisResponse from(RiskAnalysis analysis) {
+        return RiskAnalysisResponse.builder()
+                .id(analysis.getId())
+                .document(DocumentRef.from(analysis.getDocument()))
+                .overallRiskLevel(analysis.getOverallRiskLevel())
+                .riskScore(analysis.getRiskScore())
+                .identifiedRisks(analysis.getIdentifiedRisks())
+                .mitigationRecommendations(analysis.getMitigationRecommendations())
+                .framework(analysis.getFramework())
+                .reviewed(analysis.getReviewed())
+                .reviewNotes(analysis.getReviewNotes())
+                .reviewedByUser(UserRef.from(analysis.getReviewedByUser()))
+                .createdAt(analysis.getCreatedAt())
+                .updatedAt(analysis.getUpdatedAt())
+                .build();
+    }
+}
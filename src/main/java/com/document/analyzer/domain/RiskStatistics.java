@@ -0,0 +1,46 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskStatistics {
+    @JsonProperty("totalAnalyses")
+    private long totalAnalyses;
+
+    @JsonProperty("reviewed")
+    private long reviewed;
+
+    @JsonProperty("pendingReview")
+    private long pendingReview;
+
+    @JsonProperty("totalClassifications")
+    private long totalClassifications;
+
+    @JsonProperty("byRiskLevel")
+    private Map<RiskAnalysis.RiskLevel, Long> byRiskLevel;
+
+    @JsonProperty("byFramework")
+    private Map<RiskAnalysis.AnalysisFramework, Long> byFramework;
+
+    @JsonProperty("byCategory")
+    private Map<Classification.DocumentCategory, Long> byCategory;
+
+    // reviewer user id to the number of analyses they have signed off
+    @JsonProperty("byReviewer")
+    private Map<Long, Long> byReviewer;
+
+    @JsonProperty("byDay")
+    private Map<LocalDate, Long> byDay;
+}
@@ -0,0 +1,33 @@
+package com.document.analyzer.domain;
+
+import com.document.analyzer.entity.User;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserRef {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("firstName")
+    private String firstName;
+
+    @JsonProperty("lastName")
+    private String lastName;
+
+    @JsonProperty("email")
+    private String email;
+
+    public static UserRef from(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserRef(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
+}
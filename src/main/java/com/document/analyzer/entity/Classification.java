@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Classification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classifications_seq")
+    @SequenceGenerator(name = "classifications_seq", sequenceName = "classifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
 @Table(name = "documents")
@@ -19,7 +23,8 @@ import java.time.LocalDateTime;
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -35,8 +40,15 @@ public class Document {
     @Column(nullable = false)
     private DocumentType documentType;
 
-    @Column(columnDefinition = "TEXT")
-    private String extractedText;
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @JoinColumn(name = "content_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private DocumentContent content;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -52,6 +64,26 @@ public class Document {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @JsonIgnore
+    public String getExtractedText() {
+        return content != null ? content.getText() : null;
+    }
+
+    /**
+     * Content rows are shared between deduplicated documents, so a persisted row is never
+     * rewritten: changed text goes into a new row, and the caller deletes the old one once no
+     * document references it.
+     */
+    public void setExtractedText(String extractedText) {
+        if (content == null) {
+            content = DocumentContent.builder().text(extractedText).build();
+        } else if (content.getId() == null) {
+            content.setText(extractedText);
+        } else if (!Objects.equals(content.getText(), extractedText)) {
+            content = DocumentContent.builder().text(extractedText).build();
+        }
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -64,6 +96,13 @@ public class Document {
         updatedAt = LocalDateTime.now();
     }
 
+    public static class DocumentBuilder {
+        public DocumentBuilder extractedText(String extractedText) {
+            this.content = extractedText != null ? DocumentContent.builder().text(extractedText).build() : null;
+            return this;
+        }
+    }
+
     public enum DocumentType {
         PDF, DOCX, TXT, JSON, CSV, IMAGE
     }
@@ -0,0 +1,40 @@
+package com.document.analyzer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Extracted text of a document, kept out of the documents row so listings never read it.
+ * Deduplicated uploads share one content row.
+ */
+@Entity
+@Table(name = "document_content")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class DocumentContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_content_seq")
+    @SequenceGenerator(name = "document_content_seq", sequenceName = "document_content_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    private String text;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,85 @@
+package com.document.analyzer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a corpus-wide re-analysis. Documents up to {@code maxDocumentId} (the newest
+ * id when the job started) are re-scored in id order; {@code lastDocumentId} is the
+ * checkpoint a resumed run continues after.
+ */
+@Entity
+@Table(name = "reanalysis_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReanalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reanalysis_jobs_seq")
+    @SequenceGenerator(name = "reanalysis_jobs_seq", sequenceName = "reanalysis_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RiskAnalysis.AnalysisFramework framework;
+
+    @Column(name = "max_document_id", nullable = false)
+    private Long maxDocumentId;
+
+    @Column(name = "last_document_id", nullable = false)
+    private Long lastDocumentId;
+
+    @Column(nullable = false)
+    private Long total;
+
+    @Column(nullable = false)
+    private Long processed;
+
+    @Column(nullable = false)
+    private Long failed;
+
+    // processed count and time when the current run began, for throughput after a resume
+    @Column(name = "run_start_processed", nullable = false)
+    private Long runStartProcessed;
+
+    @Column(name = "run_started_at", nullable = false)
+    private LocalDateTime runStartedAt;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class RiskAnalysis {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "risk_analyses_seq")
+    @SequenceGenerator(name = "risk_analyses_seq", sequenceName = "risk_analyses_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,53 @@
+package com.document.analyzer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One running count behind the risk statistics, such as the number of HIGH analyses or of
+ * analyses created on a given day. Rows are only changed through
+ * {@code RiskStatCounterRepository.increment}, never saved as entities.
+ */
+@Entity
+@Table(name = "risk_stat_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskStatCounter {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private Long total;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 30)
+        private Dimension dimension;
+
+        @Column(nullable = false, length = 50)
+        private String bucket;
+
+        @Override
+        public int compareTo(Key other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : bucket.compareTo(other.bucket);
+        }
+    }
+
+    public enum Dimension {
+        RISK_LEVEL, FRAMEWORK, REVIEW_STATUS, REVIEWER, DAY, CATEGORY
+    }
+}
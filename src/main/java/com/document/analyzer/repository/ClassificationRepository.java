@@ -1,20 +1,40 @@
 package com.document.analyzer.repository;
 
 import com.document.analyzer.entity.Classification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Finders that feed API responses fetch the document in the same query, so mapping a
+ * page of classifications to ClassificationResponse never lazy-loads per row.
+ */
 @Repository
 public interface ClassificationRepository extends JpaRepository<Classification, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "document")
+    Optional<Classification> findById(Long id);
+
+    @EntityGraph(attributePaths = "document")
     Optional<Classification> findByDocumentId(Long documentId);
 
-    List<Classification> findByCategory(Classification.DocumentCategory category);
+    List<Classification> findByDocumentIdIn(Collection<Long> documentIds);
+
+    List<Classification> findByDocumentUploadedById(Long userId);
+
+    @EntityGraph(attributePaths = "document")
+    List<Classification> findByCategoryAndIdLessThanOrderByIdDesc(
+            Classification.DocumentCategory category, Long beforeId, Pageable pageable);
 
     List<Classification> findByDocumentIdAndVersion(Long documentId, Integer version);
 
-    List<Classification> findByConfidenceGreaterThan(Float confidence);
+    @EntityGraph(attributePaths = "document")
+    List<Classification> findByConfidenceGreaterThanAndIdLessThanOrderByIdDesc(
+            Float confidence, Long beforeId, Pageable pageable);
 }
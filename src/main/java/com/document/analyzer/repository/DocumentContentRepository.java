@@ -0,0 +1,9 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, Long> {
+}
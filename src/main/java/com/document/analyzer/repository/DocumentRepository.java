@@ -1,19 +1,43 @@
 package com.document.analyzer.repository;
 
 import com.document.analyzer.entity.Document;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
-    List<Document> findByUploadedById(Long userId);
+    List<DocumentSummary> findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(
+            Long userId, Long beforeId, Pageable pageable);
 
-    List<Document> findByProcessingStatus(Document.ProcessingStatus status);
+    List<DocumentSummary> findSummariesByProcessingStatusAndIdLessThanOrderByIdDesc(
+            Document.ProcessingStatus status, Long beforeId, Pageable pageable);
 
-    List<Document> findByDocumentType(Document.DocumentType documentType);
+    Optional<Document> findFirstByContentHashAndProcessingStatus(String contentHash, Document.ProcessingStatus status);
 
-    List<Document> findByUploadedByIdAndProcessingStatus(Long userId, Document.ProcessingStatus status);
+    Optional<Document> findFirstByContentHashAndUploadedByIdAndProcessingStatus(
+            String contentHash, Long userId, Document.ProcessingStatus status);
+
+    long countByFilePath(String filePath);
+
+    long countByContentId(Long contentId);
+
+    @Query("select max(d.id) from Document d")
+    Long findMaxId();
+
+    long countByProcessingStatusAndIdLessThanEqual(Document.ProcessingStatus status, Long maxId);
+
+    // ascending keyset over (processing_status, id) with the text fetched in the same query
+    @Query("select d from Document d left join fetch d.content where d.processingStatus = :status "
+            + "and d.id > :afterId and d.id <= :maxId order by d.id")
+    List<Document> findWithContentByStatusInIdRange(@Param("status") Document.ProcessingStatus status,
+                                                    @Param("afterId") Long afterId,
+                                                    @Param("maxId") Long maxId,
+                                                    Pageable pageable);
 }
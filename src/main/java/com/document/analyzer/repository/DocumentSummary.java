@@ -0,0 +1,26 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing view of a document: only the columns the dashboard shows, so listing queries
+ * select neither the extracted text nor the uploader row.
+ */
+public interface DocumentSummary {
+
+    Long getId();
+
+    String getFileName();
+
+    Long getFileSize();
+
+    Document.DocumentType getDocumentType();
+
+    Document.ProcessingStatus getProcessingStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.ReanalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReanalysisJobRepository extends JpaRepository<ReanalysisJob, Long> {
+
+    List<ReanalysisJob> findByStatus(ReanalysisJob.Status status);
+
+    boolean existsByStatusAndIdNot(ReanalysisJob.Status status, Long id);
+
+    boolean existsByStatus(ReanalysisJob.Status status);
+
+    Optional<ReanalysisJob> findFirstByOrderByIdDesc();
+}
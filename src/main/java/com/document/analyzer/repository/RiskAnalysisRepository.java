@@ -1,26 +1,58 @@
 package com.document.analyzer.repository;
 
 import com.document.analyzer.entity.RiskAnalysis;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Finders that feed API responses fetch the document and reviewer in the same query, so
+ * mapping a page of analyses to RiskAnalysisResponse costs one statement, not 2N+1.
+ */
 @Repository
 public interface RiskAnalysisRepository extends JpaRepository<RiskAnalysis, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    Optional<RiskAnalysis> findById(Long id);
+
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
     Optional<RiskAnalysis> findByDocumentId(Long documentId);
 
-    List<RiskAnalysis> findByOverallRiskLevel(RiskAnalysis.RiskLevel riskLevel);
+    List<RiskAnalysis> findByDocumentIdIn(Collection<Long> documentIds);
+
+    List<RiskAnalysis> findByDocumentUploadedById(Long userId);
+
+    long countByReviewedByUserIdAndDocumentUploadedByIdNot(Long reviewerId, Long uploaderId);
+
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    List<RiskAnalysis> findByOverallRiskLevelAndIdLessThanOrderByIdDesc(
+            RiskAnalysis.RiskLevel riskLevel, Long beforeId, Pageable pageable);
 
-    List<RiskAnalysis> findByRiskScoreGreaterThan(Float score);
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    List<RiskAnalysis> findByRiskScoreGreaterThanAndIdLessThanOrderByIdDesc(
+            Float score, Long beforeId, Pageable pageable);
 
-    List<RiskAnalysis> findByReviewed(Boolean reviewed);
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    List<RiskAnalysis> findByReviewedFalseAndIdLessThanOrderByIdDesc(Long beforeId, Pageable pageable);
 
-    List<RiskAnalysis> findByFramework(RiskAnalysis.AnalysisFramework framework);
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    List<RiskAnalysis> findByFrameworkAndIdLessThanOrderByIdDesc(
+            RiskAnalysis.AnalysisFramework framework, Long beforeId, Pageable pageable);
 
-    List<RiskAnalysis> findByReviewedByUserId(Long userId);
+    @EntityGraph(attributePaths = {"document", "reviewedByUser"})
+    List<RiskAnalysis> findByReviewedByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
 
-    List<RiskAnalysis> findByDocumentUploadedByIdAndReviewedFalse(Long userId);
+    // the uploader filter already joins documents, so fetch through that join instead of a second one
+    @Query("select r from RiskAnalysis r join fetch r.document d left join fetch r.reviewedByUser "
+            + "where d.uploadedBy.id = :userId and r.reviewed = false and r.id < :beforeId order by r.id desc")
+    List<RiskAnalysis> findUnreviewedByUploaderId(
+            @Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.RiskStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RiskStatCounterRepository
+        extends JpaRepository<RiskStatCounter, RiskStatCounter.Key>, RiskStatCounterUpdates {
+
+    List<RiskStatCounter> findByKeyDimensionAndKeyBucketGreaterThanEqual(
+            RiskStatCounter.Dimension dimension, String fromBucket);
+
+    List<RiskStatCounter> findByKeyDimensionNot(RiskStatCounter.Dimension dimension);
+}
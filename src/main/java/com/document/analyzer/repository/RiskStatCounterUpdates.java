@@ -0,0 +1,19 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.RiskStatCounter;
+
+import java.util.Map;
+
+public interface RiskStatCounterUpdates {
+
+    /**
+     * Adds each delta to its counter, creating missing counters. Counters are updated in key
+     * order so concurrent transactions touching the same counters cannot deadlock.
+     */
+    void increment(Map<RiskStatCounter.Key, Long> deltas);
+
+    /**
+     * Recomputes every counter from the analysis and classification tables.
+     */
+    void rebuild();
+}
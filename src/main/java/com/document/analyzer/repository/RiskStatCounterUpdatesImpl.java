@@ -0,0 +1,79 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.RiskStatCounter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counter upserts in SQL, since a read-modify-write through JPA would lose concurrent
+ * increments. PostgreSQL gets INSERT ... ON CONFLICT, which stays correct when two
+ * transactions create the same counter; other databases (H2 in tests) use standard MERGE.
+ */
+class RiskStatCounterUpdatesImpl implements RiskStatCounterUpdates {
+
+    private static final String POSTGRES_UPSERT = "INSERT INTO risk_stat_counters (dimension, bucket, total) "
+            + "VALUES (?, ?, ?) ON CONFLICT (dimension, bucket) "
+            + "DO UPDATE SET total = risk_stat_counters.total + EXCLUDED.total";
+
+    private static final String MERGE_UPSERT = "MERGE INTO risk_stat_counters c "
+            + "USING (VALUES (CAST(? AS VARCHAR(30)), CAST(? AS VARCHAR(50)), CAST(? AS BIGINT))) "
+            + "AS d (dimension, bucket, total) ON c.dimension = d.dimension AND c.bucket = d.bucket "
+            + "WHEN MATCHED THEN UPDATE SET total = c.total + d.total "
+            + "WHEN NOT MATCHED THEN INSERT (dimension, bucket, total) VALUES (d.dimension, d.bucket, d.total)";
+
+    // same rollup as the V6 migration
+    private static final String REBUILD = "INSERT INTO risk_stat_counters (dimension, bucket, total) "
+            + "SELECT 'RISK_LEVEL', overall_risk_level, COUNT(*) FROM risk_analyses GROUP BY overall_risk_level "
+            + "UNION ALL SELECT 'FRAMEWORK', framework, COUNT(*) FROM risk_analyses GROUP BY framework "
+            + "UNION ALL SELECT 'REVIEW_STATUS', CASE WHEN reviewed THEN 'REVIEWED' ELSE 'PENDING' END, COUNT(*) "
+            + "FROM risk_analyses GROUP BY reviewed "
+            + "UNION ALL SELECT 'REVIEWER', CAST(reviewed_by_user_id AS VARCHAR(50)), COUNT(*) FROM risk_analyses "
+            + "WHERE reviewed AND reviewed_by_user_id IS NOT NULL GROUP BY reviewed_by_user_id "
+            + "UNION ALL SELECT 'DAY', bucket, COUNT(*) FROM (SELECT CAST(CAST(created_at AS DATE) AS VARCHAR(50)) "
+            + "AS bucket FROM risk_analyses) days GROUP BY bucket "
+            + "UNION ALL SELECT 'CATEGORY', category, COUNT(*) FROM classifications GROUP BY category";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsert;
+
+    RiskStatCounterUpdatesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void increment(Map<RiskStatCounter.Key, Long> deltas) {
+        List<Object[]> rows = new TreeMap<>(deltas).entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(delta -> new Object[]{
+                        delta.getKey().getDimension().name(), delta.getKey().getBucket(), delta.getValue()})
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsert(), rows);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM risk_stat_counters");
+        jdbcTemplate.update(REBUILD);
+    }
+
+    private String upsert() {
+        if (upsert == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                upsert = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Could not determine database for counter upserts", e);
+            }
+        }
+        return upsert;
+    }
+}
@@ -0,0 +1,133 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.AnalysisResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Analysis results keyed by the SHA-256 of the processed text. Entries are futures, so the
+ * first caller for a text runs the analysis outside the cache's map lock while concurrent
+ * callers for the same text wait on its future instead of starting another LLM call. The
+ * cache keeps its own read-only copy of each response and hands every caller a fresh copy.
+ * Incomplete responses are handed to the callers waiting for them but not kept.
+ */
+@Component
+public class AnalysisResultCache {
+
+    private final AsyncCache<String, AnalysisResponse> cache;
+
+    public AnalysisResultCache(@Value("${app.analysis.cache.max-size:1000}") long maxSize,
+                               @Value("${app.analysis.cache.ttl:PT1H}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public AnalysisResponse get(String text, Supplier<AnalysisResponse> analysis) {
+        String key = keyFor(text);
+        CompletableFuture<AnalysisResponse> created = new CompletableFuture<>();
+        CompletableFuture<AnalysisResponse> entry = cache.get(key, (k, executor) -> created);
+        if (entry == created) {
+            try {
+                AnalysisResponse response = analysis.get();
+                created.complete(copyOf(response));
+                if (response.isIncomplete()) {
+                    cache.asMap().remove(key, created);
+                }
+            } catch (RuntimeException | Error e) {
+                // a failed future is dropped from the cache, so the next caller retries
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return copyOf(join(entry));
+    }
+
+    public AnalysisResponse getIfPresent(String text) {
+        CompletableFuture<AnalysisResponse> entry = cache.getIfPresent(keyFor(text));
+        if (entry == null || !entry.isDone() || entry.isCompletedExceptionally()) {
+            return null;
+        }
+        return copyOf(entry.join());
+    }
+
+    public void put(String text, AnalysisResponse response) {
+        if (response.isIncomplete()) {
+            return;
+        }
+        cache.put(keyFor(text), CompletableFuture.completedFuture(copyOf(response)));
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private static AnalysisResponse join(CompletableFuture<AnalysisResponse> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static AnalysisResponse copyOf(AnalysisResponse response) {
+        return AnalysisResponse.builder()
+                .documentType(response.getDocumentType())
+                .riskCategory(response.getRiskCategory())
+                .summary(response.getSummary())
+                .keyPoints(response.getKeyPoints() != null ? List.copyOf(response.getKeyPoints()) : null)
+                .risks(response.getRisks() != null ? response.getRisks().stream()
+                        .map(risk -> new AnalysisResponse.RiskItem(risk.getLevel(), risk.getDescription(), risk.getImpact()))
+                        .toList() : null)
+                .recommendations(response.getRecommendations() != null
+                        ? List.copyOf(response.getRecommendations()) : null)
+                .metadata(response.getMetadata() != null
+                        ? Collections.unmodifiableMap(new LinkedHashMap<>(response.getMetadata())) : null)
+                .build();
+    }
+
+    private String keyFor(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
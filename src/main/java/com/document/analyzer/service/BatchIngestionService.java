@@ -0,0 +1,222 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.BatchUploadManifest;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.User;
+import com.document.analyzer.storage.DocumentStorage;
+import com.document.analyzer.util.DocumentTextExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ingests many files in one request. Entries are streamed to storage one at a time,
+ * extracted and analyzed in parallel on the bounded batch pool, and persisted in
+ * groups of {@code app.ingestion.batch.flush-size} documents per transaction.
+ */
+@Slf4j
+@Service
+public class BatchIngestionService {
+
+    private final UploadService uploadService;
+    private final ClassificationService classificationService;
+    private final RiskAnalysisService riskAnalysisService;
+    private final DocumentTextExtractor documentTextExtractor;
+    private final DocumentStorage documentStorage;
+    private final TaskExecutor batchIngestionExecutor;
+    private final int flushSize;
+    private final int maxEntries;
+
+    public BatchIngestionService(UploadService uploadService,
+                                 ClassificationService classificationService,
+                                 RiskAnalysisService riskAnalysisService,
+                                 DocumentTextExtractor documentTextExtractor,
+                                 DocumentStorage documentStorage,
+                                 @Qualifier("batchIngestionExecutor") TaskExecutor batchIngestionExecutor,
+                                 @Value("${app.ingestion.batch.flush-size:200}") int flushSize,
+                                 @Value("${app.ingestion.batch.max-entries:10000}") int maxEntries) {
+        this.uploadService = uploadService;
+        this.classificationService = classificationService;
+        this.riskAnalysisService = riskAnalysisService;
+        this.documentTextExtractor = documentTextExtractor;
+        this.documentStorage = documentStorage;
+        this.batchIngestionExecutor = batchIngestionExecutor;
+        this.flushSize = flushSize;
+        this.maxEntries = maxEntries;
+    }
+
+    public BatchUploadManifest ingestFiles(List<MultipartFile> files, Long userId) throws IOException {
+        if (files.size() > maxEntries) {
+            throw new RuntimeException("Batch contains more than " + maxEntries + " files");
+        }
+        Batch batch = new Batch(uploadService.getUploader(userId));
+        for (MultipartFile file : files) {
+            try (InputStream content = file.getInputStream()) {
+                batch.add(file.getOriginalFilename(), content);
+            }
+        }
+        return batch.finish();
+    }
+
+    public BatchUploadManifest ingestZip(MultipartFile archive, Long userId) throws IOException {
+        Batch batch = new Batch(uploadService.getUploader(userId));
+        try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+            InputStream entryContent = new FilterInputStream(zip) {
+                @Override
+                public void close() {
+                    // the archive stream stays open for the next entry
+                }
+            };
+            int count = 0;
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String fileName = baseName(entry.getName());
+                if (entry.isDirectory() || entry.getName().startsWith("__MACOSX/") || fileName.isEmpty()
+                        || fileName.startsWith(".")) {
+                    continue;
+                }
+                if (++count > maxEntries) {
+                    throw new RuntimeException("Archive contains more than " + maxEntries + " files");
+                }
+                batch.add(fileName, entryContent);
+            }
+        }
+        return batch.finish();
+    }
+
+    private static String baseName(String entryName) {
+        int separator = Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\'));
+        return entryName.substring(separator + 1);
+    }
+
+    private Analyzed analyze(Document document) {
+        try {
+            document.setExtractedText(documentStorage.read(document.getFilePath(), documentTextExtractor::extractText));
+            Classification classification = classificationService.buildClassification(document);
+            RiskAnalysis riskAnalysis = riskAnalysisService.buildAnalysis(document, RiskAnalysis.AnalysisFramework.OWASP);
+            document.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+            return new Analyzed(document, classification, riskAnalysis, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Batch analysis failed for {}", document.getFileName(), e);
+            document.setProcessingStatus(Document.ProcessingStatus.FAILED);
+            return new Analyzed(document, null, null, e.getMessage());
+        }
+    }
+
+    private record Analyzed(Document document, Classification classification, RiskAnalysis riskAnalysis,
+                            String error) {
+    }
+
+    private record Pending(int index, CompletableFuture<Analyzed> result) {
+    }
+
+    private final class Batch {
+        private final User user;
+        private final List<BatchUploadManifest.Entry> entries = new ArrayList<>();
+        private final List<Pending> pending = new ArrayList<>();
+
+        private Batch(User user) {
+            this.user = user;
+        }
+
+        void add(String fileName, InputStream content) {
+            int index = entries.size();
+            entries.add(null);
+            Document staged;
+            try {
+                staged = uploadService.stageDocument(fileName, content, user);
+            } catch (IOException | RuntimeException e) {
+                entries.set(index, entry(fileName, null, BatchUploadManifest.Outcome.REJECTED, e.getMessage()));
+                return;
+            }
+            if (staged.getId() != null) {
+                entries.set(index, entry(fileName, staged.getId(), BatchUploadManifest.Outcome.DUPLICATE, null));
+                return;
+            }
+            pending.add(new Pending(index, CompletableFuture.supplyAsync(() -> analyze(staged), batchIngestionExecutor)));
+            if (pending.size() >= flushSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Analyzed> analyzed = pending.stream().map(p -> p.result().join()).toList();
+            List<Document> documents = analyzed.stream().map(Analyzed::document).toList();
+            List<Classification> classifications = analyzed.stream()
+                    .map(Analyzed::classification).filter(c -> c != null).toList();
+            List<RiskAnalysis> riskAnalyses = analyzed.stream()
+                    .map(Analyzed::riskAnalysis).filter(r -> r != null).toList();
+
+            try {
+                List<Document> saved = uploadService.saveStagedBatch(documents, classifications, riskAnalyses);
+                for (int i = 0; i < saved.size(); i++) {
+                    Document document = saved.get(i);
+                    BatchUploadManifest.Outcome outcome = document.getProcessingStatus() == Document.ProcessingStatus.COMPLETED
+                            ? BatchUploadManifest.Outcome.COMPLETED
+                            : BatchUploadManifest.Outcome.FAILED;
+                    entries.set(pending.get(i).index(),
+                            entry(document.getFileName(), document.getId(), outcome, analyzed.get(i).error()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not persist batch of {} documents", documents.size(), e);
+                for (int i = 0; i < documents.size(); i++) {
+                    discard(documents.get(i));
+                    entries.set(pending.get(i).index(), entry(documents.get(i).getFileName(), null,
+                            BatchUploadManifest.Outcome.FAILED, "Could not save document: " + e.getMessage()));
+                }
+            } finally {
+                pending.clear();
+            }
+        }
+
+        private void discard(Document document) {
+            try {
+                uploadService.discardStagedFile(document);
+            } catch (IOException e) {
+                log.warn("Could not delete staged file {}", document.getFilePath(), e);
+            }
+        }
+
+        BatchUploadManifest finish() {
+            flush();
+            return BatchUploadManifest.builder()
+                    .total(entries.size())
+                    .completed(count(BatchUploadManifest.Outcome.COMPLETED))
+                    .duplicates(count(BatchUploadManifest.Outcome.DUPLICATE))
+                    .failed(count(BatchUploadManifest.Outcome.FAILED) + count(BatchUploadManifest.Outcome.REJECTED))
+                    .entries(entries)
+                    .build();
+        }
+
+        private int count(BatchUploadManifest.Outcome outcome) {
+            return (int) entries.stream().filter(e -> e.getOutcome() == outcome).count();
+        }
+
+        private BatchUploadManifest.Entry entry(String fileName, Long documentId, BatchUploadManifest.Outcome outcome,
+                                                String message) {
+            return BatchUploadManifest.Entry.builder()
+                    .fileName(fileName)
+                    .documentId(documentId)
+                    .outcome(outcome)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.ClassificationRuleSet;
+import com.document.analyzer.domain.DocumentType;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.util.KeywordAutomaton;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keyword rules for {@link ClassificationService} and {@link DocumentClassifier}, read from
+ * {@code app.classification.rules-location}. The keywords of every rule go into one shared
+ * {@link KeywordAutomaton}, so scoring costs one scan of the file name and one of the text
+ * however many rules there are. A {@code file:} location is checked for changes every
+ * {@code app.classification.rules-reload-interval}; a changed file is compiled first and
+ * swapped in atomically, and an invalid one leaves the current rules in place. Classpath
+ * rules are packaged with the application and only change on a restart.
+ */
+@Slf4j
+@Component
+public class ClassificationRules {
+
+    static final String DEFAULT_LOCATION = "classpath:classification-rules.json";
+
+    private static final ObjectReader RULE_SET_READER = new ObjectMapper().readerFor(ClassificationRuleSet.class);
+
+    private final Resource resource;
+    private final AtomicReference<Compiled> current = new AtomicReference<>();
+    private volatile long checkedModified;
+
+    public ClassificationRules(ResourceLoader resourceLoader,
+                               @Value("${app.classification.rules-location:" + DEFAULT_LOCATION + "}") String location) {
+        this.resource = resourceLoader.getResource(location);
+        reload();
+    }
+
+    static ClassificationRules defaults() {
+        return new ClassificationRules(new DefaultResourceLoader(), DEFAULT_LOCATION);
+    }
+
+    public Compiled current() {
+        return current.get();
+    }
+
+    /**
+     * Reads and compiles the rule file and swaps it in. Throws {@link InvalidRulesException}
+     * and keeps the current rules when the file cannot be read or names unknown categories.
+     */
+    public ClassificationRuleSet reload() {
+        long modified = lastModified();
+        checkedModified = modified;
+        ClassificationRuleSet ruleSet;
+        try (InputStream in = resource.getInputStream()) {
+            ruleSet = RULE_SET_READER.readValue(in);
+        } catch (IOException e) {
+            throw new InvalidRulesException("Could not read classification rules from "
+                    + resource.getDescription() + ": " + e.getMessage());
+        }
+        Compiled compiled = compile(ruleSet);
+        current.set(compiled);
+        log.info("Loaded {} classification rules from {}", compiled.rules.size(), resource.getDescription());
+        return ruleSet;
+    }
+
+    @Scheduled(fixedDelayString = "${app.classification.rules-reload-interval:PT30S}",
+            initialDelayString = "${app.classification.rules-reload-interval:PT30S}")
+    public void reloadIfModified() {
+        long modified = lastModified();
+        if (modified == 0 || modified == checkedModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (InvalidRulesException e) {
+            log.warn("Keeping the current classification rules: {}", e.getMessage());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    static Compiled compile(ClassificationRuleSet ruleSet) {
+        List<CompiledRule> rules = new ArrayList<>();
+        List<List<String>> keywords = new ArrayList<>();
+        addRules(ruleSet.getDocumentCategories(), Classification.DocumentCategory.class, "documentCategories",
+                rules, keywords);
+        addRules(ruleSet.getDocumentTypes(), DocumentType.class, "documentTypes", rules, keywords);
+        return new Compiled(ruleSet, KeywordAutomaton.compile(keywords), rules);
+    }
+
+    private static <C extends Enum<C>> void addRules(List<ClassificationRuleSet.Rule> source, Class<C> categoryType,
+                                                     String name, List<CompiledRule> rules, List<List<String>> keywords) {
+        if (source == null) {
+            return;
+        }
+        for (ClassificationRuleSet.Rule rule : source) {
+            C category;
+            try {
+                category = Enum.valueOf(categoryType, String.valueOf(rule.getCategory()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRulesException("Unknown category '" + rule.getCategory() + "' in " + name);
+            }
+            if (rule.getKeywords() == null || rule.getKeywords().isEmpty()
+                    || rule.getKeywords().stream().anyMatch(keyword -> keyword == null || keyword.isEmpty())) {
+                throw new InvalidRulesException("A " + category + " rule in " + name + " has an empty keyword list or keyword");
+            }
+            if (!(rule.getWeight() > 0)) {
+                throw new InvalidRulesException("A " + category + " rule in " + name + " needs a positive weight");
+            }
+            ClassificationRuleSet.Field field = rule.getField() != null ? rule.getField() : ClassificationRuleSet.Field.CONTENT;
+            rules.add(new CompiledRule(category, field, rule.getWeight()));
+            keywords.add(rule.getKeywords());
+        }
+    }
+
+    private record CompiledRule(Enum<?> category, ClassificationRuleSet.Field field, double weight) {
+    }
+
+    /**
+     * An immutable compiled rule set. Both classifiers score against the same instance, and a
+     * caller holding one keeps a consistent view while a reload swaps in the next.
+     */
+    public static final class Compiled {
+        private final ClassificationRuleSet ruleSet;
+        private final KeywordAutomaton automaton;
+        private final List<CompiledRule> rules;
+
+        private Compiled(ClassificationRuleSet ruleSet, KeywordAutomaton automaton, List<CompiledRule> rules) {
+            this.ruleSet = ruleSet;
+            this.automaton = automaton;
+            this.rules = rules;
+        }
+
+        public ClassificationRuleSet ruleSet() {
+            return ruleSet;
+        }
+
+        /**
+         * Scores the {@code categoryType} rules; either input may be null. Every matching rule
+         * adds its weight once, however often its keywords occur.
+         */
+        public <C extends Enum<C>> Scores<C> score(Class<C> categoryType, String fileName, String content) {
+            int[] fileNameHits = fileName != null ? automaton.count(fileName) : null;
+            int[] contentHits = content != null ? automaton.count(content) : null;
+            Map<C, Double> scores = new LinkedHashMap<>();
+            for (int i = 0; i < rules.size(); i++) {
+                CompiledRule rule = rules.get(i);
+                if (rule.category().getDeclaringClass() != categoryType) {
+                    continue;
+                }
+                int[] hits = rule.field() == ClassificationRuleSet.Field.FILE_NAME ? fileNameHits : contentHits;
+                if (hits != null && hits[i] > 0) {
+                    scores.merge(categoryType.cast(rule.category()), rule.weight(), Double::sum);
+                }
+            }
+            return new Scores<>(Collections.unmodifiableMap(scores));
+        }
+    }
+
+    /**
+     * Category scores in rule order; categories without a matching rule are absent.
+     */
+    public record Scores<C extends Enum<C>>(Map<C, Double> scores) {
+
+        /**
+         * The highest-scoring category, or {@code fallback} when nothing matched. Ties go to
+         * the category whose rules come first in the file.
+         */
+        public C best(C fallback) {
+            C best = fallback;
+            double bestScore = 0;
+            for (Map.Entry<C, Double> entry : scores.entrySet()) {
+                if (entry.getValue() > bestScore) {
+                    best = entry.getKey();
+                    bestScore = entry.getValue();
+                }
+            }
+            return best;
+        }
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidRulesException extends IllegalArgumentException {
+        public InvalidRulesException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.domain.CursorPage;
 import com.document.analyzer.entity.Classification;
 import com.document.analyzer.entity.Document;
 import com.document.analyzer.repository.ClassificationRepository;
 import com.document.analyzer.repository.DocumentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,50 +27,116 @@ public class ClassificationService {
 
     private final ClassificationRepository classificationRepository;
     private final DocumentRepository documentRepository;
+    private final RiskStatsService riskStatsService;
+    private final ClassificationRules classificationRules;
 
     public Classification classifyDocument(Long documentId) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
+        return saveNew(buildClassification(document));
+    }
+
+    /**
+     * Computes the classification for a document without touching the database, so bulk
+     * ingestion can classify on worker threads and persist the results in batches.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Classification buildClassification(Document document) {
         Classification.DocumentCategory category = inferCategoryFromDocument(document);
         float confidence = generateConfidenceScore(document.getFileName());
         String reason = generateClassificationReason(category, document.getFileName());
 
-        Classification classification = Classification.builder()
+        return Classification.builder()
                 .document(document)
                 .category(category)
                 .confidence(confidence)
                 .classificationReason(reason)
                 .rawClassificationResult(String.format("Classification: %s with confidence %f", category, confidence))
                 .build();
+    }
 
-        return classificationRepository.save(classification);
+    public List<Classification> saveAll(List<Classification> classifications) {
+        List<Classification> saved = classificationRepository.saveAll(classifications);
+        riskStatsService.record(new RiskStatsService.Delta().addClassifications(saved));
+        return saved;
+    }
+
+    /**
+     * Writes recomputed classifications over each document's latest classification, inserting
+     * one where a document has none. Rows whose values did not change are left untouched.
+     */
+    public void applyReclassifications(List<Classification> classifications) {
+        Map<Long, Classification> latest = classificationRepository.findByDocumentIdIn(
+                        classifications.stream().map(c -> c.getDocument().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(c -> c.getDocument().getId(), Function.identity(),
+                        BinaryOperator.maxBy(Comparator.comparing(Classification::getId))));
+
+        RiskStatsService.Delta delta = new RiskStatsService.Delta();
+        List<Classification> created = new ArrayList<>();
+        for (Classification classification : classifications) {
+            Classification existing = latest.get(classification.getDocument().getId());
+            if (existing == null) {
+                created.add(classification);
+                continue;
+            }
+            delta.remove(existing);
+            existing.setCategory(classification.getCategory());
+            existing.setConfidence(classification.getConfidence());
+            existing.setClassificationReason(classification.getClassificationReason());
+            existing.setRawClassificationResult(classification.getRawClassificationResult());
+            delta.add(existing);
+        }
+        delta.addClassifications(classificationRepository.saveAll(created));
+        riskStatsService.record(delta);
+    }
+
+    public Optional<Classification> copyClassification(Long sourceDocumentId, Document target) {
+        return classificationRepository.findByDocumentId(sourceDocumentId)
+                .map(source -> saveNew(Classification.builder()
+                        .document(target)
+                        .category(source.getCategory())
+                        .confidence(source.getConfidence())
+                        .classificationReason(source.getClassificationReason())
+                        .rawClassificationResult(source.getRawClassificationResult())
+                        .build()));
     }
 
     public Optional<Classification> getLatestClassification(Long documentId) {
         return classificationRepository.findByDocumentId(documentId);
     }
 
-    public List<Classification> getClassificationsByCategory(Classification.DocumentCategory category) {
-        return classificationRepository.findByCategory(category);
+    public CursorPage<Classification> getClassificationsByCategory(
+            Classification.DocumentCategory category, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(classificationRepository.findByCategoryAndIdLessThanOrderByIdDesc(
+                category, CursorPage.beforeId(cursor), request), request, Classification::getId);
     }
 
-    public List<Classification> getHighConfidenceClassifications(Float minConfidence) {
-        return classificationRepository.findByConfidenceGreaterThan(minConfidence);
+    public CursorPage<Classification> getHighConfidenceClassifications(Float minConfidence, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(classificationRepository.findByConfidenceGreaterThanAndIdLessThanOrderByIdDesc(
+                minConfidence, CursorPage.beforeId(cursor), request), request, Classification::getId);
     }
 
     public Classification updateClassification(Long classificationId, Classification.DocumentCategory newCategory) {
         return classificationRepository.findById(classificationId)
                 .map(classification -> {
+                    RiskStatsService.Delta delta = new RiskStatsService.Delta().remove(classification);
                     classification.setCategory(newCategory);
                     classification.setClassificationReason("TODO: Manual update reason");
+                    riskStatsService.record(delta.add(classification));
                     return classificationRepository.save(classification);
                 })
                 .orElseThrow(() -> new RuntimeException("Classification not found"));
     }
 
     public void deleteClassification(Long id) {
-        classificationRepository.deleteById(id);
+        classificationRepository.findById(id).ifPresent(classification -> {
+            riskStatsService.record(new RiskStatsService.Delta().remove(classification));
+            classificationRepository.delete(classification);
+        });
     }
 
     public boolean isClassificationAccurate(Long classificationId) {
@@ -70,32 +145,23 @@ public class ClassificationService {
                 .orElse(false);
     }
 
+    private Classification saveNew(Classification classification) {
+        Classification saved = classificationRepository.save(classification);
+        riskStatsService.record(new RiskStatsService.Delta().add(saved));
+        return saved;
+    }
+
     private Classification.DocumentCategory inferCategoryFromDocument(Document document) {
         String fileName = document.getFileName() != null ? document.getFileName().toLowerCase() : "";
-        String extractedText = document.getExtractedText() != null ? document.getExtractedText().toLowerCase() : "";
-        
+        // the rule automaton matches case-insensitively, so the text is not lowercased first
+        String extractedText = document.getExtractedText() != null ? document.getExtractedText() : "";
+
         if (isJsonFile(fileName, extractedText)) {
             return Classification.DocumentCategory.OTHER;
         }
-        if (fileName.contains("contract") || extractedText.contains("contract") || extractedText.contains("agreement")) {
-            return Classification.DocumentCategory.CONTRACT;
-        }
-        if (fileName.contains("invoice") || extractedText.contains("invoice") || extractedText.contains("bill")) {
-            return Classification.DocumentCategory.INVOICE;
-        }
-        if (fileName.contains("report") || extractedText.contains("report") || extractedText.contains("analysis")) {
-            return Classification.DocumentCategory.REPORT;
-        }
-        if (fileName.contains("policy") || extractedText.contains("policy") || extractedText.contains("guideline")) {
-            return Classification.DocumentCategory.POLICY;
-        }
-        if (fileName.contains("form") || extractedText.contains("form") || extractedText.contains("application")) {
-            return Classification.DocumentCategory.FORM;
-        }
-        if (extractedText.contains("agreement") || fileName.contains("agreement")) {
-            return Classification.DocumentCategory.AGREEMENT;
-        }
-        return Classification.DocumentCategory.OTHER;
+        return classificationRules.current()
+                .score(Classification.DocumentCategory.class, fileName, extractedText)
+                .best(Classification.DocumentCategory.OTHER);
     }
 
     private boolean isJsonFile(String fileName, String extractedText) {
@@ -0,0 +1,132 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.storage.DocumentStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves stored document files with conditional GET and single byte-range support. The
+ * ETag is the content hash, so it never changes for a stored file. Local files of at least
+ * {@value #SENDFILE_MIN_BYTES} bytes are handed to Tomcat's sendfile, which copies them from
+ * the page cache to the socket; everything else is streamed through
+ * {@link DocumentStorage#transferTo}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentDownloadService {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Tomcat's own threshold; below it a plain write is cheaper than setting up sendfile
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStorage documentStorage;
+
+    /**
+     * Writes the document's file, a 206 range of it, or a 304/412/416 status to the response.
+     * Returns false when the document does not exist and nothing was written.
+     */
+    public boolean download(Long documentId, ServletWebRequest webRequest) throws IOException {
+        Optional<Document> found = documentRepository.findById(documentId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        Document document = found.get();
+        String etag = document.getContentHash() != null ? "\"" + document.getContentHash() + "\"" : null;
+        long lastModified = document.getCreatedAt() != null
+                ? document.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return true;
+        }
+
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+        long size = documentStorage.size(document.getFilePath());
+        long start = 0;
+        long count = size;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && rangeStillValid(request, etag, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // several ranges would need a multipart body; sending the whole file is allowed instead
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    if (start >= size) {
+                        throw new IllegalArgumentException("Range starts beyond " + size + " bytes");
+                    }
+                    count = ranges.get(0).getRangeEnd(size) - start + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return true;
+            }
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(document.getFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(document.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return true;
+        }
+
+        Optional<Path> localFile = documentStorage.localFile(document.getFilePath());
+        if (localFile.isPresent() && count >= SENDFILE_MIN_BYTES
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, localFile.get().toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return true;
+        }
+        documentStorage.transferTo(document.getFilePath(), start, count,
+                Channels.newChannel(response.getOutputStream()));
+        return true;
+    }
+
+    // If-Range: serve the range only while the client's copy is current, otherwise the whole file
+    private boolean rangeStillValid(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Slf4j
+@Service
+public class DocumentIngestionService {
+
+    private final UploadService uploadService;
+    private final ClassificationService classificationService;
+    private final RiskAnalysisService riskAnalysisService;
+    private final TaskExecutor ingestionExecutor;
+
+    public DocumentIngestionService(UploadService uploadService,
+                                    ClassificationService classificationService,
+                                    RiskAnalysisService riskAnalysisService,
+                                    @Qualifier("ingestionExecutor") TaskExecutor ingestionExecutor) {
+        this.uploadService = uploadService;
+        this.classificationService = classificationService;
+        this.riskAnalysisService = riskAnalysisService;
+        this.ingestionExecutor = ingestionExecutor;
+    }
+
+    public Document submitDocument(MultipartFile file, Long userId) throws IOException {
+        Document document = uploadService.storeDocument(file, userId);
+        if (document.getProcessingStatus() != Document.ProcessingStatus.PENDING) {
+            return document;
+        }
+        Long documentId = document.getId();
+        try {
+            ingestionExecutor.execute(() -> processDocument(documentId));
+        } catch (TaskRejectedException e) {
+            uploadService.deleteDocument(documentId);
+            throw e;
+        }
+        return document;
+    }
+
+    void processDocument(Long documentId) {
+        try {
+            uploadService.updateProcessingStatus(documentId, Document.ProcessingStatus.PROCESSING);
+            uploadService.extractText(documentId);
+            classificationService.classifyDocument(documentId);
+            riskAnalysisService.analyzeDocumentRisk(documentId, RiskAnalysis.AnalysisFramework.OWASP);
+            uploadService.updateProcessingStatus(documentId, Document.ProcessingStatus.COMPLETED);
+        } catch (Exception e) {
+            log.warn("Asynchronous processing failed for document {}", documentId, e);
+            uploadService.updateProcessingStatus(documentId, Document.ProcessingStatus.FAILED);
+        }
+    }
+}
@@ -6,8 +6,14 @@ import com.document.analyzer.domain.DocumentType;
 import com.document.analyzer.domain.LLMAnalysisResult;
 import com.document.analyzer.domain.RiskCategory;
 import com.document.analyzer.util.DocumentProcessor;
+import io.micrometer.observation.Observation;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
 @Service
 public class DocumentService {
 
@@ -17,41 +23,130 @@ public class DocumentService {
     private final SanityChecker sanityChecker;
     private final JsonFormatter jsonFormatter;
     private final DocumentProcessor documentProcessor;
+    private final AnalysisResultCache analysisResultCache;
+    private final PipelineMetrics pipelineMetrics;
 
     public DocumentService(DocumentClassifier documentClassifier,
                           RiskFrameworkSelector riskFrameworkSelector,
                           IntentAnalyzer intentAnalyzer,
                           SanityChecker sanityChecker,
                           JsonFormatter jsonFormatter,
-                          DocumentProcessor documentProcessor) {
+                          DocumentProcessor documentProcessor,
+                          AnalysisResultCache analysisResultCache,
+                          PipelineMetrics pipelineMetrics) {
         this.documentClassifier = documentClassifier;
         this.riskFrameworkSelector = riskFrameworkSelector;
         this.intentAnalyzer = intentAnalyzer;
         this.sanityChecker = sanityChecker;
         this.jsonFormatter = jsonFormatter;
         this.documentProcessor = documentProcessor;
+        this.analysisResultCache = analysisResultCache;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     public AnalysisResponse analyze(AnalysisRequest request) throws IllegalArgumentException {
+        validate(request);
+
+        String text = documentProcessor.processDocument(request.getText(), request.getFileName());
+        pipelineMetrics.recordTextLength(text);
+
+        if (request.isSkipCache()) {
+            return runPipeline(text);
+        }
+        return analysisResultCache.get(text, () -> runPipeline(text));
+    }
+
+    /**
+     * Runs the analysis pipeline and reports its progress as named events: "classification"
+     * first, then the LLM's "summary", "keyPoint", "risk" and "recommendation" items as they
+     * are parsed, then "sanity" and finally the formatted "result".
+     */
+    public void analyzeStreaming(AnalysisRequest request, BiConsumer<String, Object> events) {
+        validate(request);
+
+        String text = documentProcessor.processDocument(request.getText(), request.getFileName());
+        pipelineMetrics.recordTextLength(text);
+
+        if (!request.isSkipCache()) {
+            AnalysisResponse cached = analysisResultCache.getIfPresent(text);
+            if (cached != null) {
+                replay(cached, events);
+                return;
+            }
+        }
+
+        AnalysisResponse response = pipelineMetrics.pipeline(PipelineMetrics.ANALYSIS, () -> {
+            DocumentType documentType = stage("classify", () -> documentClassifier.classify(text));
+            RiskCategory riskCategory = stage("framework", () -> riskFrameworkSelector.selectRiskCategory(documentType));
+            events.accept("classification", classificationEvent(documentType.getDisplayName(), riskCategory.getDisplayName()));
+
+            LLMAnalysisResult analysisResult = stage("llm",
+                    () -> intentAnalyzer.analyzeStreaming(text, documentType, riskCategory, events));
+
+            SanityChecker.SanityCheckResult sanityResult = stage("sanity", () -> sanityChecker.check(analysisResult));
+            events.accept("sanity", sanityEvent(sanityResult.isValid(), sanityResult.getErrors()));
+            if (!sanityResult.isValid()) {
+                throw new IllegalStateException("Analysis failed sanity check: " + String.join(", ", sanityResult.getErrors()));
+            }
+
+            return stage("format", () -> jsonFormatter.format(documentType, riskCategory, analysisResult));
+        });
+        if (!request.isSkipCache()) {
+            analysisResultCache.put(text, response);
+        }
+        events.accept("result", response);
+    }
+
+    private void validate(AnalysisRequest request) {
         if (!request.isValid()) {
             String error = request.getValidationError();
             throw new IllegalArgumentException(error != null ? error : "Invalid request");
         }
+    }
 
-        String text = documentProcessor.processDocument(request.getText(), request.getFileName());
+    private void replay(AnalysisResponse response, BiConsumer<String, Object> events) {
+        events.accept("classification", classificationEvent(response.getDocumentType(), response.getRiskCategory()));
+        events.accept("summary", response.getSummary());
+        response.getKeyPoints().forEach(keyPoint -> events.accept("keyPoint", keyPoint));
+        response.getRisks().forEach(risk -> events.accept("risk", risk));
+        response.getRecommendations().forEach(recommendation -> events.accept("recommendation", recommendation));
+        events.accept("sanity", sanityEvent(true, List.of()));
+        events.accept("result", response);
+    }
 
-        DocumentType documentType = documentClassifier.classify(text);
+    private Map<String, Object> classificationEvent(String documentType, String riskCategory) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("documentType", documentType);
+        event.put("riskCategory", riskCategory);
+        return event;
+    }
+
+    private Map<String, Object> sanityEvent(boolean valid, List<String> errors) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("valid", valid);
+        event.put("errors", errors);
+        return event;
+    }
 
-        RiskCategory riskCategory = riskFrameworkSelector.selectRiskCategory(documentType);
+    private AnalysisResponse runPipeline(String text) {
+        return pipelineMetrics.pipeline(PipelineMetrics.ANALYSIS, () -> {
+            DocumentType documentType = stage("classify", () -> documentClassifier.classify(text));
 
-        LLMAnalysisResult analysisResult = intentAnalyzer.analyze(text, documentType, riskCategory);
+            RiskCategory riskCategory = stage("framework", () -> riskFrameworkSelector.selectRiskCategory(documentType));
 
-        SanityChecker.SanityCheckResult sanityResult = sanityChecker.check(analysisResult);
+            LLMAnalysisResult analysisResult = stage("llm", () -> intentAnalyzer.analyze(text, documentType, riskCategory));
 
-        if (!sanityResult.isValid()) {
-            throw new IllegalStateException("Analysis failed sanity check: " + String.join(", ", sanityResult.getErrors()));
-        }
+            SanityChecker.SanityCheckResult sanityResult = stage("sanity", () -> sanityChecker.check(analysisResult));
+
+            if (!sanityResult.isValid()) {
+                throw new IllegalStateException("Analysis failed sanity check: " + String.join(", ", sanityResult.getErrors()));
+            }
+
+            return stage("format", () -> jsonFormatter.format(documentType, riskCategory, analysisResult));
+        });
+    }
 
-        return jsonFormatter.format(documentType, riskCategory, analysisResult);
+    private <T> T stage(String stage, Observation.CheckedCallable<T, RuntimeException> run) {
+        return pipelineMetrics.stage(PipelineMetrics.ANALYSIS, stage, run);
     }
 }
@@ -1,14 +1,34 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.config.LLMProperties;
 import com.document.analyzer.domain.DocumentType;
 import com.document.analyzer.domain.LLMAnalysisResult;
 import com.document.analyzer.domain.RiskCategory;
+import com.document.analyzer.util.TextChunker;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 @Service
 public class IntentAnalyzer {
@@ -22,6 +42,34 @@ public class IntentAnalyzer {
             
             Respond in JSON format with fields: summary, keyPoints, risks, recommendations, confidence""";
 
+    static final int MAX_KEY_POINTS = 10;
+    static final int MAX_RISKS = 20;
+    static final int MAX_RECOMMENDATIONS = 15;
+    static final int MAX_MERGED_SUMMARIES = 3;
+
+    static final String LLM_REQUEST = "llm.request";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final List<String> RISK_LEVELS = List.of("LOW", "MEDIUM", "HIGH");
+
+    private static final ObjectReader RESULT_READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(LLMAnalysisResult.class);
+
+    private final LLMClient llmClient;
+    private final int maxChunkTokens;
+    private final int maxChunkConcurrency;
+    private final ObservationRegistry observationRegistry;
+
+    public IntentAnalyzer(LLMClient llmClient, LLMProperties llmProperties, ObservationRegistry observationRegistry) {
+        this.llmClient = llmClient;
+        this.maxChunkTokens = llmProperties.getMaxChunkTokens();
+        this.maxChunkConcurrency = Math.max(1,
+                Math.min(llmProperties.getMaxChunkConcurrency(), llmProperties.getMaxConcurrency() - 1));
+        this.observationRegistry = observationRegistry;
+    }
+
     public LLMAnalysisResult analyze(String text, DocumentType documentType, RiskCategory riskCategory) {
         if (text == null || text.isBlank()) {
             return LLMAnalysisResult.builder()
@@ -33,24 +81,210 @@ public class IntentAnalyzer {
                     .build();
         }
 
-        return callLLMAPI(text, documentType, riskCategory);
+        List<String> chunks = TextChunker.chunk(text, maxChunkTokens);
+        if (chunks.size() <= 1) {
+            return llmRequest(text, 0, 1).observe(() -> callLLMAPI(text, documentType, riskCategory));
+        }
+        return mergeResults(analyzeChunks(chunks, documentType, riskCategory),
+                chunks.stream().map(String::length).toList());
+    }
+
+    /**
+     * Same analysis as {@link #analyze}, but reports "summary", "keyPoint", "risk" and
+     * "recommendation" events as soon as each value has been parsed from the LLM stream.
+     * Chunked documents are merged first and then reported in one go.
+     */
+    public LLMAnalysisResult analyzeStreaming(String text, DocumentType documentType, RiskCategory riskCategory,
+                                              BiConsumer<String, Object> events) {
+        if (text == null || text.isBlank()) {
+            return analyze(text, documentType, riskCategory);
+        }
+
+        List<String> chunks = TextChunker.chunk(text, maxChunkTokens);
+        if (chunks.size() > 1) {
+            LLMAnalysisResult merged = mergeResults(analyzeChunks(chunks, documentType, riskCategory),
+                    chunks.stream().map(String::length).toList());
+            emitResult(merged, events);
+            return merged;
+        }
+
+        StreamingResultParser parser = new StreamingResultParser(events);
+        String prompt = buildPrompt(text, documentType, riskCategory);
+        return llmRequest(text, 0, 1).observe(() -> {
+            if (!llmClient.isEnabled()) {
+                String response = mockLLMCall(prompt);
+                parser.feed(response);
+                return parseLLMResponse(response);
+            }
+            try {
+                return parseLLMResponse(llmClient.completeStreaming(SYSTEM_PROMPT, prompt, parser::feed));
+            } catch (IllegalStateException e) {
+                return failedResult();
+            }
+        });
+    }
+
+    private static void emitResult(LLMAnalysisResult result, BiConsumer<String, Object> events) {
+        events.accept("summary", result.getSummary());
+        result.getKeyPoints().forEach(keyPoint -> events.accept("keyPoint", keyPoint));
+        result.getRisks().forEach(risk -> events.accept("risk", risk));
+        result.getRecommendations().forEach(recommendation -> events.accept("recommendation", recommendation));
+    }
+
+    // At most maxChunkConcurrency chunks wait on the LLM client at once; the rest queue here
+    // without a timeout, so a long document does not lose its later chunks to acquire-timeout.
+    private List<LLMAnalysisResult> analyzeChunks(List<String> chunks, DocumentType documentType,
+                                                  RiskCategory riskCategory) {
+        Semaphore inFlight = new Semaphore(maxChunkConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // created on the calling thread so each chunk span is parented to the current one
+            List<Future<LLMAnalysisResult>> futures = IntStream.range(0, chunks.size())
+                    .mapToObj(i -> {
+                        Observation request = llmRequest(chunks.get(i), i, chunks.size());
+                        return executor.submit(() -> {
+                            inFlight.acquire();
+                            try {
+                                return request.observe(() -> callLLMAPI(chunks.get(i), documentType, riskCategory));
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    })
+                    .toList();
+            List<LLMAnalysisResult> results = new ArrayList<>(futures.size());
+            for (Future<LLMAnalysisResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    results.add(failedResult());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    return List.of(failedResult());
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Reduces per-chunk results into one: key points and recommendations are de-duplicated in
+     * confidence order, risks are de-duplicated by description keeping the highest level, and the
+     * summary is built from the most confident chunks. Failed chunks (zero confidence) add
+     * nothing but still count towards the confidence, which is weighted by chunk length, and
+     * are reported in {@code failedChunks} so the result is not mistaken for a full analysis.
+     */
+    static LLMAnalysisResult mergeResults(List<LLMAnalysisResult> results, List<Integer> chunkLengths) {
+        List<Integer> usable = IntStream.range(0, results.size())
+                .filter(i -> results.get(i).getConfidence() != null && results.get(i).getConfidence() > 0)
+                .boxed()
+                .toList();
+        if (usable.isEmpty()) {
+            return failedResult();
+        }
+
+        double weightedConfidence = 0;
+        for (int i : usable) {
+            weightedConfidence += results.get(i).getConfidence() * chunkLengths.get(i);
+        }
+        long totalLength = chunkLengths.stream().mapToLong(Integer::longValue).sum();
+
+        List<Integer> byConfidence = usable.stream()
+                .sorted(Comparator.comparingDouble((Integer i) -> results.get(i).getConfidence()).reversed())
+                .toList();
+
+        Set<String> summaries = new LinkedHashSet<>();
+        byConfidence.stream()
+                .sorted(Comparator.comparingDouble(
+                        (Integer i) -> results.get(i).getConfidence() * chunkLengths.get(i)).reversed())
+                .limit(MAX_MERGED_SUMMARIES)
+                .sorted()
+                .map(i -> results.get(i).getSummary())
+                .filter(summary -> summary != null && !summary.isBlank())
+                .forEach(summaries::add);
+
+        Set<String> keyPoints = new LinkedHashSet<>();
+        Set<String> recommendations = new LinkedHashSet<>();
+        Map<String, Map<String, String>> risks = new LinkedHashMap<>();
+        for (int i : byConfidence) {
+            LLMAnalysisResult result = results.get(i);
+            addDistinct(keyPoints, result.getKeyPoints());
+            addDistinct(recommendations, result.getRecommendations());
+            if (result.getRisks() != null) {
+                for (Map<String, String> risk : result.getRisks()) {
+                    String key = normalize(risk.get("description"));
+                    if (key.isEmpty()) {
+                        continue;
+                    }
+                    Map<String, String> existing = risks.get(key);
+                    if (existing == null || levelRank(risk.get("level")) > levelRank(existing.get("level"))) {
+                        risks.put(key, risk);
+                    }
+                }
+            }
+        }
+
+        return LLMAnalysisResult.builder()
+                .summary(String.join(" ", summaries))
+                .keyPoints(keyPoints.stream().limit(MAX_KEY_POINTS).toList())
+                .risks(risks.values().stream()
+                        .sorted(Comparator.comparingInt((Map<String, String> r) -> levelRank(r.get("level"))).reversed())
+                        .limit(MAX_RISKS)
+                        .toList())
+                .recommendations(recommendations.stream().limit(MAX_RECOMMENDATIONS).toList())
+                .confidence(totalLength == 0 ? 0.0 : weightedConfidence / totalLength)
+                .failedChunks(results.size() - usable.size())
+                .build();
+    }
+
+    private static void addDistinct(Set<String> target, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        target.forEach(v -> seen.add(normalize(v)));
+        for (String value : values) {
+            if (value != null && !value.isBlank() && seen.add(normalize(value))) {
+                target.add(value);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int levelRank(String level) {
+        return level == null ? -1 : RISK_LEVELS.indexOf(level.strip().toUpperCase(Locale.ROOT));
+    }
+
+    private Observation llmRequest(String text, int chunk, int chunkCount) {
+        return Observation.createNotStarted(LLM_REQUEST, observationRegistry)
+                .contextualName("llm request")
+                .lowCardinalityKeyValue("chunked", String.valueOf(chunkCount > 1))
+                .highCardinalityKeyValue("llm.chunk", (chunk + 1) + "/" + chunkCount)
+                .highCardinalityKeyValue(PipelineMetrics.TEXT_LENGTH, String.valueOf(text.length()));
     }
 
     private LLMAnalysisResult callLLMAPI(String text, DocumentType documentType, RiskCategory riskCategory) {
         String prompt = buildPrompt(text, documentType, riskCategory);
-        return parseLLMResponse(mockLLMCall(prompt));
+        if (!llmClient.isEnabled()) {
+            return parseLLMResponse(mockLLMCall(prompt));
+        }
+        try {
+            return parseLLMResponse(llmClient.complete(SYSTEM_PROMPT, prompt));
+        } catch (IllegalStateException e) {
+            return failedResult();
+        }
     }
 
     private String buildPrompt(String text, DocumentType documentType, RiskCategory riskCategory) {
         return String.format("""
-                %s
-                
                 Document Type: %s
                 Risk Category: %s
                 
                 Document content:
-                %s""", 
-                SYSTEM_PROMPT,
+                %s""",
                 documentType.getDisplayName(),
                 riskCategory.getDisplayName(),
                 text);
@@ -78,95 +312,47 @@ public class IntentAnalyzer {
                 }""";
     }
 
-    private LLMAnalysisResult parseLLMResponse(String jsonResponse) {
+    static LLMAnalysisResult parseLLMResponse(String jsonResponse) {
+        if (jsonResponse == null || jsonResponse.isBlank()) {
+            return failedResult();
+        }
         try {
-            Map<String, Object> response = parseJsonManually(jsonResponse);
-            
-            return LLMAnalysisResult.builder()
-                    .summary((String) response.get("summary"))
-                    .keyPoints((List<String>) response.get("keyPoints"))
-                    .risks((List<Map<String, String>>) response.get("risks"))
-                    .recommendations((List<String>) response.get("recommendations"))
-                    .confidence(((Number) response.get("confidence")).doubleValue())
-                    .build();
-        } catch (Exception e) {
+            LLMAnalysisResult parsed = RESULT_READER.readValue(stripCodeFence(jsonResponse));
+            if (parsed == null) {
+                return failedResult();
+            }
             return LLMAnalysisResult.builder()
-                    .summary("Analysis failed")
-                    .keyPoints(List.of())
-                    .risks(List.of())
-                    .recommendations(List.of())
-                    .confidence(0.0)
+                    .summary(parsed.getSummary() != null ? parsed.getSummary() : "")
+                    .keyPoints(parsed.getKeyPoints() != null ? parsed.getKeyPoints() : List.of())
+                    .risks(parsed.getRisks() != null ? parsed.getRisks() : List.of())
+                    .recommendations(parsed.getRecommendations() != null ? parsed.getRecommendations() : List.of())
+                    .confidence(parsed.getConfidence() != null ? parsed.getConfidence() : 0.0)
                     .build();
+        } catch (IOException e) {
+            return failedResult();
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> parseJsonManually(String json) {
-        Map<String, Object> result = new HashMap<>();
-        
-        result.put("summary", extractJsonString(json, "summary"));
-        result.put("keyPoints", extractJsonArray(json, "keyPoints"));
-        result.put("risks", extractJsonObjects(json, "risks"));
-        result.put("recommendations", extractJsonArray(json, "recommendations"));
-        result.put("confidence", extractJsonNumber(json, "confidence"));
-        
-        return result;
-    }
-
-    private String extractJsonString(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*)\"";
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(pattern).matcher(json);
-        return m.find() ? m.group(1) : "";
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<String> extractJsonArray(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\\[([^\\]]*)\\]";
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(pattern).matcher(json);
-        if (m.find()) {
-            String content = m.group(1);
-            return Arrays.stream(content.split(","))
-                    .map(s -> s.replaceAll("[\"\\s]", ""))
-                    .filter(s -> !s.isEmpty())
-                    .toList();
+    private static String stripCodeFence(String response) {
+        String trimmed = response.strip();
+        if (!trimmed.startsWith("```")) {
+            return trimmed;
         }
-        return List.of();
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Map<String, String>> extractJsonObjects(String json, String key) {
-        try {
-            String pattern = "\"" + key + "\"\\s*:\\s*\\[([\\s\\S]*?)\\](?=[,}])";
-            java.util.regex.Matcher m = java.util.regex.Pattern.compile(pattern).matcher(json);
-            if (m.find()) {
-                String content = m.group(1);
-                List<Map<String, String>> objects = new java.util.ArrayList<>();
-                
-                String[] objectStrings = content.split("\\}\\s*,\\s*\\{");
-                for (String objStr : objectStrings) {
-                    Map<String, String> obj = new HashMap<>();
-                    obj.put("level", extractQuotedValue(objStr, "level"));
-                    obj.put("description", extractQuotedValue(objStr, "description"));
-                    obj.put("impact", extractQuotedValue(objStr, "impact"));
-                    objects.add(obj);
-                }
-                return objects;
-            }
-        } catch (Exception e) {
-            return List.of();
+        int bodyStart = trimmed.indexOf('\n');
+        int fenceEnd = trimmed.lastIndexOf("```");
+        if (bodyStart < 0 || fenceEnd <= bodyStart) {
+            return trimmed;
         }
-        return List.of();
-    }
-
-    private String extractQuotedValue(String text, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*\"([^\"]*)\"";
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(pattern).matcher(text);
-        return m.find() ? m.group(1) : "";
+        return trimmed.substring(bodyStart + 1, fenceEnd);
     }
 
-    private Double extractJsonNumber(String json, String key) {
-        String pattern = "\"" + key + "\"\\s*:\\s*([\\d.]+)";
-        java.util.regex.Matcher m = java.util.regex.Pattern.compile(pattern).matcher(json);
-        return m.find() ? Double.parseDouble(m.group(1)) : 0.0;
+    private static LLMAnalysisResult failedResult() {
+        return LLMAnalysisResult.builder()
+                .summary("Analysis failed")
+                .keyPoints(List.of())
+                .risks(List.of())
+                .recommendations(List.of())
+                .confidence(0.0)
+                .build();
     }
 }
@@ -24,7 +24,7 @@ public class JsonFormatter {
                     .keyPoints(List.of())
                     .risks(List.of())
                     .recommendations(List.of())
-                    .metadata(buildMetadata(null))
+                    .metadata(buildMetadata(null, 0))
                     .build();
         }
 
@@ -37,7 +37,7 @@ public class JsonFormatter {
                 .keyPoints(result.getKeyPoints() != null ? result.getKeyPoints() : List.of())
                 .risks(formattedRisks)
                 .recommendations(result.getRecommendations() != null ? result.getRecommendations() : List.of())
-                .metadata(buildMetadata(result.getConfidence()))
+                .metadata(buildMetadata(result.getConfidence(), result.getFailedChunks()))
                 .build();
     }
 
@@ -59,13 +59,17 @@ public class JsonFormatter {
                 .build();
     }
 
-    private Map<String, Object> buildMetadata(Double confidence) {
+    private Map<String, Object> buildMetadata(Double confidence, int failedChunks) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("analysisTimestamp", Instant.now().toString());
         metadata.put("analyzerVersion", "1.0.0");
         if (confidence != null) {
             metadata.put("confidenceScore", confidence);
         }
+        if (failedChunks > 0) {
+            metadata.put(AnalysisResponse.INCOMPLETE, true);
+            metadata.put("failedChunks", failedChunks);
+        }
         return metadata;
     }
 }
@@ -0,0 +1,283 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.config.LLMProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Component
+public class LLMClient implements DisposableBean {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LLMProperties properties;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+
+    public LLMClient(LLMProperties properties) {
+        this.properties = properties;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(executor)
+                .build();
+        this.permits = new Semaphore(properties.getMaxConcurrency(), true);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String complete(String systemPrompt, String userPrompt) {
+        HttpRequest request = buildRequest(buildRequestBody(systemPrompt, userPrompt, false));
+        return sendWithRetry(request, HttpResponse.BodyHandlers.ofString(), response -> extractContent(response.body()));
+    }
+
+    /**
+     * Requests a streamed completion and hands each content delta to {@code onDelta} as it
+     * arrives. Retries only happen before the stream starts; the full content is returned.
+     */
+    public String completeStreaming(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        HttpRequest request = buildRequest(buildRequestBody(systemPrompt, userPrompt, true));
+        return sendWithRetry(request, HttpResponse.BodyHandlers.ofLines(), response -> {
+            StringBuilder content = new StringBuilder();
+            try (Stream<String> lines = response.body()) {
+                Iterator<String> iterator = lines.iterator();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    String data = line.substring(5).trim();
+                    if (data.equals("[DONE]")) {
+                        break;
+                    }
+                    String delta = extractDelta(data);
+                    if (!delta.isEmpty()) {
+                        content.append(delta);
+                        onDelta.accept(delta);
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                throw new IllegalStateException("LLM stream was interrupted", e);
+            }
+            return content.toString();
+        });
+    }
+
+    private HttpRequest buildRequest(String body) {
+        return HttpRequest.newBuilder(URI.create(properties.getEndpoint()))
+                .timeout(properties.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + properties.getApiKey())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Sends the request and hands a 2xx response to {@code onSuccess}. A concurrency permit is
+     * held for each attempt and while {@code onSuccess} reads the body, but not while waiting
+     * to retry, so a rate-limited call does not hold back other analyses. Each attempt,
+     * body included, must finish within {@code request-timeout}: a response that does not
+     * arrive in full is retried like an I/O error, and a stream that stalls is closed and
+     * fails the call.
+     */
+    private <T, R> R sendWithRetry(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                   Function<HttpResponse<T>, R> onSuccess) {
+        for (int attempt = 0; ; attempt++) {
+            String retryAfter;
+            acquirePermit();
+            try {
+                long deadline = System.nanoTime() + properties.getRequestTimeout().toNanos();
+                HttpResponse<T> response = send(request, handler);
+                int status = response.statusCode();
+                if (status >= 200 && status < 300) {
+                    return readBody(response, deadline, onSuccess);
+                }
+                discard(response);
+                if (!isRetryable(status) || attempt >= properties.getMaxRetries()) {
+                    throw new IllegalStateException("LLM request failed with HTTP " + status + " after " + (attempt + 1) + " attempts");
+                }
+                retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+            } catch (IOException e) {
+                if (attempt >= properties.getMaxRetries()) {
+                    throw new IllegalStateException("LLM request failed after " + (attempt + 1) + " attempts", e);
+                }
+                retryAfter = null;
+            } finally {
+                permits.release();
+            }
+            backoff(attempt, retryAfter);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(properties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("LLM concurrency limit reached");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an LLM permit", e);
+        }
+    }
+
+    // The future completes once the body handler has the whole body (ofString) or once the
+    // headers are in (ofLines), so a stalled upstream cannot park the caller past the timeout.
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        CompletableFuture<HttpResponse<T>> response = httpClient.sendAsync(request, handler);
+        try {
+            return response.get(properties.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new HttpTimeoutException("LLM response not received within " + properties.getRequestTimeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("LLM request failed", e.getCause());
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling LLM", e);
+        }
+    }
+
+    // Closes a streamed body that is still being read at the deadline, which ends the read
+    // in onSuccess and turns it into a failure.
+    private <T, R> R readBody(HttpResponse<T> response, long deadline, Function<HttpResponse<T>, R> onSuccess) {
+        AtomicBoolean expired = new AtomicBoolean();
+        CompletableFuture<Void> watchdog = CompletableFuture.runAsync(() -> {
+            expired.set(true);
+            discard(response);
+        }, CompletableFuture.delayedExecutor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS, executor));
+        try {
+            R result = onSuccess.apply(response);
+            if (expired.get()) {
+                throw streamTimeout(null);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (expired.get()) {
+                throw streamTimeout(e);
+            }
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+        }
+    }
+
+    private IllegalStateException streamTimeout(Throwable cause) {
+        return new IllegalStateException("LLM response body was not received within "
+                + properties.getRequestTimeout(), cause);
+    }
+
+    private void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable body) {
+            try {
+                body.close();
+            } catch (Exception ignored) {
+                // the connection is released either way
+            }
+        }
+    }
+
+    private boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    // Full jitter: sleep a random time up to base * 2^attempt, but never less than Retry-After.
+    // A Retry-After beyond max-retry-backoff fails the call rather than parking it that long.
+    private void backoff(int attempt, String retryAfter) {
+        long maxBackoff = properties.getMaxRetryBackoff().toMillis();
+        long ceiling = Math.min(maxBackoff, properties.getRetryBackoff().toMillis() << Math.min(attempt, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (retryAfter != null) {
+            long requested;
+            try {
+                requested = Duration.ofSeconds(Long.parseLong(retryAfter.trim())).toMillis();
+            } catch (NumberFormatException | ArithmeticException e) {
+                // HTTP-date values fall back to the jittered delay
+                requested = 0;
+            }
+            if (requested > maxBackoff) {
+                throw new IllegalStateException("LLM asked to retry after " + retryAfter.trim()
+                        + "s, longer than the maximum retry backoff of " + properties.getMaxRetryBackoff());
+            }
+            delay = Math.max(delay, requested);
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry LLM request", e);
+        }
+    }
+
+    private String buildRequestBody(String systemPrompt, String userPrompt, boolean stream) {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("model", properties.getModel());
+        body.put("temperature", 0);
+        if (stream) {
+            body.put("stream", true);
+        }
+        body.putObject("response_format").put("type", "json_object");
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", systemPrompt);
+        messages.addObject().put("role", "user").put("content", userPrompt);
+        return body.toString();
+    }
+
+    private String extractContent(String responseBody) {
+        try {
+            JsonNode content = OBJECT_MAPPER.readTree(responseBody).path("choices").path(0).path("message").path("content");
+            if (!content.isTextual()) {
+                throw new IllegalStateException("LLM response did not contain message content");
+            }
+            return content.asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("LLM response was not valid JSON", e);
+        }
+    }
+
+    private String extractDelta(String chunk) {
+        try {
+            return OBJECT_MAPPER.readTree(chunk).path("choices").path(0).path("delta").path("content").asText("");
+        } catch (IOException e) {
+            throw new IllegalStateException("LLM stream chunk was not valid JSON", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.document.analyzer.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observations for the upload and analysis pipelines. Every run is a
+ * {@value #PIPELINE} observation and every step inside it a {@value #STAGE} observation
+ * tagged with {@code pipeline} and {@code stage}; with the default meter handler each
+ * becomes a timer (tagged with {@code error} on failure) plus an {@code .active} long task
+ * timer that reports the work currently in flight, and with tracing enabled each is a span.
+ * Document size and extracted text length are recorded as distribution summaries and, like
+ * the document id, added to the current span as high-cardinality attributes.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String PIPELINE = "document.pipeline";
+    public static final String STAGE = "document.pipeline.stage";
+
+    public static final String UPLOAD = "upload";
+    public static final String ANALYSIS = "analysis";
+
+    public static final String DOCUMENT_ID = "document.id";
+    public static final String FILE_SIZE = "document.file.size";
+    public static final String TEXT_LENGTH = "document.text.length";
+
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary documentSize;
+    private final DistributionSummary textLength;
+
+    public PipelineMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.documentSize = DistributionSummary.builder("document.size")
+                .description("Size of uploaded documents")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.textLength = DistributionSummary.builder("document.text.length")
+                .description("Length of text extracted from or submitted for analysis")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T, E extends Throwable> T pipeline(String pipeline, Observation.CheckedCallable<T, E> run) throws E {
+        return Observation.createNotStarted(PIPELINE, observationRegistry)
+                .contextualName(pipeline)
+                .lowCardinalityKeyValue("pipeline", pipeline)
+                .observeChecked(run);
+    }
+
+    public <T, E extends Throwable> T stage(String pipeline, String stage, Observation.CheckedCallable<T, E> run) throws E {
+        return Observation.createNotStarted(STAGE, observationRegistry)
+                .contextualName(pipeline + " " + stage)
+                .lowCardinalityKeyValue("pipeline", pipeline)
+                .lowCardinalityKeyValue("stage", stage)
+                .observeChecked(run);
+    }
+
+    public void recordDocumentSize(long bytes) {
+        documentSize.record(bytes);
+        tag(FILE_SIZE, bytes);
+    }
+
+    public void recordTextLength(String text) {
+        if (text != null) {
+            textLength.record(text.length());
+            tag(TEXT_LENGTH, text.length());
+        }
+    }
+
+    /**
+     * Adds an attribute to the observation currently in scope. High-cardinality values end
+     * up on the span only, never as a timer tag.
+     */
+    public void tag(String key, Object value) {
+        Observation current = observationRegistry.getCurrentObservation();
+        if (current != null && value != null) {
+            current.highCardinalityKeyValue(key, String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.ReanalysisJob;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.repository.ReanalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent side of corpus re-analysis: job rows, document chunks and chunk writes.
+ * Each chunk's results and its checkpoint commit together, so a crash loses at most the
+ * chunk in flight and a resumed run never re-scores a document twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReanalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReanalysisJobRepository reanalysisJobRepository;
+    private final DocumentRepository documentRepository;
+    private final ClassificationService classificationService;
+    private final RiskAnalysisService riskAnalysisService;
+
+    public ReanalysisJob createJob(RiskAnalysis.AnalysisFramework framework) {
+        if (reanalysisJobRepository.existsByStatus(ReanalysisJob.Status.RUNNING)) {
+            throw new JobConflictException("A re-analysis job is already running");
+        }
+        Long maxDocumentId = Optional.ofNullable(documentRepository.findMaxId()).orElse(0L);
+        long total = documentRepository.countByProcessingStatusAndIdLessThanEqual(
+                Document.ProcessingStatus.COMPLETED, maxDocumentId);
+
+        return reanalysisJobRepository.save(ReanalysisJob.builder()
+                .status(ReanalysisJob.Status.RUNNING)
+                .framework(framework)
+                .maxDocumentId(maxDocumentId)
+                .lastDocumentId(0L)
+                .total(total)
+                .processed(0L)
+                .failed(0L)
+                .runStartProcessed(0L)
+                .runStartedAt(LocalDateTime.now())
+                .build());
+    }
+
+    public ReanalysisJob restartJob(Long jobId) {
+        ReanalysisJob job = getJob(jobId);
+        if (job.getStatus() == ReanalysisJob.Status.COMPLETED) {
+            throw new JobConflictException("Re-analysis job " + jobId + " has already completed");
+        }
+        if (reanalysisJobRepository.existsByStatusAndIdNot(ReanalysisJob.Status.RUNNING, jobId)) {
+            throw new JobConflictException("A re-analysis job is already running");
+        }
+        job.setStatus(ReanalysisJob.Status.RUNNING);
+        job.setRunStartProcessed(job.getProcessed());
+        job.setRunStartedAt(LocalDateTime.now());
+        job.setError(null);
+        job.setFinishedAt(null);
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Document> nextChunk(ReanalysisJob job, Long afterDocumentId, int size) {
+        return documentRepository.findWithContentByStatusInIdRange(Document.ProcessingStatus.COMPLETED,
+                afterDocumentId, job.getMaxDocumentId(), PageRequest.ofSize(size));
+    }
+
+    public void writeChunk(Long jobId, List<Classification> classifications, List<RiskAnalysis> analyses,
+                           Long lastDocumentId, int failed) {
+        classificationService.applyReclassifications(classifications);
+        riskAnalysisService.applyReanalyses(analyses);
+
+        ReanalysisJob job = getJob(jobId);
+        job.setLastDocumentId(lastDocumentId);
+        job.setProcessed(job.getProcessed() + analyses.size());
+        job.setFailed(job.getFailed() + failed);
+    }
+
+    public ReanalysisJob finishJob(Long jobId, ReanalysisJob.Status status, String error) {
+        ReanalysisJob job = getJob(jobId);
+        job.setStatus(status);
+        job.setError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+        job.setFinishedAt(LocalDateTime.now());
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReanalysisJob> findJob(Long jobId) {
+        return reanalysisJobRepository.findById(jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReanalysisJob> findLatestJob() {
+        return reanalysisJobRepository.findFirstByOrderByIdDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReanalysisJob> findRunningJobs() {
+        return reanalysisJobRepository.findByStatus(ReanalysisJob.Status.RUNNING);
+    }
+
+    private ReanalysisJob getJob(Long jobId) {
+        return reanalysisJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Re-analysis job not found"));
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public static class JobConflictException extends IllegalStateException {
+        public JobConflictException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.ReanalysisJobStatus;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.ReanalysisJob;
+import com.document.analyzer.entity.RiskAnalysis;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Re-scores every completed document after the classification or risk rules change.
+ * Documents are read in id order in chunks of {@code app.reanalysis.chunk-size}; while one
+ * chunk is classified and analyzed on the worker pool the next one is already being read,
+ * and each chunk is written in one transaction together with its checkpoint. Jobs left
+ * running by a previous process are picked up again at startup.
+ */
+@Slf4j
+@Service
+public class ReanalysisRunner {
+
+    private final ReanalysisJobService reanalysisJobService;
+    private final ClassificationService classificationService;
+    private final RiskAnalysisService riskAnalysisService;
+    private final TaskExecutor reanalysisJobExecutor;
+    private final TaskExecutor reanalysisExecutor;
+    private final int chunkSize;
+    private final boolean resumeOnStartup;
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> cancelRequests = ConcurrentHashMap.newKeySet();
+    // not synchronized: the guarded sections run queries, which would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ReanalysisRunner(ReanalysisJobService reanalysisJobService,
+                            ClassificationService classificationService,
+                            RiskAnalysisService riskAnalysisService,
+                            @Qualifier("reanalysisJobExecutor") TaskExecutor reanalysisJobExecutor,
+                            @Qualifier("reanalysisExecutor") TaskExecutor reanalysisExecutor,
+                            @Value("${app.reanalysis.chunk-size:500}") int chunkSize,
+                            @Value("${app.reanalysis.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.reanalysisJobService = reanalysisJobService;
+        this.classificationService = classificationService;
+        this.riskAnalysisService = riskAnalysisService;
+        this.reanalysisJobExecutor = reanalysisJobExecutor;
+        this.reanalysisExecutor = reanalysisExecutor;
+        this.chunkSize = chunkSize;
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    public ReanalysisJobStatus start(RiskAnalysis.AnalysisFramework framework) {
+        lock.lock();
+        try {
+            ReanalysisJob job = reanalysisJobService.createJob(framework);
+            launch(job);
+            return ReanalysisJobStatus.from(job, LocalDateTime.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ReanalysisJobStatus resume(Long jobId) {
+        lock.lock();
+        try {
+            if (activeJobs.contains(jobId)) {
+                throw new ReanalysisJobService.JobConflictException("Re-analysis job " + jobId + " is already running");
+            }
+            ReanalysisJob job = reanalysisJobService.restartJob(jobId);
+            launch(job);
+            return ReanalysisJobStatus.from(job, LocalDateTime.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops a running job after the chunk in flight is written. A job marked running that no
+     * thread is working on, such as one orphaned by a crash, is cancelled straight away.
+     */
+    public ReanalysisJobStatus cancel(Long jobId) {
+        lock.lock();
+        try {
+            ReanalysisJob job;
+            if (activeJobs.contains(jobId)) {
+                cancelRequests.add(jobId);
+                job = reanalysisJobService.findJob(jobId).orElseThrow();
+            } else {
+                job = reanalysisJobService.findJob(jobId)
+                        .orElseThrow(() -> new RuntimeException("Re-analysis job not found"));
+                if (job.getStatus() == ReanalysisJob.Status.RUNNING) {
+                    job = reanalysisJobService.finishJob(jobId, ReanalysisJob.Status.CANCELLED, null);
+                }
+            }
+            return ReanalysisJobStatus.from(job, LocalDateTime.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (ReanalysisJob job : reanalysisJobService.findRunningJobs()) {
+                log.info("Resuming re-analysis job {} after document {}", job.getId(), job.getLastDocumentId());
+                launch(reanalysisJobService.restartJob(job.getId()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void launch(ReanalysisJob job) {
+        activeJobs.add(job.getId());
+        try {
+            reanalysisJobExecutor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            activeJobs.remove(job.getId());
+            reanalysisJobService.finishJob(job.getId(), ReanalysisJob.Status.FAILED, e.getMessage());
+            throw e;
+        }
+    }
+
+    void run(ReanalysisJob job) {
+        Long jobId = job.getId();
+        try {
+            List<Document> chunk = reanalysisJobService.nextChunk(job, job.getLastDocumentId(), chunkSize);
+            while (!chunk.isEmpty()) {
+                if (cancelRequests.remove(jobId)) {
+                    reanalysisJobService.finishJob(jobId, ReanalysisJob.Status.CANCELLED, null);
+                    log.info("Re-analysis job {} cancelled", jobId);
+                    return;
+                }
+                List<CompletableFuture<Rescored>> results = chunk.stream()
+                        .map(document -> CompletableFuture.supplyAsync(
+                                () -> rescore(document, job.getFramework()), reanalysisExecutor))
+                        .toList();
+                Long lastDocumentId = chunk.get(chunk.size() - 1).getId();
+                List<Document> next = reanalysisJobService.nextChunk(job, lastDocumentId, chunkSize);
+
+                List<Classification> classifications = new ArrayList<>(chunk.size());
+                List<RiskAnalysis> analyses = new ArrayList<>(chunk.size());
+                for (CompletableFuture<Rescored> result : results) {
+                    Rescored rescored = result.join();
+                    if (rescored != null) {
+                        classifications.add(rescored.classification());
+                        analyses.add(rescored.analysis());
+                    }
+                }
+                reanalysisJobService.writeChunk(jobId, classifications, analyses, lastDocumentId,
+                        chunk.size() - analyses.size());
+                chunk = next;
+            }
+            reanalysisJobService.finishJob(jobId, ReanalysisJob.Status.COMPLETED, null);
+            log.info("Re-analysis job {} completed", jobId);
+        } catch (RuntimeException e) {
+            log.error("Re-analysis job {} failed", jobId, e);
+            reanalysisJobService.finishJob(jobId, ReanalysisJob.Status.FAILED,
+                    Objects.requireNonNullElse(e.getMessage(), e.getClass().getName()));
+        } finally {
+            activeJobs.remove(jobId);
+            cancelRequests.remove(jobId);
+        }
+    }
+
+    private Rescored rescore(Document document, RiskAnalysis.AnalysisFramework framework) {
+        try {
+            return new Rescored(classificationService.buildClassification(document),
+                    riskAnalysisService.buildAnalysis(document, framework));
+        } catch (RuntimeException e) {
+            log.warn("Re-analysis failed for document {}", document.getId(), e);
+            return null;
+        }
+    }
+
+    private record Rescored(Classification classification, RiskAnalysis analysis) {
+    }
+}
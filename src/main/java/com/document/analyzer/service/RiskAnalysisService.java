@@ -1,64 +1,165 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.domain.CursorPage;
 import com.document.analyzer.entity.Document;
 import com.document.analyzer.entity.RiskAnalysis;
 import com.document.analyzer.entity.User;
 import com.document.analyzer.repository.DocumentRepository;
 import com.document.analyzer.repository.RiskAnalysisRepository;
 import com.document.analyzer.repository.UserRepository;
+import com.document.analyzer.util.KeywordMatcher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RiskAnalysisService {
 
+    enum RiskKeyword {
+        CREDENTIALS, PII, PII_CONTACT, FINANCIAL, FINANCIAL_ACCOUNT,
+        HEALTH, HEALTH_TREATMENT, CONFIDENTIAL, LEGAL, LEGAL_GENERAL
+    }
+
+    static final KeywordMatcher<RiskKeyword> RISK_KEYWORDS = KeywordMatcher.builder(RiskKeyword.class)
+            .add(RiskKeyword.CREDENTIALS, "password", "api key", "api_key", "secret", "token", "credential")
+            .add(RiskKeyword.PII, "personal data", "pii", "ssn", "social security", "email address")
+            .add(RiskKeyword.PII_CONTACT, "phone number")
+            .add(RiskKeyword.FINANCIAL, "credit card", "bank account", "financial", "payment")
+            .add(RiskKeyword.FINANCIAL_ACCOUNT, "bank", "account number")
+            .add(RiskKeyword.HEALTH, "medical", "health", "diagnosis", "patient", "prescription")
+            .add(RiskKeyword.HEALTH_TREATMENT, "treatment")
+            .add(RiskKeyword.CONFIDENTIAL, "confidential", "restricted", "proprietary")
+            .add(RiskKeyword.LEGAL, "nda", "non-disclosure", "agreement", "contract")
+            .add(RiskKeyword.LEGAL_GENERAL, "legal")
+            .build();
+
     private final RiskAnalysisRepository riskAnalysisRepository;
     private final DocumentRepository documentRepository;
     private final UserRepository userRepository;
+    private final RiskStatsService riskStatsService;
 
     public RiskAnalysis analyzeDocumentRisk(Long documentId, RiskAnalysis.AnalysisFramework framework) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
 
-        float riskScore = calculateRiskScore(document);
+        return saveNew(buildAnalysis(document, framework));
+    }
+
+    /**
+     * Computes the risk analysis for a document without touching the database, so bulk
+     * ingestion can analyze on worker threads and persist the results in batches.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public RiskAnalysis buildAnalysis(Document document, RiskAnalysis.AnalysisFramework framework) {
+        KeywordMatcher.Matches<RiskKeyword> matches = RISK_KEYWORDS.match(document.getExtractedText());
+        float riskScore = calculateRiskScore(document, matches);
         RiskAnalysis.RiskLevel riskLevel = determineRiskLevel(riskScore);
-        String identifiedRisks = generateIdentifiedRisks(document, riskLevel);
+        String identifiedRisks = generateIdentifiedRisks(document, matches, riskLevel);
         String mitigationRecommendations = generateMitigationRecommendations(riskLevel);
 
-        RiskAnalysis analysis = RiskAnalysis.builder()
+        return RiskAnalysis.builder()
                 .document(document)
                 .overallRiskLevel(riskLevel)
                 .riskScore(riskScore)
                 .identifiedRisks(identifiedRisks)
                 .mitigationRecommendations(mitigationRecommendations)
-                .rawAnalysisResult(String.format("Risk Analysis using %s framework: Score %.2f, Level: %s", framework, riskScore, riskLevel))
+                .rawAnalysisResult(String.format("Risk Analysis using %s framework: Score %.2f, Level: %s%s",
+                        framework, riskScore, riskLevel, formatKeywordHits(matches)))
                 .framework(framework)
                 .reviewed(false)
                 .build();
+    }
 
-        return riskAnalysisRepository.save(analysis);
+    public List<RiskAnalysis> saveAll(List<RiskAnalysis> analyses) {
+        List<RiskAnalysis> saved = riskAnalysisRepository.saveAll(analyses);
+        riskStatsService.record(new RiskStatsService.Delta().addAnalyses(saved));
+        return saved;
+    }
+
+    /**
+     * Writes recomputed analyses over each document's latest analysis, inserting one where a
+     * document has none. A review only stands while the risk level it signed off is unchanged.
+     */
+    public void applyReanalyses(List<RiskAnalysis> analyses) {
+        Map<Long, RiskAnalysis> latest = riskAnalysisRepository.findByDocumentIdIn(
+                        analyses.stream().map(a -> a.getDocument().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(a -> a.getDocument().getId(), Function.identity(),
+                        BinaryOperator.maxBy(Comparator.comparing(RiskAnalysis::getId))));
+
+        RiskStatsService.Delta delta = new RiskStatsService.Delta();
+        List<RiskAnalysis> created = new ArrayList<>();
+        for (RiskAnalysis analysis : analyses) {
+            RiskAnalysis existing = latest.get(analysis.getDocument().getId());
+            if (existing == null) {
+                created.add(analysis);
+                continue;
+            }
+            delta.remove(existing);
+            if (existing.getOverallRiskLevel() != analysis.getOverallRiskLevel()) {
+                existing.setReviewed(false);
+                existing.setReviewNotes(null);
+                existing.setReviewedByUser(null);
+            }
+            existing.setOverallRiskLevel(analysis.getOverallRiskLevel());
+            existing.setRiskScore(analysis.getRiskScore());
+            existing.setIdentifiedRisks(analysis.getIdentifiedRisks());
+            existing.setMitigationRecommendations(analysis.getMitigationRecommendations());
+            existing.setRawAnalysisResult(analysis.getRawAnalysisResult());
+            existing.setFramework(analysis.getFramework());
+            delta.add(existing);
+        }
+        delta.addAnalyses(riskAnalysisRepository.saveAll(created));
+        riskStatsService.record(delta);
+    }
+
+    public Optional<RiskAnalysis> copyAnalysis(Long sourceDocumentId, Document target) {
+        return riskAnalysisRepository.findByDocumentId(sourceDocumentId)
+                .map(source -> saveNew(RiskAnalysis.builder()
+                        .document(target)
+                        .overallRiskLevel(source.getOverallRiskLevel())
+                        .riskScore(source.getRiskScore())
+                        .identifiedRisks(source.getIdentifiedRisks())
+                        .mitigationRecommendations(source.getMitigationRecommendations())
+                        .rawAnalysisResult(source.getRawAnalysisResult())
+                        .framework(source.getFramework())
+                        .reviewed(false)
+                        .build()));
     }
 
     public Optional<RiskAnalysis> getAnalysisForDocument(Long documentId) {
         return riskAnalysisRepository.findByDocumentId(documentId);
     }
 
-    public List<RiskAnalysis> getAnalysisByRiskLevel(RiskAnalysis.RiskLevel level) {
-        return riskAnalysisRepository.findByOverallRiskLevel(level);
+    public CursorPage<RiskAnalysis> getAnalysisByRiskLevel(RiskAnalysis.RiskLevel level, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findByOverallRiskLevelAndIdLessThanOrderByIdDesc(
+                level, CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
-    public List<RiskAnalysis> getHighRiskAnalyses(Float minScore) {
-        return riskAnalysisRepository.findByRiskScoreGreaterThan(minScore);
+    public CursorPage<RiskAnalysis> getHighRiskAnalyses(Float minScore, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findByRiskScoreGreaterThanAndIdLessThanOrderByIdDesc(
+                minScore, CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
-    public List<RiskAnalysis> getUnreviewedAnalyses() {
-        return riskAnalysisRepository.findByReviewed(false);
+    public CursorPage<RiskAnalysis> getUnreviewedAnalyses(String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findByReviewedFalseAndIdLessThanOrderByIdDesc(
+                CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
     public RiskAnalysis reviewAnalysis(Long analysisId, Long reviewerUserId, String reviewNotes) {
@@ -67,9 +168,11 @@ public class RiskAnalysisService {
 
         return riskAnalysisRepository.findById(analysisId)
                 .map(analysis -> {
+                    RiskStatsService.Delta delta = new RiskStatsService.Delta().remove(analysis);
                     analysis.setReviewed(true);
                     analysis.setReviewNotes(reviewNotes);
                     analysis.setReviewedByUser(reviewer);
+                    riskStatsService.record(delta.add(analysis));
                     return riskAnalysisRepository.save(analysis);
                 })
                 .orElseThrow(() -> new RuntimeException("Analysis not found"));
@@ -78,68 +181,76 @@ public class RiskAnalysisService {
     public RiskAnalysis updateRiskLevel(Long analysisId, RiskAnalysis.RiskLevel newLevel) {
         return riskAnalysisRepository.findById(analysisId)
                 .map(analysis -> {
+                    RiskStatsService.Delta delta = new RiskStatsService.Delta().remove(analysis);
                     analysis.setOverallRiskLevel(newLevel);
+                    riskStatsService.record(delta.add(analysis));
                     return riskAnalysisRepository.save(analysis);
                 })
                 .orElseThrow(() -> new RuntimeException("Analysis not found"));
     }
 
-    public List<RiskAnalysis> getAnalysesByFramework(RiskAnalysis.AnalysisFramework framework) {
-        return riskAnalysisRepository.findByFramework(framework);
+    public CursorPage<RiskAnalysis> getAnalysesByFramework(
+            RiskAnalysis.AnalysisFramework framework, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findByFrameworkAndIdLessThanOrderByIdDesc(
+                framework, CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
-    public List<RiskAnalysis> getAnalysesReviewedBy(Long userId) {
-        return riskAnalysisRepository.findByReviewedByUserId(userId);
+    public CursorPage<RiskAnalysis> getAnalysesReviewedBy(Long userId, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findByReviewedByUserIdAndIdLessThanOrderByIdDesc(
+                userId, CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
-    public List<RiskAnalysis> getPendingReviewsForUser(Long userId) {
-        return riskAnalysisRepository.findByDocumentUploadedByIdAndReviewedFalse(userId);
+    public CursorPage<RiskAnalysis> getPendingReviewsForUser(Long userId, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(riskAnalysisRepository.findUnreviewedByUploaderId(
+                userId, CursorPage.beforeId(cursor), request), request, RiskAnalysis::getId);
     }
 
-    private float calculateRiskScore(Document document) {
+    private RiskAnalysis saveNew(RiskAnalysis analysis) {
+        RiskAnalysis saved = riskAnalysisRepository.save(analysis);
+        riskStatsService.record(new RiskStatsService.Delta().add(saved));
+        return saved;
+    }
+
+    private float calculateRiskScore(Document document, KeywordMatcher.Matches<RiskKeyword> matches) {
         String fileName = document.getFileName() != null ? document.getFileName().toLowerCase() : "";
-        String content = document.getExtractedText() != null ? document.getExtractedText().toLowerCase() : "";
-        
+
         float riskScore = 0.05f;
-        
-        if (content.contains("password") || content.contains("api key") || content.contains("api_key") || 
-            content.contains("secret") || content.contains("token") || content.contains("credential")) {
+
+        if (matches.contains(RiskKeyword.CREDENTIALS)) {
             riskScore += 0.35f;
         }
-        
-        if (content.contains("personal data") || content.contains("pii") || content.contains("ssn") || 
-            content.contains("social security") || content.contains("email address")) {
+
+        if (matches.contains(RiskKeyword.PII)) {
             riskScore += 0.30f;
         }
-        
-        if (content.contains("credit card") || content.contains("bank account") || 
-            content.contains("financial") || content.contains("payment")) {
+
+        if (matches.contains(RiskKeyword.FINANCIAL)) {
             riskScore += 0.35f;
         }
-        
-        if (content.contains("medical") || content.contains("health") || content.contains("diagnosis") || 
-            content.contains("patient") || content.contains("prescription")) {
+
+        if (matches.contains(RiskKeyword.HEALTH)) {
             riskScore += 0.30f;
         }
-        
-        if (content.contains("confidential") || content.contains("restricted") || content.contains("proprietary")) {
+
+        if (matches.contains(RiskKeyword.CONFIDENTIAL)) {
             riskScore += 0.25f;
         }
-        
-        if (content.contains("nda") || content.contains("non-disclosure") || content.contains("agreement") || 
-            content.contains("contract")) {
+
+        if (matches.contains(RiskKeyword.LEGAL)) {
             riskScore += 0.20f;
         }
-        
-        if (fileName.endsWith(".json") || fileName.endsWith(".csv") || 
-            fileName.endsWith(".xlsx") || fileName.endsWith(".xml")) {
+
+        if (isStructuredDataFile(fileName)) {
             riskScore += 0.15f;
         }
-        
-        if (content.length() < 100) {
+
+        if (matches.scannedLength() < 100) {
             riskScore -= 0.05f;
         }
-        
+
         return Math.min(1.0f, Math.max(0.05f, riskScore));
     }
 
@@ -157,53 +268,48 @@ public class RiskAnalysisService {
         }
     }
 
-    private String generateIdentifiedRisks(Document document, RiskAnalysis.RiskLevel level) {
+    private String generateIdentifiedRisks(Document document, KeywordMatcher.Matches<RiskKeyword> matches,
+                                           RiskAnalysis.RiskLevel level) {
         StringBuilder risks = new StringBuilder();
         String fileName = document.getFileName() != null ? document.getFileName().toLowerCase() : "";
-        String content = document.getExtractedText() != null ? document.getExtractedText().toLowerCase() : "";
-        
+
         boolean hasActualRisks = false;
-        
-        if (content.contains("password") || content.contains("api key") || content.contains("api_key") || 
-            content.contains("secret") || content.contains("token") || content.contains("credential")) {
+
+        if (matches.contains(RiskKeyword.CREDENTIALS)) {
             risks.append("- Potential credentials, API keys, or security tokens detected in document\n");
             hasActualRisks = true;
         }
-        
-        if (content.contains("confidential") || content.contains("restricted") || content.contains("proprietary")) {
+
+        if (matches.contains(RiskKeyword.CONFIDENTIAL)) {
             risks.append("- Document contains proprietary or confidential information\n");
             hasActualRisks = true;
         }
-        
-        if (content.contains("personal data") || content.contains("pii") || content.contains("ssn") || 
-            content.contains("social security") || content.contains("email address") || content.contains("phone number")) {
+
+        if (matches.contains(RiskKeyword.PII) || matches.contains(RiskKeyword.PII_CONTACT)) {
             risks.append("- Personally Identifiable Information (PII) or personal data detected\n");
             hasActualRisks = true;
         }
-        
-        if (content.contains("credit card") || content.contains("bank") || content.contains("account number") ||
-            content.contains("financial") || content.contains("payment")) {
+
+        if (matches.contains(RiskKeyword.FINANCIAL) || matches.contains(RiskKeyword.FINANCIAL_ACCOUNT)) {
             risks.append("- Financial or payment information may be present\n");
             hasActualRisks = true;
         }
-        
-        if (content.contains("medical") || content.contains("health") || content.contains("diagnosis") || 
-            content.contains("treatment") || content.contains("patient") || content.contains("prescription")) {
+
+        if (matches.contains(RiskKeyword.HEALTH) || matches.contains(RiskKeyword.HEALTH_TREATMENT)) {
             risks.append("- Protected Health Information (PHI) or medical records detected\n");
             hasActualRisks = true;
         }
-        
-        if (content.contains("nda") || content.contains("non-disclosure") || content.contains("agreement") || 
-            content.contains("contract") || content.contains("legal")) {
+
+        if (matches.contains(RiskKeyword.LEGAL) || matches.contains(RiskKeyword.LEGAL_GENERAL)) {
             risks.append("- Legal agreements or confidentiality clauses present\n");
             hasActualRisks = true;
         }
-        
-        if (fileName.endsWith(".json") || fileName.endsWith(".csv") || fileName.endsWith(".xlsx") || fileName.endsWith(".xml")) {
+
+        if (isStructuredDataFile(fileName)) {
             risks.append("- Structured data format detected - verify access controls on data repository\n");
             hasActualRisks = true;
         }
-        
+
         if (level == RiskAnalysis.RiskLevel.CRITICAL) {
             risks.append("- CRITICAL: Immediate remediation action required\n");
             hasActualRisks = true;
@@ -221,6 +327,20 @@ public class RiskAnalysisService {
         return risks.toString();
     }
 
+    private boolean isStructuredDataFile(String fileName) {
+        return fileName.endsWith(".json") || fileName.endsWith(".csv") ||
+               fileName.endsWith(".xlsx") || fileName.endsWith(".xml");
+    }
+
+    private String formatKeywordHits(KeywordMatcher.Matches<RiskKeyword> matches) {
+        if (matches.counts().isEmpty()) {
+            return "";
+        }
+        StringBuilder hits = new StringBuilder(", Keyword hits:");
+        matches.counts().forEach((keyword, count) -> hits.append(' ').append(keyword).append('=').append(count));
+        return hits.toString();
+    }
+
     private String generateMitigationRecommendations(RiskAnalysis.RiskLevel level) {
         if (level == RiskAnalysis.RiskLevel.CRITICAL) {
             return "Immediate action required:\n- Quarantine document from unsecured access\n- Conduct emergency security audit\n- Implement strict access controls (need-to-know basis)\n- Notify security team and relevant stakeholders\n- Consider data classification and encryption";
@@ -0,0 +1,239 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.RiskStatistics;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.RiskStatCounter;
+import com.document.analyzer.repository.ClassificationRepository;
+import com.document.analyzer.repository.RiskAnalysisRepository;
+import com.document.analyzer.repository.RiskStatCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the counters behind the risk statistics. Writers describe what they changed as a
+ * {@link Delta}; deltas recorded during a transaction are merged and written in one batch
+ * just before it commits, so each counter row is locked only for the commit and once per
+ * transaction however many analyses it touched.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RiskStatsService {
+
+    private static final String REVIEWED = "REVIEWED";
+    private static final String PENDING = "PENDING";
+
+    private final RiskStatCounterRepository riskStatCounterRepository;
+    private final RiskAnalysisRepository riskAnalysisRepository;
+    private final ClassificationRepository classificationRepository;
+
+    public void record(Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            riskStatCounterRepository.increment(delta.counts);
+            return;
+        }
+        Delta pending = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Delta();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingDeltaFlush(pending));
+        }
+        pending.merge(delta);
+    }
+
+    /**
+     * Records the classifications and analyses that the database is about to delete by
+     * cascade along with the given document.
+     */
+    public void recordDocumentRemoval(Long documentId) {
+        Delta delta = new Delta();
+        classificationRepository.findByDocumentIdIn(List.of(documentId)).forEach(delta::remove);
+        riskAnalysisRepository.findByDocumentIdIn(List.of(documentId)).forEach(delta::remove);
+        record(delta);
+    }
+
+    /**
+     * Records the cascade of deleting a user: everything on the documents they uploaded goes,
+     * and analyses they reviewed on other users' documents lose their reviewer.
+     */
+    public void recordUserRemoval(Long userId) {
+        Delta delta = new Delta();
+        classificationRepository.findByDocumentUploadedById(userId).forEach(delta::remove);
+        riskAnalysisRepository.findByDocumentUploadedById(userId).forEach(delta::remove);
+        delta.count(RiskStatCounter.Dimension.REVIEWER, userId.toString(),
+                -riskAnalysisRepository.countByReviewedByUserIdAndDocumentUploadedByIdNot(userId, userId));
+        record(delta);
+    }
+
+    public void rebuild() {
+        riskStatCounterRepository.rebuild();
+    }
+
+    @Transactional(readOnly = true)
+    public RiskStatistics getStatistics(int days) {
+        Map<RiskAnalysis.RiskLevel, Long> byRiskLevel = zeroed(RiskAnalysis.RiskLevel.class);
+        Map<RiskAnalysis.AnalysisFramework, Long> byFramework = zeroed(RiskAnalysis.AnalysisFramework.class);
+        Map<Classification.DocumentCategory, Long> byCategory = zeroed(Classification.DocumentCategory.class);
+        Map<Long, Long> byReviewer = new TreeMap<>();
+        Map<String, Long> byReviewStatus = new HashMap<>();
+
+        for (RiskStatCounter counter : riskStatCounterRepository.findByKeyDimensionNot(RiskStatCounter.Dimension.DAY)) {
+            String bucket = counter.getKey().getBucket();
+            switch (counter.getKey().getDimension()) {
+                case RISK_LEVEL -> putKnown(byRiskLevel, RiskAnalysis.RiskLevel.class, bucket, counter.getTotal());
+                case FRAMEWORK -> putKnown(byFramework, RiskAnalysis.AnalysisFramework.class, bucket, counter.getTotal());
+                case CATEGORY -> putKnown(byCategory, Classification.DocumentCategory.class, bucket, counter.getTotal());
+                case REVIEW_STATUS -> byReviewStatus.put(bucket, counter.getTotal());
+                case REVIEWER -> {
+                    if (counter.getTotal() > 0) {
+                        byReviewer.put(Long.valueOf(bucket), counter.getTotal());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        Map<LocalDate, Long> byDay = new TreeMap<>();
+        LocalDate from = LocalDate.now().minusDays(Math.max(0, days - 1));
+        for (RiskStatCounter counter : riskStatCounterRepository.findByKeyDimensionAndKeyBucketGreaterThanEqual(
+                RiskStatCounter.Dimension.DAY, from.toString())) {
+            if (counter.getTotal() > 0) {
+                byDay.put(LocalDate.parse(counter.getKey().getBucket()), counter.getTotal());
+            }
+        }
+
+        long reviewed = byReviewStatus.getOrDefault(REVIEWED, 0L);
+        long pending = byReviewStatus.getOrDefault(PENDING, 0L);
+        return RiskStatistics.builder()
+                .totalAnalyses(reviewed + pending)
+                .reviewed(reviewed)
+                .pendingReview(pending)
+                .totalClassifications(byCategory.values().stream().mapToLong(Long::longValue).sum())
+                .byRiskLevel(byRiskLevel)
+                .byFramework(byFramework)
+                .byCategory(byCategory)
+                .byReviewer(byReviewer)
+                .byDay(byDay)
+                .build();
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroed(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        Arrays.stream(type.getEnumConstants()).forEach(value -> counts.put(value, 0L));
+        return counts;
+    }
+
+    // buckets of enum constants that have since been renamed or removed are left out
+    private static <E extends Enum<E>> void putKnown(Map<E, Long> counts, Class<E> type, String bucket, long total) {
+        Arrays.stream(type.getEnumConstants())
+                .filter(value -> value.name().equals(bucket))
+                .findFirst()
+                .ifPresent(value -> counts.put(value, total));
+    }
+
+    /**
+     * Net counter changes. Updating an entity is recorded as {@code remove} before the change
+     * and {@code add} after it, so only the buckets it actually moved between are written.
+     */
+    public static final class Delta {
+        private final Map<RiskStatCounter.Key, Long> counts = new HashMap<>();
+
+        public Delta add(RiskAnalysis analysis) {
+            return change(analysis, 1);
+        }
+
+        public Delta remove(RiskAnalysis analysis) {
+            return change(analysis, -1);
+        }
+
+        public Delta add(Classification classification) {
+            return count(RiskStatCounter.Dimension.CATEGORY, classification.getCategory(), 1);
+        }
+
+        public Delta remove(Classification classification) {
+            return count(RiskStatCounter.Dimension.CATEGORY, classification.getCategory(), -1);
+        }
+
+        public Delta addAnalyses(Collection<RiskAnalysis> analyses) {
+            analyses.forEach(this::add);
+            return this;
+        }
+
+        public Delta addClassifications(Collection<Classification> classifications) {
+            classifications.forEach(this::add);
+            return this;
+        }
+
+        boolean isEmpty() {
+            return counts.values().stream().allMatch(total -> total == 0);
+        }
+
+        private Delta change(RiskAnalysis analysis, long sign) {
+            boolean reviewed = Boolean.TRUE.equals(analysis.getReviewed());
+            count(RiskStatCounter.Dimension.RISK_LEVEL, analysis.getOverallRiskLevel(), sign);
+            count(RiskStatCounter.Dimension.FRAMEWORK, analysis.getFramework(), sign);
+            count(RiskStatCounter.Dimension.REVIEW_STATUS, reviewed ? REVIEWED : PENDING, sign);
+            if (reviewed && analysis.getReviewedByUser() != null) {
+                count(RiskStatCounter.Dimension.REVIEWER, analysis.getReviewedByUser().getId(), sign);
+            }
+            LocalDate day = analysis.getCreatedAt() != null ? analysis.getCreatedAt().toLocalDate() : LocalDate.now();
+            return count(RiskStatCounter.Dimension.DAY, day, sign);
+        }
+
+        Delta count(RiskStatCounter.Dimension dimension, Object bucket, long delta) {
+            if (bucket != null && delta != 0) {
+                counts.merge(new RiskStatCounter.Key(dimension, bucket.toString()), delta, Long::sum);
+            }
+            return this;
+        }
+
+        private void merge(Delta other) {
+            other.counts.forEach((key, total) -> counts.merge(key, total, Long::sum));
+        }
+    }
+
+    private final class PendingDeltaFlush implements TransactionSynchronization {
+        private final Delta pending;
+
+        private PendingDeltaFlush(Delta pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(RiskStatsService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(RiskStatsService.this, pending);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            riskStatCounterRepository.increment(pending.counts);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RiskStatsService.this);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.storage.DocumentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.DatabaseMetaData;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialises uploads and deletions of one content-addressed file. An upload locks its file's
+ * location once stored and keeps the lock until its transaction ends, so the document row
+ * referencing the file is committed before anyone can decide the file is unused. A deletion
+ * waits until its own transaction has committed, then locks the location in a new
+ * transaction, re-counts the documents referencing it and only removes the file when there
+ * are none. PostgreSQL gets a transaction-scoped advisory lock, which also holds across
+ * instances; other databases (H2 in tests) get an in-process lock released when the
+ * transaction completes.
+ */
+@Slf4j
+@Component
+class StoredFileLocks {
+
+    private static final int STRIPES = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentRepository documentRepository;
+    private final DocumentStorage documentStorage;
+    private final TransactionTemplate newTransaction;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private volatile Boolean advisoryLocks;
+
+    StoredFileLocks(JdbcTemplate jdbcTemplate, DocumentRepository documentRepository,
+                    DocumentStorage documentStorage, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the locations until the current transaction ends. Locks are taken in a fixed order
+     * so two transactions locking overlapping sets cannot deadlock.
+     */
+    void lock(Collection<String> locations) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stored file locks need an active transaction");
+        }
+        if (useAdvisoryLocks()) {
+            locations.stream().mapToLong(StoredFileLocks::key).distinct().sorted()
+                    .forEach(key -> jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", key));
+        } else {
+            locations.stream().mapToInt(location -> Math.floorMod(key(location), STRIPES)).distinct().sorted()
+                    .forEach(this::lockStripe);
+        }
+    }
+
+    void lock(String location) {
+        lock(List.of(location));
+    }
+
+    /**
+     * Removes the file once the current transaction has committed, unless a document still
+     * references it by then. Nothing is removed when the transaction rolls back.
+     */
+    void deleteWhenUnreferenced(String location) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteIfUnreferenced(location);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteIfUnreferenced(location);
+            }
+        });
+    }
+
+    private void deleteIfUnreferenced(String location) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                lock(location);
+                if (documentRepository.countByFilePath(location) == 0) {
+                    try {
+                        documentStorage.delete(location);
+                    } catch (IOException e) {
+                        log.warn("Could not delete unreferenced file {}", location, e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not check references to {}, leaving the file in place", location, e);
+        }
+    }
+
+    private void lockStripe(int index) {
+        ReentrantLock stripe = stripes[index];
+        stripe.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                stripe.unlock();
+            }
+        });
+    }
+
+    private boolean useAdvisoryLocks() {
+        if (advisoryLocks == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                        DatabaseMetaData::getDatabaseProductName);
+                advisoryLocks = "PostgreSQL".equals(product);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Could not determine database for stored file locks", e);
+            }
+        }
+        return advisoryLocks;
+    }
+
+    private static long key(String location) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(location.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.document.analyzer.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Incrementally parses an LLM analysis JSON object as it streams in and reports each
+ * summary, key point, risk and recommendation as soon as its value is complete. Anything
+ * before the first '{' (such as a code fence) is skipped; after a syntax error the parser
+ * goes quiet and the caller falls back to the full-response parse.
+ */
+final class StreamingResultParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BiConsumer<String, Object> events;
+    private final JsonParser parser;
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String field;
+    private String riskField;
+    private Map<String, String> risk;
+
+    StreamingResultParser(BiConsumer<String, Object> events) {
+        this.events = events;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create JSON parser", e);
+        }
+    }
+
+    void feed(String delta) {
+        if (finished || delta == null || delta.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int objectStart = delta.indexOf('{');
+            if (objectStart < 0) {
+                return;
+            }
+            started = true;
+            delta = delta.substring(objectStart);
+        }
+        byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException e) {
+            finished = true;
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                depth++;
+                if (depth == 3 && "risks".equals(field)) {
+                    risk = new LinkedHashMap<>();
+                }
+            }
+            case END_OBJECT -> {
+                if (depth == 3 && risk != null) {
+                    events.accept("risk", risk);
+                    risk = null;
+                }
+                depth--;
+                finished = depth == 0;
+            }
+            case START_ARRAY -> depth++;
+            case END_ARRAY -> depth--;
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                } else if (depth == 3) {
+                    riskField = parser.currentName();
+                }
+            }
+            default -> {
+                if (token.isScalarValue()) {
+                    onScalar();
+                }
+            }
+        }
+    }
+
+    private void onScalar() throws IOException {
+        if (depth == 1 && "summary".equals(field)) {
+            events.accept("summary", parser.getText());
+        } else if (depth == 2 && "keyPoints".equals(field)) {
+            events.accept("keyPoint", parser.getText());
+        } else if (depth == 2 && "recommendations".equals(field)) {
+            events.accept("recommendation", parser.getText());
+        } else if (depth == 3 && risk != null && riskField != null) {
+            risk.put(riskField, parser.getText());
+        }
+    }
+}
@@ -1,29 +1,30 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.domain.CursorPage;
+import com.document.analyzer.entity.Classification;
 import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.DocumentContent;
 import com.document.analyzer.entity.RiskAnalysis;
 import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.DocumentContentRepository;
 import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.repository.DocumentSummary;
 import com.document.analyzer.repository.UserRepository;
+import com.document.analyzer.storage.DocumentStorage;
+import com.document.analyzer.util.DocumentTextExtractor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -31,57 +32,180 @@ import java.util.UUID;
 public class UploadService {
 
     private final DocumentRepository documentRepository;
+    private final DocumentContentRepository documentContentRepository;
     private final UserRepository userRepository;
     private final ClassificationService classificationService;
     private final RiskAnalysisService riskAnalysisService;
+    private final RiskStatsService riskStatsService;
+    private final DocumentTextExtractor documentTextExtractor;
+    private final DocumentStorage documentStorage;
+    private final PipelineMetrics pipelineMetrics;
+    private final StoredFileLocks storedFileLocks;
 
-    @Value("${app.document.upload-dir}")
-    private String uploadDir;
+    @Value("${app.document.max-file-size:10MB}")
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
 
-    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
     private static final String[] ALLOWED_EXTENSIONS = {"pdf", "docx", "doc", "txt", "json", "csv", "png", "jpg", "jpeg", "gif"};
 
     public Document uploadDocument(MultipartFile file, Long userId) throws IOException {
         validateFileTypeAndSize(file);
-        String savedFilePath = storeFileToStorage(file);
-        String extractedText = extractTextFromDocument(file);
+        User user = getUploader(userId);
+        return pipelineMetrics.pipeline(PipelineMetrics.UPLOAD, () -> processUpload(file, user));
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private Document processUpload(MultipartFile file, User user) throws IOException {
+        pipelineMetrics.recordDocumentSize(file.getSize());
+        DocumentStorage.StoredObject storedFile = pipelineMetrics.stage(PipelineMetrics.UPLOAD, "store",
+                () -> storeFileToStorage(file.getInputStream(), file.getOriginalFilename()));
+
+        Optional<Document> duplicate = pipelineMetrics.stage(PipelineMetrics.UPLOAD, "dedupe",
+                () -> reuseDuplicate(file.getOriginalFilename(), storedFile, user));
+        if (duplicate.isPresent()) {
+            pipelineMetrics.tag(PipelineMetrics.DOCUMENT_ID, duplicate.get().getId());
+            return duplicate.get();
+        }
+
+        String extractedText = pipelineMetrics.stage(PipelineMetrics.UPLOAD, "extract",
+                () -> documentStorage.read(storedFile.location(), documentTextExtractor::extractText));
+        pipelineMetrics.recordTextLength(extractedText);
 
         Document document = Document.builder()
                 .fileName(file.getOriginalFilename())
-                .filePath(savedFilePath)
+                .filePath(storedFile.location())
                 .fileSize(file.getSize())
                 .documentType(inferDocumentType(file.getOriginalFilename()))
+                .contentHash(storedFile.contentHash())
                 .extractedText(extractedText)
                 .uploadedBy(user)
                 .processingStatus(Document.ProcessingStatus.PROCESSING)
                 .build();
 
-        Document savedDocument = documentRepository.save(document);
+        Document savedDocument = pipelineMetrics.stage(PipelineMetrics.UPLOAD, "save",
+                () -> documentRepository.save(document));
+        pipelineMetrics.tag(PipelineMetrics.DOCUMENT_ID, savedDocument.getId());
 
         try {
-            classificationService.classifyDocument(savedDocument.getId());
-            riskAnalysisService.analyzeDocumentRisk(savedDocument.getId(), RiskAnalysis.AnalysisFramework.OWASP);
+            pipelineMetrics.stage(PipelineMetrics.UPLOAD, "classify",
+                    () -> classificationService.classifyDocument(savedDocument.getId()));
+            pipelineMetrics.stage(PipelineMetrics.UPLOAD, "risk",
+                    () -> riskAnalysisService.analyzeDocumentRisk(savedDocument.getId(), RiskAnalysis.AnalysisFramework.OWASP));
             savedDocument.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
         } catch (Exception e) {
             savedDocument.setProcessingStatus(Document.ProcessingStatus.FAILED);
         }
 
-        return documentRepository.save(savedDocument);
+        return pipelineMetrics.stage(PipelineMetrics.UPLOAD, "save-status", () -> documentRepository.save(savedDocument));
+    }
+
+    public Document storeDocument(MultipartFile file, Long userId) throws IOException {
+        validateFileTypeAndSize(file);
+        User user = getUploader(userId);
+        DocumentStorage.StoredObject storedFile = storeFileToStorage(file.getInputStream(), file.getOriginalFilename());
+
+        Optional<Document> duplicate = reuseDuplicate(file.getOriginalFilename(), storedFile, user);
+        if (duplicate.isPresent()) {
+            return duplicate.get();
+        }
+
+        Document document = Document.builder()
+                .fileName(file.getOriginalFilename())
+                .filePath(storedFile.location())
+                .fileSize(file.getSize())
+                .documentType(inferDocumentType(file.getOriginalFilename()))
+                .contentHash(storedFile.contentHash())
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.PENDING)
+                .build();
+
+        return documentRepository.save(document);
+    }
+
+    public User getUploader(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Streams one batch entry to storage and returns an unsaved PROCESSING document for it,
+     * or the already persisted COMPLETED document when the content is a known duplicate.
+     */
+    public Document stageDocument(String fileName, InputStream content, User user) throws IOException {
+        validateFileType(fileName);
+        DocumentStorage.StoredObject storedFile = storeFileToStorage(content, fileName);
+
+        Optional<Document> duplicate = reuseDuplicate(fileName, storedFile, user);
+        if (duplicate.isPresent()) {
+            return duplicate.get();
+        }
+
+        return Document.builder()
+                .fileName(fileName)
+                .filePath(storedFile.location())
+                .fileSize(storedFile.size())
+                .documentType(inferDocumentType(fileName))
+                .contentHash(storedFile.contentHash())
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.PROCESSING)
+                .build();
+    }
+
+    /**
+     * Persists a batch of staged documents together with their classifications and risk
+     * analyses in one transaction. Each document keeps the status it was staged with.
+     */
+    public List<Document> saveStagedBatch(List<Document> documents, List<Classification> classifications,
+                                          List<RiskAnalysis> riskAnalyses) {
+        // staging committed long ago, so a deletion may have removed a file nothing referenced yet
+        List<String> locations = documents.stream().map(Document::getFilePath).toList();
+        storedFileLocks.lock(locations);
+        try {
+            for (String location : locations) {
+                requireStoredFile(location);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Document.ProcessingStatus> statuses = documents.stream().map(Document::getProcessingStatus).toList();
+        List<Document> saved = documentRepository.saveAll(documents);
+        for (int i = 0; i < saved.size(); i++) {
+            saved.get(i).setProcessingStatus(statuses.get(i));
+        }
+        classificationService.saveAll(classifications);
+        riskAnalysisService.saveAll(riskAnalyses);
+        return saved;
+    }
+
+    public void discardStagedFile(Document document) throws IOException {
+        if (document.getId() == null) {
+            deleteUnreferencedFile(document.getFilePath());
+        }
+    }
+
+    public Document extractText(Long documentId) throws IOException {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+        return saveExtractedText(document, documentStorage.read(document.getFilePath(), documentTextExtractor::extractText));
     }
 
     public Optional<Document> getDocumentById(Long id) {
         return documentRepository.findById(id);
     }
 
-    public List<Document> getUserDocuments(Long userId) {
-        return documentRepository.findByUploadedById(userId);
+    public Optional<String> getDocumentText(Long id) {
+        return documentRepository.findById(id)
+                .map(doc -> doc.getExtractedText() != null ? doc.getExtractedText() : "");
+    }
+
+    public CursorPage<DocumentSummary> getUserDocuments(Long userId, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(documentRepository.findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(
+                userId, CursorPage.beforeId(cursor), request), request, DocumentSummary::getId);
     }
 
-    public List<Document> getDocumentsByStatus(Document.ProcessingStatus status) {
-        return documentRepository.findByProcessingStatus(status);
+    public CursorPage<DocumentSummary> getDocumentsByStatus(Document.ProcessingStatus status, String cursor, int size) {
+        Pageable request = CursorPage.request(size);
+        return CursorPage.of(documentRepository.findSummariesByProcessingStatusAndIdLessThanOrderByIdDesc(
+                status, CursorPage.beforeId(cursor), request), request, DocumentSummary::getId);
     }
 
     public Document updateProcessingStatus(Long documentId, Document.ProcessingStatus status) {
@@ -96,25 +220,43 @@ public class UploadService {
     public void deleteDocument(Long id) throws IOException {
         Document doc = documentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
-        deleteFileFromStorage(doc.getFilePath());
+        storedFileLocks.deleteWhenUnreferenced(doc.getFilePath());
+        DocumentContent content = doc.getContent();
+        riskStatsService.recordDocumentRemoval(id);
         documentRepository.deleteById(id);
+        if (content != null && documentRepository.countByContentId(content.getId()) == 0) {
+            documentContentRepository.delete(content);
+        }
     }
 
     public Document extractAndStoreText(Long documentId) {
         return documentRepository.findById(documentId)
                 .map(doc -> {
                     try {
-                        String text = extractTextFromDocument(new File(doc.getFilePath()));
-                        doc.setExtractedText(text);
+                        String text = documentStorage.read(doc.getFilePath(), documentTextExtractor::extractText);
                         doc.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+                        return saveExtractedText(doc, text);
                     } catch (IOException e) {
                         doc.setProcessingStatus(Document.ProcessingStatus.FAILED);
+                        return documentRepository.save(doc);
                     }
-                    return documentRepository.save(doc);
                 })
                 .orElseThrow(() -> new RuntimeException("Document not found"));
     }
 
+    // setExtractedText moves changed text of a persisted document into a new content row;
+    // the old row goes once no deduplicated copy still points at it
+    private Document saveExtractedText(Document document, String text) {
+        DocumentContent previous = document.getContent();
+        document.setExtractedText(text);
+        Document saved = documentRepository.save(document);
+        if (previous != null && previous != saved.getContent() && previous.getId() != null
+                && documentRepository.countByContentId(previous.getId()) == 0) {
+            documentContentRepository.delete(previous);
+        }
+        return saved;
+    }
+
     private Document.DocumentType inferDocumentType(String fileName) {
         if (fileName == null) return Document.DocumentType.TXT;
         String lowerName = fileName.toLowerCase();
@@ -130,11 +272,17 @@ public class UploadService {
     }
 
     private void validateFileTypeAndSize(MultipartFile file) {
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new RuntimeException("File size exceeds maximum allowed size of 10MB");
+        if (file.getSize() > maxFileSize.toBytes()) {
+            throw fileTooLarge();
         }
-        
-        String fileName = file.getOriginalFilename();
+        validateFileType(file.getOriginalFilename());
+    }
+
+    private RuntimeException fileTooLarge() {
+        return new RuntimeException("File size exceeds maximum allowed size of " + maxFileSize.toMegabytes() + "MB");
+    }
+
+    private void validateFileType(String fileName) {
         if (fileName == null || fileName.isEmpty()) {
             throw new RuntimeException("Invalid file name");
         }
@@ -153,54 +301,63 @@ public class UploadService {
         }
     }
 
-    private String storeFileToStorage(MultipartFile file) throws IOException {
-        File uploadDirectory = new File(uploadDir);
-        if (!uploadDirectory.exists()) {
-            uploadDirectory.mkdirs();
+    private Optional<Document> reuseDuplicate(String fileName, DocumentStorage.StoredObject storedFile, User user) throws IOException {
+        Optional<Document> ownCopy = documentRepository.findFirstByContentHashAndUploadedByIdAndProcessingStatus(
+                storedFile.contentHash(), user.getId(), Document.ProcessingStatus.COMPLETED);
+        if (ownCopy.isPresent()) {
+            deleteUnreferencedFile(storedFile.location());
+            return ownCopy;
         }
 
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Path filePath = Paths.get(uploadDir, fileName);
-        
-        file.transferTo(filePath.toFile());
-        return filePath.toString();
+        Optional<Document> original = documentRepository.findFirstByContentHashAndProcessingStatus(
+                storedFile.contentHash(), Document.ProcessingStatus.COMPLETED);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        deleteUnreferencedFile(storedFile.location());
+
+        Document source = original.get();
+        Document copy = documentRepository.save(Document.builder()
+                .fileName(fileName)
+                .filePath(source.getFilePath())
+                .fileSize(source.getFileSize())
+                .documentType(inferDocumentType(fileName))
+                .contentHash(source.getContentHash())
+                .content(source.getContent())
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.PROCESSING)
+                .build());
+
+        classificationService.copyClassification(source.getId(), copy);
+        riskAnalysisService.copyAnalysis(source.getId(), copy);
+        copy.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+        return Optional.of(documentRepository.save(copy));
     }
 
-    private String extractTextFromDocument(MultipartFile file) throws IOException {
-        String fileName = file.getOriginalFilename();
-        if (fileName == null) return "";
-        
-        String lowerName = fileName.toLowerCase();
-        if (lowerName.endsWith(".txt")) {
-            return new String(file.getBytes(), StandardCharsets.UTF_8);
-        } else if (lowerName.endsWith(".json") || lowerName.endsWith(".csv")) {
-            return new String(file.getBytes(), StandardCharsets.UTF_8);
-        } else if (lowerName.endsWith(".pdf")) {
-            try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-                PDFTextStripper stripper = new PDFTextStripper();
-                return stripper.getText(document);
-            }
+    private DocumentStorage.StoredObject storeFileToStorage(InputStream content, String originalFileName)
+            throws IOException {
+        DocumentStorage.StoredObject storedFile;
+        try {
+            storedFile = documentStorage.store(content, originalFileName, maxFileSize.toBytes());
+        } catch (DocumentStorage.TooLargeException e) {
+            throw fileTooLarge();
         }
-        return "Document content extraction not yet implemented for this file type.";
+        // held until this transaction ends, so the file cannot be deleted before our row commits
+        storedFileLocks.lock(storedFile.location());
+        requireStoredFile(storedFile.location());
+        return storedFile;
     }
 
-    private String extractTextFromDocument(File file) throws IOException {
-        String fileName = file.getName().toLowerCase();
-        if (fileName.endsWith(".txt")) {
-            return Files.readString(file.toPath(), StandardCharsets.UTF_8);
-        } else if (fileName.endsWith(".json") || fileName.endsWith(".csv")) {
-            return Files.readString(file.toPath(), StandardCharsets.UTF_8);
-        } else if (fileName.endsWith(".pdf")) {
-            try (PDDocument document = Loader.loadPDF(file)) {
-                PDFTextStripper stripper = new PDFTextStripper();
-                return stripper.getText(document);
-            }
+    // store() reuses an existing file with the same content, which a deletion that committed
+    // before we took the lock may have removed since
+    private void requireStoredFile(String location) throws IOException {
+        if (!documentStorage.exists(location)) {
+            throw new IllegalStateException("Stored file " + location + " was deleted concurrently, retry the upload");
         }
-        return "Document content extraction not yet implemented for this file type.";
     }
 
-    private void deleteFileFromStorage(String filePath) throws IOException {
-        Path path = Paths.get(filePath);
-        Files.deleteIfExists(path);
+    // storage is content-addressed, so a known duplicate's bytes may already sit at this location
+    private void deleteUnreferencedFile(String location) {
+        storedFileLocks.deleteWhenUnreferenced(location);
     }
 }
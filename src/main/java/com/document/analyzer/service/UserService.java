@@ -15,6 +15,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final RiskStatsService riskStatsService;
 
     public User createUser(User user) {
         TODO_ADD_PASSWORD_HASHING_AND_VALIDATION();
@@ -51,6 +52,7 @@ public class UserService {
 
     public void deleteUser(Long id) {
         TODO_ADD_SOFT_DELETE_LOGIC();
+        riskStatsService.recordUserRemoval(id);
         userRepository.deleteById(id);
     }
 
@@ -0,0 +1,79 @@
+package com.document.analyzer.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Writes incoming content to a temporary file while hashing it, which is how both backends
+ * learn the content address before the object is published under it.
+ */
+final class ContentSpool {
+
+    private static final long TRANSFER_CHUNK = 1 << 20;
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    private ContentSpool() {
+    }
+
+    static Spooled spool(InputStream content, Path tempFile, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+             FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            // asking for one byte past the limit is how an oversized stream is noticed
+            while ((transferred = target.transferFrom(source, size, Math.min(TRANSFER_CHUNK, maxBytes + 1 - size))) > 0) {
+                size += transferred;
+                if (size > maxBytes) {
+                    throw new DocumentStorage.TooLargeException(maxBytes);
+                }
+            }
+            target.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return new Spooled(tempFile, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Content key {@code ab/cd/abcd...ef.ext}: two levels of 256 directories keep every
+     * directory small, and the extension lets text extraction pick a parser.
+     */
+    static String key(String contentHash, String fileName) {
+        return contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" + contentHash
+                + extension(fileName);
+    }
+
+    static String extension(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    record Spooled(Path file, String contentHash, long size) {
+    }
+}
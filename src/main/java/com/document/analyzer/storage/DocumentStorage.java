@@ -0,0 +1,61 @@
+package com.document.analyzer.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded files live. A location is the opaque string kept in {@code Document.filePath};
+ * files are addressed by their SHA-256, so uploads with identical bytes (and extension) share
+ * one stored object and callers must not delete a location other documents still reference.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Streams the content into storage and returns where it went, failing with
+     * {@link TooLargeException} (and storing nothing) once more than {@code maxBytes} arrive.
+     */
+    StoredObject store(InputStream content, String fileName, long maxBytes) throws IOException;
+
+    /**
+     * Hands the reader a local file with the object's content, downloading it first when the
+     * backend is remote. The file name keeps the original extension.
+     */
+    <T> T read(String location, PathReader<T> reader) throws IOException;
+
+    InputStream open(String location) throws IOException;
+
+    long size(String location) throws IOException;
+
+    /**
+     * Writes {@code count} bytes starting at {@code position} to the target without
+     * materialising the content on the heap.
+     */
+    void transferTo(String location, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * The object's file when the backend keeps it on local disk, so it can be handed to the
+     * container's sendfile support; empty for remote backends.
+     */
+    Optional<Path> localFile(String location);
+
+    boolean exists(String location) throws IOException;
+
+    void delete(String location) throws IOException;
+
+    record StoredObject(String location, String contentHash, long size) {
+    }
+
+    @FunctionalInterface
+    interface PathReader<T> {
+        T read(Path file) throws IOException;
+    }
+
+    class TooLargeException extends IOException {
+        public TooLargeException(long maxBytes) {
+            super("Content exceeds " + maxBytes + " bytes");
+        }
+    }
+}
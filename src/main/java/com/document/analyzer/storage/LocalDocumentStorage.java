@@ -0,0 +1,129 @@
+package com.document.analyzer.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores files under the upload directory at {@code ab/cd/<sha256>.<ext>}. Content is
+ * spooled into {@code .tmp} on the same file system and renamed into place, so a reader
+ * never sees a partial file and a crash leaves only temp files behind. Absolute locations
+ * written before the sharded layout are still read and deleted as they are.
+ */
+public class LocalDocumentStorage implements DocumentStorage {
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalDocumentStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve(".tmp");
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload directory " + tempDir, e);
+        }
+    }
+
+    @Override
+    public StoredObject store(InputStream content, String fileName, long maxBytes) throws IOException {
+        ContentSpool.Spooled spooled = ContentSpool.spool(content, tempDir.resolve(UUID.randomUUID() + ".part"), maxBytes);
+        String key = ContentSpool.key(spooled.contentHash(), fileName);
+        Path target = root.resolve(key);
+        try {
+            if (Files.exists(target)) {
+                Files.delete(spooled.file());
+            } else {
+                publish(spooled.file(), target);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled.file());
+            throw e;
+        }
+        return new StoredObject(key, spooled.contentHash(), spooled.size());
+    }
+
+    @Override
+    public <T> T read(String location, PathReader<T> reader) throws IOException {
+        return reader.read(resolve(location));
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return Files.newInputStream(resolve(location));
+    }
+
+    @Override
+    public long size(String location) throws IOException {
+        return Files.size(resolve(location));
+    }
+
+    @Override
+    public void transferTo(String location, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel source = FileChannel.open(resolve(location), StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long transferred = source.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of " + location + " at byte " + position);
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String location) {
+        return Optional.of(resolve(location));
+    }
+
+    @Override
+    public boolean exists(String location) {
+        return Files.exists(resolve(location));
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(resolve(location));
+    }
+
+    public Path resolve(String location) {
+        Path path = Path.of(location);
+        if (path.isAbsolute()) {
+            return path;
+        }
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("Location escapes the upload directory: " + location);
+        }
+        return resolved;
+    }
+
+    // the shard directories are created on first use only, not checked on every upload
+    private void publish(Path spooled, Path target) throws IOException {
+        try {
+            move(spooled, target);
+        } catch (NoSuchFileException e) {
+            Files.createDirectories(target.getParent());
+            move(spooled, target);
+        }
+    }
+
+    private void move(Path spooled, Path target) throws IOException {
+        try {
+            Files.move(spooled, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(spooled, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.document.analyzer.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps files in a bucket of an S3-compatible object store (AWS S3, MinIO, Ceph RGW) using
+ * path-style {@code PUT/GET/HEAD/DELETE} requests. Content is spooled and hashed locally
+ * first so the object key is known before upload and an existing object is never sent
+ * twice. Requests are SigV4-signed when an access key is configured.
+ */
+public class S3DocumentStorage implements DocumentStorage {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final URI bucketUri;
+    private final Duration requestTimeout;
+    private final S3RequestSigner signer;
+    private final Path tempDir;
+
+    public S3DocumentStorage(URI endpoint, String bucket, Duration requestTimeout, S3RequestSigner signer, Path tempDir) {
+        String base = endpoint.toString();
+        this.bucketUri = URI.create((base.endsWith("/") ? base : base + "/") + bucket + "/");
+        this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        this.requestTimeout = requestTimeout;
+        this.signer = signer;
+        this.tempDir = tempDir;
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create storage spool directory " + tempDir, e);
+        }
+    }
+
+    @Override
+    public StoredObject store(InputStream content, String fileName, long maxBytes) throws IOException {
+        ContentSpool.Spooled spooled = ContentSpool.spool(content, tempDir.resolve(UUID.randomUUID() + ".part"), maxBytes);
+        String key = ContentSpool.key(spooled.contentHash(), fileName);
+        try {
+            if (!exists(key)) {
+                HttpResponse<Void> response = send(request("PUT", key,
+                        HttpRequest.BodyPublishers.ofFile(spooled.file()), spooled.contentHash()),
+                        HttpResponse.BodyHandlers.discarding());
+                expectSuccess(response, "PUT", key);
+            }
+        } finally {
+            Files.deleteIfExists(spooled.file());
+        }
+        return new StoredObject(key, spooled.contentHash(), spooled.size());
+    }
+
+    @Override
+    public <T> T read(String location, PathReader<T> reader) throws IOException {
+        Path download = tempDir.resolve(UUID.randomUUID() + ContentSpool.extension(location));
+        try {
+            HttpResponse<Path> response = send(request("GET", location),
+                    HttpResponse.BodyHandlers.ofFile(download));
+            expectFound(response, "GET", location);
+            return reader.read(download);
+        } finally {
+            Files.deleteIfExists(download);
+        }
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        HttpResponse<InputStream> response = send(request("GET", location), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() / 100 != 2) {
+            response.body().close();
+        }
+        expectFound(response, "GET", location);
+        return response.body();
+    }
+
+    @Override
+    public long size(String location) throws IOException {
+        HttpResponse<Void> response = send(request("HEAD", location), HttpResponse.BodyHandlers.discarding());
+        expectFound(response, "HEAD", location);
+        return response.headers().firstValueAsLong("Content-Length")
+                .orElseThrow(() -> new IOException("Object storage HEAD " + location + " returned no Content-Length"));
+    }
+
+    /**
+     * Fetches only the requested bytes with a {@code Range} GET; a store that ignores the
+     * range and answers 200 is skipped forward instead.
+     */
+    @Override
+    public void transferTo(String location, long position, long count, WritableByteChannel target) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(request("GET", location), (name, value) -> true)
+                .header("Range", "bytes=" + position + "-" + (position + count - 1))
+                .build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream in = response.body()) {
+            expectFound(response, "GET", location);
+            if (response.statusCode() != 206) {
+                in.skipNBytes(position);
+            }
+            byte[] chunk = new byte[COPY_BUFFER_SIZE];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Unexpected end of " + location + " with " + remaining + " bytes left");
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                remaining -= read;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String location) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String location) throws IOException {
+        HttpResponse<Void> response = send(request("HEAD", location), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        expectSuccess(response, "HEAD", location);
+        return true;
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        HttpResponse<Void> response = send(request("DELETE", location),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 404) {
+            expectSuccess(response, "DELETE", location);
+        }
+    }
+
+    private HttpRequest request(String method, String key) {
+        return request(method, key, HttpRequest.BodyPublishers.noBody(), S3RequestSigner.EMPTY_PAYLOAD_HASH);
+    }
+
+    private HttpRequest request(String method, String key, HttpRequest.BodyPublisher body, String payloadHash) {
+        if (key.isEmpty() || key.startsWith("/") || key.contains("..")) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        URI uri = bucketUri.resolve(key);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(requestTimeout).method(method, body);
+        if (signer != null) {
+            signer.sign(builder, method, uri, payloadHash);
+        }
+        return builder.build();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling object storage", e);
+        }
+    }
+
+    private static void expectFound(HttpResponse<?> response, String method, String key) throws IOException {
+        if (response.statusCode() == 404) {
+            throw new NoSuchFileException(key);
+        }
+        expectSuccess(response, method, key);
+    }
+
+    private static void expectSuccess(HttpResponse<?> response, String method, String key) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Object storage " + method + " " + key + " failed with HTTP " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.document.analyzer.util;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Component
+public class DocumentTextExtractor implements DisposableBean {
+
+    static final String UNSUPPORTED_TYPE_TEXT = "Document content extraction not yet implemented for this file type.";
+    static final String PAGE_COUNT = "document.page.count";
+
+    private final long maxMainMemoryBytes;
+    private final int parallelism;
+    private final int parallelMinPages;
+    private final ExecutorService extractionPool;
+    private final ObservationRegistry observationRegistry;
+
+    public DocumentTextExtractor(@Value("${app.extraction.max-main-memory:16MB}") DataSize maxMainMemory,
+                                 @Value("${app.extraction.parallelism:0}") int parallelism,
+                                 @Value("${app.extraction.parallel-min-pages:32}") int parallelMinPages,
+                                 ObservationRegistry observationRegistry) {
+        this.maxMainMemoryBytes = maxMainMemory.toBytes();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parallelMinPages = parallelMinPages;
+        // range tasks block on file reads, so a plain pool rather than a ForkJoinPool
+        this.extractionPool = this.parallelism > 1
+                ? Executors.newFixedThreadPool(this.parallelism, Thread.ofPlatform().name("pdf-extraction-", 0).daemon().factory())
+                : null;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Extracts the text of a stored file. PDFs are parsed from disk within the
+     * {@code app.extraction.max-main-memory} budget, which covers all copies open at once when
+     * the pages are extracted in parallel, so the file bytes are never held on the heap; the
+     * text itself is returned whole because it is stored with the document.
+     */
+    public String extractText(Path path) throws IOException {
+        StringWriter out = new StringWriter();
+        String fileName = path.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".txt") || fileName.endsWith(".json") || fileName.endsWith(".csv")) {
+            try (Reader reader = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
+                reader.transferTo(out);
+            }
+        } else if (fileName.endsWith(".pdf")) {
+            extractPdfText(path, out);
+        } else {
+            out.write(UNSUPPORTED_TYPE_TEXT);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void destroy() {
+        if (extractionPool != null) {
+            extractionPool.shutdownNow();
+        }
+    }
+
+    private void extractPdfText(Path path, Writer out) throws IOException {
+        int pageCount;
+        try (PDDocument document = loadPdf(path, maxMainMemoryBytes)) {
+            pageCount = document.getNumberOfPages();
+            Observation current = observationRegistry.getCurrentObservation();
+            if (current != null) {
+                current.highCardinalityKeyValue(PAGE_COUNT, String.valueOf(pageCount));
+            }
+            if (extractionPool == null || pageCount < parallelMinPages) {
+                new PDFTextStripper().writeText(document, out);
+                return;
+            }
+        }
+        extractInParallel(path, pageCount, out);
+    }
+
+    // PDDocument is not thread-safe, so the pages are split into one contiguous range per
+    // thread and every range is stripped from its own copy of the file. The document used to
+    // count the pages is closed first and each copy gets an equal share of the memory budget,
+    // so the open copies together stay within app.extraction.max-main-memory. This thread
+    // strips the first range and the range texts are written out in page order.
+    private void extractInParallel(Path path, int pageCount, Writer out) throws IOException {
+        int ranges = Math.min(parallelism, pageCount);
+        long rangeMemoryBytes = Math.max(1, maxMainMemoryBytes / ranges);
+        List<Future<String>> rangeTexts = new ArrayList<>(ranges - 1);
+        try {
+            for (int range = 1; range < ranges; range++) {
+                int startPage = firstPage(range, ranges, pageCount);
+                int endPage = firstPage(range + 1, ranges, pageCount) - 1;
+                rangeTexts.add(extractionPool.submit(() -> {
+                    try (PDDocument copy = loadPdf(path, rangeMemoryBytes)) {
+                        return stripper(startPage, endPage).getText(copy);
+                    }
+                }));
+            }
+            try (PDDocument first = loadPdf(path, rangeMemoryBytes)) {
+                stripper(1, firstPage(1, ranges, pageCount) - 1).writeText(first, out);
+            }
+            for (Future<String> rangeText : rangeTexts) {
+                out.write(rangeText.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF extraction interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("PDF extraction failed", e.getCause());
+        } finally {
+            rangeTexts.forEach(rangeText -> rangeText.cancel(true));
+        }
+    }
+
+    private static int firstPage(int range, int ranges, int pageCount) {
+        return 1 + (int) ((long) range * pageCount / ranges);
+    }
+
+    private static PDFTextStripper stripper(int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        return stripper;
+    }
+
+    // The file is read through a buffered RandomAccessRead and PDFBox spills its stream
+    // cache to a scratch file once the in-memory budget is used up.
+    private PDDocument loadPdf(Path path, long memoryBytes) throws IOException {
+        return Loader.loadPDF(path.toFile(), MemoryUsageSetting.setupMixed(memoryBytes).streamCache);
+    }
+}
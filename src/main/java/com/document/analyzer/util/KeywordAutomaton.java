@@ -0,0 +1,167 @@
+package com.document.analyzer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over keywords grouped under integer labels.
+ * A compiled automaton is immutable and can be shared between threads; {@link #count(CharSequence)}
+ * scans the input exactly once and returns the number of keyword hits per label.
+ * {@link KeywordMatcher} builds enum labels and hit positions on top of it.
+ */
+public final class KeywordAutomaton {
+
+    private final char[] charClass;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputLabels;
+    private final int[][] outputLengths;
+    private final int labelCount;
+
+    private KeywordAutomaton(char[] charClass, int alphabetSize, int[] transitions,
+                             int[][] outputLabels, int[][] outputLengths, int labelCount) {
+        this.charClass = charClass;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputLabels = outputLabels;
+        this.outputLengths = outputLengths;
+        this.labelCount = labelCount;
+    }
+
+    /**
+     * Compiles one automaton in which the keywords at index {@code i} report label {@code i}.
+     */
+    public static KeywordAutomaton compile(List<? extends Collection<String>> keywordsByLabel) {
+        Map<String, List<Integer>> labelsByKeyword = new LinkedHashMap<>();
+        for (int label = 0; label < keywordsByLabel.size(); label++) {
+            for (String keyword : keywordsByLabel.get(label)) {
+                addKeyword(labelsByKeyword, keyword, label);
+            }
+        }
+        return compile(labelsByKeyword, keywordsByLabel.size());
+    }
+
+    static void addKeyword(Map<String, List<Integer>> labelsByKeyword, String keyword, int label) {
+        if (keyword == null || keyword.isEmpty()) {
+            throw new IllegalArgumentException("Keyword must not be empty");
+        }
+        List<Integer> keywordLabels = labelsByKeyword.computeIfAbsent(keyword.toLowerCase(Locale.ROOT), k -> new ArrayList<>());
+        if (!keywordLabels.contains(label)) {
+            keywordLabels.add(label);
+        }
+    }
+
+    static KeywordAutomaton compile(Map<String, List<Integer>> labelsByKeyword, int labelCount) {
+        char[] charClass = new char[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        for (String keyword : labelsByKeyword.keySet()) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (charClass[c] == 0) {
+                    charClass[c] = (char) alphabetSize++;
+                }
+            }
+        }
+
+        List<Map<Integer, Integer>> trie = new ArrayList<>();
+        List<List<int[]>> outputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+        for (Map.Entry<String, List<Integer>> entry : labelsByKeyword.entrySet()) {
+            String keyword = entry.getKey();
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = charClass[keyword.charAt(i)];
+                Integer next = trie.get(node).get(symbol);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    outputs.add(new ArrayList<>());
+                    trie.get(node).put(symbol, next);
+                }
+                node = next;
+            }
+            for (int label : entry.getValue()) {
+                outputs.get(node).add(new int[]{label, keyword.length()});
+            }
+        }
+
+        int stateCount = trie.size();
+        int[] transitions = new int[stateCount * alphabetSize];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            Integer child = trie.get(0).get(symbol);
+            if (child != null) {
+                transitions[symbol] = child;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            outputs.get(node).addAll(outputs.get(failure[node]));
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                Integer child = trie.get(node).get(symbol);
+                int fallback = transitions[failure[node] * alphabetSize + symbol];
+                if (child != null) {
+                    failure[child] = fallback;
+                    transitions[node * alphabetSize + symbol] = child;
+                    queue.add(child);
+                } else {
+                    transitions[node * alphabetSize + symbol] = fallback;
+                }
+            }
+        }
+
+        int[][] outputLabels = new int[stateCount][];
+        int[][] outputLengths = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            List<int[]> stateOutputs = outputs.get(state);
+            outputLabels[state] = new int[stateOutputs.size()];
+            outputLengths[state] = new int[stateOutputs.size()];
+            for (int i = 0; i < stateOutputs.size(); i++) {
+                outputLabels[state][i] = stateOutputs.get(i)[0];
+                outputLengths[state][i] = stateOutputs.get(i)[1];
+            }
+        }
+
+        return new KeywordAutomaton(charClass, alphabetSize, transitions, outputLabels, outputLengths, labelCount);
+    }
+
+    public int labelCount() {
+        return labelCount;
+    }
+
+    public int[] count(CharSequence text) {
+        int[] counts = new int[labelCount];
+        if (text != null) {
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                state = next(state, text.charAt(i));
+                for (int label : outputLabels[state]) {
+                    counts[label]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    int next(int state, char c) {
+        return transitions[state * alphabetSize + charClass[Character.toLowerCase(c)]];
+    }
+
+    int[] labels(int state) {
+        return outputLabels[state];
+    }
+
+    int[] lengths(int state) {
+        return outputLengths[state];
+    }
+}
@@ -0,0 +1,144 @@
+package com.document.analyzer.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive multi-keyword matcher backed by a {@link KeywordAutomaton}.
+ * A compiled matcher is immutable and can be shared between threads; every call to
+ * {@link #match(CharSequence)} scans the input exactly once and reports hit counts and
+ * start positions per label.
+ */
+public final class KeywordMatcher<L extends Enum<L>> {
+
+    static final int MAX_RECORDED_POSITIONS = 1024;
+
+    private final Class<L> labelType;
+    private final KeywordAutomaton automaton;
+    private final L[] labels;
+
+    private KeywordMatcher(Class<L> labelType, KeywordAutomaton automaton) {
+        this.labelType = labelType;
+        this.automaton = automaton;
+        this.labels = labelType.getEnumConstants();
+    }
+
+    public static <L extends Enum<L>> Builder<L> builder(Class<L> labelType) {
+        return new Builder<>(labelType);
+    }
+
+    public Matches<L> match(CharSequence text) {
+        Scan scan = new Scan();
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                scan.accept(text.charAt(i));
+            }
+        }
+        return scan.toMatches();
+    }
+
+    private final class Scan {
+        private final int[] counts = new int[labels.length];
+        private final int[][] positions = new int[labels.length][];
+        private final int[] recorded = new int[labels.length];
+        private int state;
+        private long offset;
+
+        void accept(char c) {
+            state = automaton.next(state, c);
+            int[] hits = automaton.labels(state);
+            for (int i = 0; i < hits.length; i++) {
+                int label = hits[i];
+                counts[label]++;
+                if (recorded[label] < MAX_RECORDED_POSITIONS) {
+                    if (positions[label] == null) {
+                        positions[label] = new int[8];
+                    } else if (recorded[label] == positions[label].length) {
+                        positions[label] = Arrays.copyOf(positions[label], positions[label].length * 2);
+                    }
+                    positions[label][recorded[label]++] = (int) Math.min(Integer.MAX_VALUE,
+                            offset - automaton.lengths(state)[i] + 1);
+                }
+            }
+            offset++;
+        }
+
+        Matches<L> toMatches() {
+            Map<L, Integer> countMap = new EnumMap<>(labelType);
+            Map<L, List<Integer>> positionMap = new EnumMap<>(labelType);
+            for (int i = 0; i < labels.length; i++) {
+                if (counts[i] > 0) {
+                    countMap.put(labels[i], counts[i]);
+                    List<Integer> labelPositions = new ArrayList<>(recorded[i]);
+                    for (int j = 0; j < recorded[i]; j++) {
+                        labelPositions.add(positions[i][j]);
+                    }
+                    positionMap.put(labels[i], Collections.unmodifiableList(labelPositions));
+                }
+            }
+            return new Matches<>(countMap, positionMap, offset);
+        }
+    }
+
+    public static final class Matches<L extends Enum<L>> {
+        private final Map<L, Integer> counts;
+        private final Map<L, List<Integer>> positions;
+        private final long scannedLength;
+
+        private Matches(Map<L, Integer> counts, Map<L, List<Integer>> positions, long scannedLength) {
+            this.counts = Collections.unmodifiableMap(counts);
+            this.positions = Collections.unmodifiableMap(positions);
+            this.scannedLength = scannedLength;
+        }
+
+        public boolean contains(L label) {
+            return counts.containsKey(label);
+        }
+
+        public int count(L label) {
+            return counts.getOrDefault(label, 0);
+        }
+
+        /**
+         * Start offsets of the first {@value KeywordMatcher#MAX_RECORDED_POSITIONS} hits for the label,
+         * in scan order. {@link #count(Enum)} keeps counting past that cap.
+         */
+        public List<Integer> positions(L label) {
+            return positions.getOrDefault(label, List.of());
+        }
+
+        public Map<L, Integer> counts() {
+            return counts;
+        }
+
+        public long scannedLength() {
+            return scannedLength;
+        }
+    }
+
+    public static final class Builder<L extends Enum<L>> {
+        private final Class<L> labelType;
+        private final Map<String, List<Integer>> keywords = new LinkedHashMap<>();
+
+        private Builder(Class<L> labelType) {
+            this.labelType = labelType;
+        }
+
+        public Builder<L> add(L label, String... terms) {
+            for (String term : terms) {
+                KeywordAutomaton.addKeyword(keywords, term, label.ordinal());
+            }
+            return this;
+        }
+
+        public KeywordMatcher<L> build() {
+            return new KeywordMatcher<>(labelType,
+                    KeywordAutomaton.compile(keywords, labelType.getEnumConstants().length));
+        }
+    }
+}
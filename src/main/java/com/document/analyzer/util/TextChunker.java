@@ -0,0 +1,110 @@
+package com.document.analyzer.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits long text into chunks that fit a token budget, cutting on paragraph or section
+ * boundaries first and only falling back to sentence and word boundaries for oversized
+ * paragraphs. Tokens are estimated at {@value #CHARS_PER_TOKEN} characters each.
+ */
+public final class TextChunker {
+
+    static final int CHARS_PER_TOKEN = 4;
+
+    private static final Pattern PARAGRAPH_BOUNDARY = Pattern.compile(
+            "\\n\\s*\\n|\\n(?=\\s*(?:\\d+(?:\\.\\d+)*\\.?|section|article|clause|schedule)\\s)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SENTENCE_BOUNDARY = Pattern.compile("(?<=[.!?;])\\s+");
+
+    private TextChunker() {
+    }
+
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public static List<String> chunk(String text, int maxTokens) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive");
+        }
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        int maxChars = maxTokens * CHARS_PER_TOKEN;
+        if (text.length() <= maxChars) {
+            return List.of(text.strip());
+        }
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BOUNDARY.split(text)) {
+            String trimmed = paragraph.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            for (String piece : fit(trimmed, maxChars)) {
+                if (current.length() > 0 && current.length() + 2 + piece.length() > maxChars) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append("\n\n");
+                }
+                current.append(piece);
+            }
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    private static List<String> fit(String paragraph, int maxChars) {
+        if (paragraph.length() <= maxChars) {
+            return List.of(paragraph);
+        }
+        List<String> pieces = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String sentence : SENTENCE_BOUNDARY.split(paragraph)) {
+            if (current.length() > 0 && current.length() + 1 + sentence.length() > maxChars) {
+                pieces.add(current.toString());
+                current.setLength(0);
+            }
+            if (sentence.length() > maxChars) {
+                pieces.addAll(splitOnWhitespace(sentence, maxChars));
+                continue;
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(sentence);
+        }
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+        return pieces;
+    }
+
+    private static List<String> splitOnWhitespace(String sentence, int maxChars) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < sentence.length()) {
+            int end = Math.min(start + maxChars, sentence.length());
+            if (end < sentence.length()) {
+                int space = sentence.lastIndexOf(' ', end);
+                if (space > start) {
+                    end = space;
+                }
+            }
+            String piece = sentence.substring(start, end).strip();
+            if (!piece.isEmpty()) {
+                pieces.add(piece);
+            }
+            start = end;
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,93 @@
+-- H2 has no deployed databases to upgrade, so its baseline is the PostgreSQL schema
+-- as of V3, with VARCHAR standing in for TEXT. Later versions mirror the PostgreSQL migrations.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE documents_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE classifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE risk_analyses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE document_content_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT DEFAULT NEXT VALUE FOR users_seq PRIMARY KEY,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL,
+    active BOOLEAN DEFAULT TRUE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE document_content (
+    id BIGINT DEFAULT NEXT VALUE FOR document_content_seq PRIMARY KEY,
+    extracted_text VARCHAR,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE documents (
+    id BIGINT DEFAULT NEXT VALUE FOR documents_seq PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    file_size BIGINT NOT NULL,
+    document_type VARCHAR(50) NOT NULL,
+    content_hash VARCHAR(64),
+    content_id BIGINT,
+    user_id BIGINT NOT NULL,
+    processing_status VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (content_id) REFERENCES document_content(id) ON DELETE SET NULL
+);
+
+CREATE TABLE classifications (
+    id BIGINT DEFAULT NEXT VALUE FOR classifications_seq PRIMARY KEY,
+    document_id BIGINT NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    confidence FLOAT NOT NULL,
+    classification_reason VARCHAR,
+    raw_classification_result VARCHAR,
+    version INTEGER NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE
+);
+
+CREATE TABLE risk_analyses (
+    id BIGINT DEFAULT NEXT VALUE FOR risk_analyses_seq PRIMARY KEY,
+    document_id BIGINT NOT NULL,
+    overall_risk_level VARCHAR(50) NOT NULL,
+    risk_score FLOAT NOT NULL,
+    identified_risks VARCHAR,
+    mitigation_recommendations VARCHAR,
+    raw_analysis_result VARCHAR,
+    framework VARCHAR(50) NOT NULL,
+    reviewed BOOLEAN DEFAULT FALSE NOT NULL,
+    review_notes VARCHAR(500),
+    reviewed_by_user_id BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE,
+    FOREIGN KEY (reviewed_by_user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_users_email ON users(email);
+CREATE INDEX idx_users_role ON users(role);
+CREATE INDEX idx_users_active ON users(active);
+
+CREATE INDEX idx_documents_user_id ON documents(user_id);
+CREATE INDEX idx_documents_processing_status ON documents(processing_status);
+CREATE INDEX idx_documents_document_type ON documents(document_type);
+CREATE INDEX idx_documents_content_hash ON documents(content_hash);
+CREATE INDEX idx_documents_content_id ON documents(content_id);
+
+CREATE INDEX idx_classifications_document_id ON classifications(document_id);
+CREATE INDEX idx_classifications_category ON classifications(category);
+CREATE INDEX idx_classifications_confidence ON classifications(confidence);
+
+CREATE INDEX idx_risk_analyses_document_id ON risk_analyses(document_id);
+CREATE INDEX idx_risk_analyses_overall_risk_level ON risk_analyses(overall_risk_level);
+CREATE INDEX idx_risk_analyses_risk_score ON risk_analyses(risk_score);
+CREATE INDEX idx_risk_analyses_reviewed ON risk_analyses(reviewed);
+CREATE INDEX idx_risk_analyses_framework ON risk_analyses(framework);
+CREATE INDEX idx_risk_analyses_reviewed_by ON risk_analyses(reviewed_by_user_id);
@@ -0,0 +1,22 @@
+-- Same indexes as the PostgreSQL V4. H2 has no partial indexes, so the unreviewed
+-- subset is covered by composites led by the reviewed flag.
+DROP INDEX IF EXISTS idx_users_email;
+
+DROP INDEX IF EXISTS idx_documents_user_id;
+CREATE INDEX idx_documents_user_id ON documents(user_id, id);
+DROP INDEX IF EXISTS idx_documents_processing_status;
+CREATE INDEX idx_documents_processing_status ON documents(processing_status, id);
+
+DROP INDEX IF EXISTS idx_classifications_category;
+CREATE INDEX idx_classifications_category ON classifications(category, id);
+
+DROP INDEX IF EXISTS idx_risk_analyses_overall_risk_level;
+CREATE INDEX idx_risk_analyses_overall_risk_level ON risk_analyses(overall_risk_level, id);
+DROP INDEX IF EXISTS idx_risk_analyses_framework;
+CREATE INDEX idx_risk_analyses_framework ON risk_analyses(framework, id);
+DROP INDEX IF EXISTS idx_risk_analyses_reviewed_by;
+CREATE INDEX idx_risk_analyses_reviewed_by ON risk_analyses(reviewed_by_user_id, id);
+
+DROP INDEX IF EXISTS idx_risk_analyses_reviewed;
+CREATE INDEX idx_risk_analyses_unreviewed ON risk_analyses(reviewed, id);
+CREATE INDEX idx_risk_analyses_unreviewed_document ON risk_analyses(reviewed, document_id);
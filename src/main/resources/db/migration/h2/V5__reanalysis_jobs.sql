@@ -0,0 +1,22 @@
+-- Checkpoints for corpus-wide re-analysis. last_document_id is written in the same
+-- transaction as each chunk of results, so a resumed job continues right after it.
+CREATE SEQUENCE reanalysis_jobs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE reanalysis_jobs (
+    id BIGINT DEFAULT NEXT VALUE FOR reanalysis_jobs_seq PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    framework VARCHAR(50) NOT NULL,
+    max_document_id BIGINT NOT NULL,
+    last_document_id BIGINT NOT NULL,
+    total BIGINT NOT NULL,
+    processed BIGINT NOT NULL,
+    failed BIGINT NOT NULL,
+    run_start_processed BIGINT NOT NULL,
+    run_started_at TIMESTAMP NOT NULL,
+    error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_reanalysis_jobs_status ON reanalysis_jobs(status);
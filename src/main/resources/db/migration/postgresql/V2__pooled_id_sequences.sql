@@ -0,0 +1,32 @@
+-- Replace the generated id columns with sequences whose INCREMENT BY matches the entities'
+-- allocationSize, so Hibernate hands out 50 ids per round trip and can batch inserts. Each
+-- sequence starts past the current maximum id. Databases created from schema.sql have
+-- BIGSERIAL ids; those created by ddl-auto=update have identity columns, which must lose
+-- their identity before they can take a default (a no-op on BIGSERIAL columns).
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_documents_content_hash ON documents(content_hash);
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS documents_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS classifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS risk_analyses_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50);
+SELECT setval('documents_seq', COALESCE((SELECT MAX(id) FROM documents), 0) + 50);
+SELECT setval('classifications_seq', COALESCE((SELECT MAX(id) FROM classifications), 0) + 50);
+SELECT setval('risk_analyses_seq', COALESCE((SELECT MAX(id) FROM risk_analyses), 0) + 50);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE documents ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE classifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE risk_analyses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE documents ALTER COLUMN id SET DEFAULT nextval('documents_seq');
+ALTER TABLE classifications ALTER COLUMN id SET DEFAULT nextval('classifications_seq');
+ALTER TABLE risk_analyses ALTER COLUMN id SET DEFAULT nextval('risk_analyses_seq');
+
+DROP SEQUENCE IF EXISTS users_id_seq;
+DROP SEQUENCE IF EXISTS documents_id_seq;
+DROP SEQUENCE IF EXISTS classifications_id_seq;
+DROP SEQUENCE IF EXISTS risk_analyses_id_seq;
@@ -0,0 +1,24 @@
+-- Move extracted text out of documents so listing queries never read it. Every existing
+-- document with text gets its own content row; new deduplicated uploads share one.
+CREATE SEQUENCE IF NOT EXISTS document_content_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE document_content (
+    id BIGINT PRIMARY KEY DEFAULT nextval('document_content_seq'),
+    extracted_text TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    source_document_id BIGINT
+);
+
+INSERT INTO document_content (extracted_text, created_at, source_document_id)
+SELECT extracted_text, created_at, id FROM documents WHERE extracted_text IS NOT NULL;
+
+ALTER TABLE documents ADD COLUMN content_id BIGINT REFERENCES document_content(id) ON DELETE SET NULL;
+
+UPDATE documents d SET content_id = c.id
+FROM document_content c
+WHERE c.source_document_id = d.id;
+
+ALTER TABLE document_content DROP COLUMN source_document_id;
+ALTER TABLE documents DROP COLUMN extracted_text;
+
+CREATE INDEX idx_documents_content_id ON documents(content_id);
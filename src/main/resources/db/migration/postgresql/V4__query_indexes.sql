@@ -0,0 +1,24 @@
+-- Indexes shaped after the repository finders. Listing filters are paired with id so a
+-- keyset page (filter AND id < cursor ORDER BY id DESC LIMIT n) is one index range scan.
+DROP INDEX IF EXISTS idx_users_email;
+
+DROP INDEX IF EXISTS idx_documents_user_id;
+CREATE INDEX idx_documents_user_id ON documents(user_id, id);
+DROP INDEX IF EXISTS idx_documents_processing_status;
+CREATE INDEX idx_documents_processing_status ON documents(processing_status, id);
+
+DROP INDEX IF EXISTS idx_classifications_category;
+CREATE INDEX idx_classifications_category ON classifications(category, id);
+
+DROP INDEX IF EXISTS idx_risk_analyses_overall_risk_level;
+CREATE INDEX idx_risk_analyses_overall_risk_level ON risk_analyses(overall_risk_level, id);
+DROP INDEX IF EXISTS idx_risk_analyses_framework;
+CREATE INDEX idx_risk_analyses_framework ON risk_analyses(framework, id);
+DROP INDEX IF EXISTS idx_risk_analyses_reviewed_by;
+CREATE INDEX idx_risk_analyses_reviewed_by ON risk_analyses(reviewed_by_user_id, id);
+
+-- Unreviewed analyses are the small, hot subset: the review queue pages them by id and
+-- the per-user pending list joins them by document
+DROP INDEX IF EXISTS idx_risk_analyses_reviewed;
+CREATE INDEX idx_risk_analyses_unreviewed ON risk_analyses(id) WHERE reviewed = false;
+CREATE INDEX idx_risk_analyses_unreviewed_document ON risk_analyses(document_id) WHERE reviewed = false;
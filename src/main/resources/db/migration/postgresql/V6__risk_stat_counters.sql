@@ -0,0 +1,24 @@
+-- Running counts behind /api/risk-analysis/stats. Services add +1/-1 deltas in the same
+-- transaction as each analysis or classification write; seeded here from existing rows.
+CREATE TABLE risk_stat_counters (
+    dimension VARCHAR(30) NOT NULL,
+    bucket VARCHAR(50) NOT NULL,
+    total BIGINT NOT NULL,
+    PRIMARY KEY (dimension, bucket)
+);
+
+INSERT INTO risk_stat_counters (dimension, bucket, total)
+SELECT 'RISK_LEVEL', overall_risk_level, COUNT(*) FROM risk_analyses GROUP BY overall_risk_level
+UNION ALL
+SELECT 'FRAMEWORK', framework, COUNT(*) FROM risk_analyses GROUP BY framework
+UNION ALL
+SELECT 'REVIEW_STATUS', CASE WHEN reviewed THEN 'REVIEWED' ELSE 'PENDING' END, COUNT(*)
+FROM risk_analyses GROUP BY reviewed
+UNION ALL
+SELECT 'REVIEWER', CAST(reviewed_by_user_id AS VARCHAR(50)), COUNT(*)
+FROM risk_analyses WHERE reviewed AND reviewed_by_user_id IS NOT NULL GROUP BY reviewed_by_user_id
+UNION ALL
+SELECT 'DAY', bucket, COUNT(*)
+FROM (SELECT CAST(CAST(created_at AS DATE) AS VARCHAR(50)) AS bucket FROM risk_analyses) days GROUP BY bucket
+UNION ALL
+SELECT 'CATEGORY', category, COUNT(*) FROM classifications GROUP BY category;
@@ -0,0 +1,194 @@
+package com.document.analyzer;
+
+import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts the application twice, once on Tomcat's platform-thread pool and once with
+ * {@code spring.threads.virtual.enabled=true}, and pushes the same number of concurrent
+ * uploads through {@code /api/documents/upload} in each, followed by concurrent
+ * {@code /api/analyze} requests whose texts all miss the analysis cache, each text sent twice
+ * at once so the second caller waits on the first one's analysis. Runs only with
+ * {@code -Dbenchmark=true}; uses in-memory H2 unless {@code benchmark.jdbc-url},
+ * {@code benchmark.jdbc-user} and {@code benchmark.jdbc-password} point at PostgreSQL, where
+ * request threads spend most of their time waiting on the database.
+ *
+ * <pre>mvn test -Dtest=ConcurrentUploadLoadTest -Dbenchmark=true -Dbenchmark.concurrency=400</pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConcurrentUploadLoadTest {
+
+    private static final int UPLOADS = Integer.getInteger("benchmark.uploads", 2_000);
+    private static final int ANALYSES = Integer.getInteger("benchmark.analyses", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final String BOUNDARY = "load-test-boundary";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareVirtualAndPlatformThreadUploads() throws Exception {
+        Run platform = run(false);
+        Run virtual = run(true);
+
+        log.info(String.format("Platform threads: %,8.0f uploads/s, p50 %5d ms, p99 %5d ms; %,8.0f analyses/s, p99 %5d ms",
+                platform.uploads().throughput(), platform.uploads().percentile(50), platform.uploads().percentile(99),
+                platform.analyses().throughput(), platform.analyses().percentile(99)));
+        log.info(String.format("Virtual threads:  %,8.0f uploads/s, p50 %5d ms, p99 %5d ms; %,8.0f analyses/s, p99 %5d ms; "
+                        + "%.2fx uploads, %d pinned",
+                virtual.uploads().throughput(), virtual.uploads().percentile(50), virtual.uploads().percentile(99),
+                virtual.analyses().throughput(), virtual.analyses().percentile(99),
+                virtual.uploads().throughput() / platform.uploads().throughput(), virtual.pinned()));
+        assertEquals(0, virtual.pinned(), "virtual threads pinned during the run, see the log for the call sites");
+    }
+
+    private Run run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url",
+                "jdbc:h2:mem:upload-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        boolean postgres = jdbcUrl.startsWith("jdbc:postgresql:");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DocumentAnalyzerApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + System.getProperty("benchmark.jdbc-user", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.jdbc-password", ""),
+                        "--spring.datasource.driver-class-name=" + (postgres ? "org.postgresql.Driver" : "org.h2.Driver"),
+                        "--spring.jpa.database-platform=" + (postgres
+                                ? "org.hibernate.dialect.PostgreSQLDialect" : "org.hibernate.dialect.H2Dialect"),
+                        "--app.document.upload-dir=" + tempDir.resolve(mode),
+                        "--app.reanalysis.resume-on-startup=false",
+                        "--logging.level.com.document.analyzer=WARN",
+                        "--logging.level." + ConcurrentUploadLoadTest.class.getName() + "=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Long userId = context.getBean(UserRepository.class).save(User.builder()
+                    .email(mode + "-" + System.nanoTime() + "@example.com")
+                    .firstName("Load")
+                    .lastName("Test")
+                    .passwordHash("hash")
+                    .role(User.UserRole.ANALYST)
+                    .active(true)
+                    .build()).getId();
+            URI uploadUri = URI.create("http://localhost:" + port + "/api/documents/upload");
+            URI analyzeUri = URI.create("http://localhost:" + port + "/api/analyze");
+
+            // one upload first creates the statistics counter rows, whose concurrent first insert
+            // is not race-free on H2; then a warm-up so JIT and connection pools do not skew the run
+            send(1, 1, i -> uploadRequest(uploadUri, userId, mode + "-seed"), 201);
+            send(UPLOADS / 10, CONCURRENCY, i -> uploadRequest(uploadUri, userId, mode + "-warmup-" + i), 201);
+            Result uploads = send(UPLOADS, CONCURRENCY, i -> uploadRequest(uploadUri, userId, mode + "-" + i), 201);
+            Result analyses = send(ANALYSES, CONCURRENCY, i -> analyzeRequest(analyzeUri, mode + "-" + i / 2), 200);
+
+            Timer pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+            return new Run(uploads, analyses, pinned != null ? pinned.count() : 0);
+        }
+    }
+
+    private Result send(int requests, int concurrency, IntFunction<HttpRequest> request, int expectedStatus)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger succeeded = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                clients.execute(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request.apply(index),
+                                HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = System.nanoTime() - sent;
+                        if (response.statusCode() == expectedStatus) {
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        latencies[index] = Long.MAX_VALUE;
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        assertEquals(requests, succeeded.get());
+        return new Result(nanos, latencies);
+    }
+
+    // distinct content per upload so none of them is short-circuited as a duplicate
+    private HttpRequest uploadRequest(URI uri, Long userId, String name) {
+        String text = text(name);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + name + ".txt\"\r\n"
+                + "Content-Type: text/plain\r\n\r\n" + text + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"userId\"\r\n\r\n" + userId + "\r\n"
+                + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest analyzeRequest(URI uri, String name) {
+        String json = "{\"text\": \"" + text(name).replace("\n", "\\n") + "\", \"fileName\": \"" + name + ".txt\"}";
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String text(String name) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append(name).append(": the supplier shall indemnify the customer against liability, ")
+                    .append("confidential data breach and termination penalties. Clause ").append(i).append(".\n");
+        }
+        return text.toString();
+    }
+
+    private record Run(Result uploads, Result analyses, long pinned) {
+    }
+
+    private record Result(long nanos, long[] latencies) {
+
+        double throughput() {
+            return latencies.length / (nanos / 1e9);
+        }
+
+        long percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.document.analyzer.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadTaskExecutorTest {
+
+    @Test
+    void testRunsTasksOnVirtualThreadsAndRejectsBeyondLimit() throws InterruptedException {
+        VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("test-", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        Runnable blocking = () -> {
+            virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(blocking);
+        executor.execute(blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+
+        release.countDown();
+        CountDownLatch admitted = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admitted.getCount() > 0 && System.nanoTime() < deadline) {
+            try {
+                executor.execute(admitted::countDown);
+            } catch (TaskRejectedException e) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        assertTrue(virtual.get());
+        executor.close();
+    }
+}
@@ -2,22 +2,32 @@ package com.document.analyzer.controller;
 
 import com.document.analyzer.domain.AnalysisRequest;
 import com.document.analyzer.domain.AnalysisResponse;
+import com.document.analyzer.service.AnalysisResultCache;
 import com.document.analyzer.service.DocumentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -30,11 +40,15 @@ class DocumentControllerTest {
     @Mock
     private DocumentService documentService;
 
-    @InjectMocks
+    @Mock
+    private AnalysisResultCache analysisResultCache;
+
     private DocumentController documentController;
 
     @BeforeEach
     void setUp() {
+        documentController = new DocumentController(documentService, analysisResultCache,
+                new SyncTaskExecutor(), Duration.ofSeconds(5));
         mockMvc = MockMvcBuilders.standaloneSetup(documentController).build();
     }
 
@@ -123,4 +137,72 @@ class DocumentControllerTest {
                 .andExpect(jsonPath("$.keyPoints[0]").value("Confidentiality clause"))
                 .andExpect(jsonPath("$.risks[0].level").value("HIGH"));
     }
+
+    @Test
+    void testCacheStatsEndpoint() throws Exception {
+        when(analysisResultCache.getStats()).thenReturn(Map.of("hits", 3L, "misses", 1L, "evictions", 0L));
+
+        mockMvc.perform(get("/api/analyze/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(3))
+                .andExpect(jsonPath("$.misses").value(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAnalyzeStreamEmitsEventsInOrder() throws Exception {
+        doAnswer(invocation -> {
+            BiConsumer<String, Object> events = invocation.getArgument(1);
+            events.accept("classification", Map.of("documentType", "NDA"));
+            events.accept("summary", "Streamed summary");
+            events.accept("risk", Map.of("level", "HIGH"));
+            events.accept("sanity", Map.of("valid", true));
+            return null;
+        }).when(documentService).analyzeStreaming(any(AnalysisRequest.class), any(BiConsumer.class));
+
+        MvcResult result = mockMvc.perform(post("/api/analyze/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"NDA document content\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        int classification = body.indexOf("event:classification");
+        int summary = body.indexOf("event:summary");
+        int risk = body.indexOf("event:risk");
+        int sanity = body.indexOf("event:sanity");
+        assertTrue(classification >= 0 && classification < summary && summary < risk && risk < sanity, body);
+        assertTrue(body.contains("data:Streamed summary"), body);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAnalyzeStreamReportsAnalysisErrorAsEvent() throws Exception {
+        doThrow(new IllegalStateException("Analysis failed sanity check"))
+                .when(documentService).analyzeStreaming(any(AnalysisRequest.class), any(BiConsumer.class));
+
+        MvcResult result = mockMvc.perform(post("/api/analyze/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"Valid document content\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error"), body);
+        assertTrue(body.contains("Analysis Error"), body);
+    }
+
+    @Test
+    void testAnalyzeStreamRejectsInvalidRequestBeforeStreaming() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/analyze/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\": \"\", \"fileName\": \"test.txt\"}"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error"), body);
+        assertTrue(body.contains("Validation Error"), body);
+        verifyNoInteractions(documentService);
+    }
 }
@@ -0,0 +1,150 @@
+package com.document.analyzer.controller;
+
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.service.BatchIngestionService;
+import com.document.analyzer.service.DocumentDownloadService;
+import com.document.analyzer.service.DocumentIngestionService;
+import com.document.analyzer.service.UploadService;
+import com.document.analyzer.storage.DocumentStorage;
+import com.document.analyzer.storage.LocalDocumentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class UploadControllerTest {
+
+    private static final String CONTENT = "%PDF-1.4 quarterly payment agreement";
+
+    @Mock
+    private UploadService uploadService;
+
+    @Mock
+    private DocumentIngestionService documentIngestionService;
+
+    @Mock
+    private BatchIngestionService batchIngestionService;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @TempDir
+    Path storageDir;
+
+    private MockMvc mockMvc;
+    private DocumentStorage documentStorage;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        documentStorage = new LocalDocumentStorage(storageDir);
+        DocumentStorage.StoredObject stored = documentStorage.store(
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), "report.pdf", 1024);
+        etag = "\"" + stored.contentHash() + "\"";
+        Document document = Document.builder()
+                .id(1L)
+                .fileName("report.pdf")
+                .filePath(stored.location())
+                .fileSize(stored.size())
+                .contentHash(stored.contentHash())
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 0))
+                .build();
+        lenient().when(documentRepository.findById(1L)).thenReturn(Optional.of(document));
+
+        UploadController controller = new UploadController(uploadService, documentIngestionService,
+                batchIngestionService, new DocumentDownloadService(documentRepository, documentStorage));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void testDownloadServesWholeFileWithValidators() throws Exception {
+        mockMvc.perform(get("/api/documents/1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void testDownloadServesRequestedRange() throws Exception {
+        mockMvc.perform(get("/api/documents/1/download").header(HttpHeaders.RANGE, "bytes=9-17"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-17/" + CONTENT.length()))
+                .andExpect(content().string("quarterly"));
+    }
+
+    @Test
+    void testDownloadIgnoresRangeWhenIfRangeIsStale() throws Exception {
+        mockMvc.perform(get("/api/documents/1/download")
+                        .header(HttpHeaders.RANGE, "bytes=9-17")
+                        .header(HttpHeaders.IF_RANGE, "\"outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void testDownloadRejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/documents/1/download").header(HttpHeaders.RANGE, "bytes=500-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length()));
+    }
+
+    @Test
+    void testDownloadAnswersNotModifiedForMatchingEtag() throws Exception {
+        mockMvc.perform(get("/api/documents/1/download").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testDownloadHandsLargeLocalFilesToSendfile() throws Exception {
+        byte[] large = new byte[64 * 1024];
+        DocumentStorage.StoredObject stored = documentStorage.store(new ByteArrayInputStream(large), "scan.pdf", large.length);
+        when(documentRepository.findById(2L)).thenReturn(Optional.of(Document.builder()
+                .id(2L).fileName("scan.pdf").filePath(stored.location()).contentHash(stored.contentHash()).build()));
+
+        MvcResult result = mockMvc.perform(get("/api/documents/2/download")
+                        .header(HttpHeaders.RANGE, "bytes=1024-")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, large.length - 1024))
+                .andReturn();
+
+        assertEquals(storageDir.resolve(stored.location()).toRealPath().toString(),
+                result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(1024L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) large.length, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void testDownloadUnknownDocumentIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/documents/9/download"))
+                .andExpect(status().isNotFound());
+    }
+}
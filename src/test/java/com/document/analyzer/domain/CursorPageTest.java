@@ -0,0 +1,50 @@
+package com.document.analyzer.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    @Test
+    void testRequestClampsSizeAndFetchesOneExtraRow() {
+        assertEquals(11, CursorPage.request(10).getPageSize());
+        assertEquals(2, CursorPage.request(0).getPageSize());
+        assertEquals(CursorPage.MAX_SIZE + 1, CursorPage.request(100_000).getPageSize());
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        CursorPage<Long> page = CursorPage.of(List.of(9L, 8L), CursorPage.request(3), Function.identity());
+
+        assertEquals(List.of(9L, 8L), page.getItems());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorRoundTripsLastReturnedId() {
+        Pageable request = CursorPage.request(2);
+        CursorPage<Long> page = CursorPage.of(List.of(9L, 8L, 7L), request, Function.identity());
+
+        assertEquals(List.of(9L, 8L), page.getItems());
+        assertTrue(page.isHasMore());
+        assertEquals(8L, CursorPage.beforeId(page.getNextCursor()));
+    }
+
+    @Test
+    void testMissingCursorStartsFromNewest() {
+        assertEquals(Long.MAX_VALUE, CursorPage.beforeId(null));
+        assertEquals(Long.MAX_VALUE, CursorPage.beforeId(""));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(CursorPage.InvalidCursorException.class, () -> CursorPage.beforeId("not a cursor!"));
+        assertThrows(CursorPage.InvalidCursorException.class, () -> CursorPage.beforeId("MTIz"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.document.analyzer.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records the SQL Hibernate prepares, so plan tests can EXPLAIN exactly what a finder runs.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class CapturedStatements implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the finder and returns the one statement it sent to the database.
+     */
+    static String of(Supplier<?> finder) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        finder.get();
+        synchronized (STATEMENTS) {
+            if (STATEMENTS.size() != 1) {
+                throw new AssertionError("expected one statement, got " + STATEMENTS);
+            }
+            return STATEMENTS.get(0);
+        }
+    }
+}
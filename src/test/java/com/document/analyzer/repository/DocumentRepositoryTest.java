@@ -0,0 +1,176 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.domain.CursorPage;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DocumentRepositoryTest {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("batch@example.com")
+                .firstName("Batch")
+                .lastName("User")
+                .passwordHash("hash")
+                .role(User.UserRole.ANALYST)
+                .active(true)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void testSaveAllUsesPooledSequenceAndBatchedInserts() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Document> documents = new ArrayList<>();
+        IntStream.range(0, 120).forEach(i -> documents.add(Document.builder()
+                .fileName("doc-" + i + ".txt")
+                .filePath("/uploads/doc-" + i + ".txt")
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.PENDING)
+                .build()));
+
+        documentRepository.saveAll(documents);
+        entityManager.flush();
+
+        assertEquals(120, documents.stream().map(Document::getId).distinct().count());
+        // 120 ids from a 50-wide pool take 3 sequence calls; 120 inserts take 3 JDBC batches
+        long prepared = statistics.getPrepareStatementCount();
+        assertTrue(prepared >= 3 && prepared <= 6, "prepared statements: " + prepared);
+    }
+
+    @Test
+    void testContentIsStoredSeparatelyAndLoadedLazily() {
+        Document saved = documentRepository.save(Document.builder()
+                .fileName("contract.txt")
+                .filePath("/uploads/contract.txt")
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .extractedText("Full contract text")
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.COMPLETED)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<DocumentSummary> summaries = documentRepository.findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(
+                user.getId(), Long.MAX_VALUE, CursorPage.request(10));
+        assertEquals(1, summaries.size());
+        assertEquals("contract.txt", summaries.get(0).getFileName());
+
+        Document loaded = documentRepository.findById(saved.getId()).orElseThrow();
+        assertFalse(Hibernate.isInitialized(loaded.getContent()));
+        assertEquals("Full contract text", loaded.getExtractedText());
+        assertEquals(1, documentRepository.countByContentId(loaded.getContent().getId()));
+    }
+
+    @Test
+    void testKeysetPagesVisitEveryDocumentOnceNewestFirst() {
+        List<Document> documents = new ArrayList<>();
+        IntStream.range(0, 25).forEach(i -> documents.add(Document.builder()
+                .fileName("page-" + i + ".txt")
+                .filePath("/uploads/page-" + i + ".txt")
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .uploadedBy(user)
+                .processingStatus(Document.ProcessingStatus.PENDING)
+                .build()));
+        documentRepository.saveAll(documents);
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Pageable request = CursorPage.request(10);
+            CursorPage<DocumentSummary> page = CursorPage.of(
+                    documentRepository.findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(
+                            user.getId(), CursorPage.beforeId(cursor), request),
+                    request, DocumentSummary::getId);
+            page.getItems().forEach(summary -> seen.add(summary.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        List<Long> expected = documents.stream().map(Document::getId)
+                .sorted(Comparator.reverseOrder()).toList();
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testReanalysisChunksReadCompletedDocumentsInIdOrderWithContent() {
+        List<Document> documents = new ArrayList<>();
+        IntStream.range(0, 5).forEach(i -> documents.add(Document.builder()
+                .fileName("rescore-" + i + ".txt")
+                .filePath("/uploads/rescore-" + i + ".txt")
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .extractedText("text " + i)
+                .uploadedBy(user)
+                .build()));
+        documentRepository.saveAll(documents);
+        entityManager.flush();
+        // @PrePersist stages every document as PENDING; complete all but the second
+        entityManager.createQuery("update Document d set d.processingStatus = :status where d.id <> :skipped")
+                .setParameter("status", Document.ProcessingStatus.COMPLETED)
+                .setParameter("skipped", documents.get(1).getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        Long maxId = documentRepository.findMaxId();
+        assertEquals(documents.get(4).getId(), maxId);
+        assertEquals(4, documentRepository.countByProcessingStatusAndIdLessThanEqual(
+                Document.ProcessingStatus.COMPLETED, maxId));
+
+        List<Document> first = documentRepository.findWithContentByStatusInIdRange(
+                Document.ProcessingStatus.COMPLETED, 0L, maxId, PageRequest.ofSize(2));
+        assertEquals(List.of(documents.get(0).getId(), documents.get(2).getId()),
+                first.stream().map(Document::getId).toList());
+        assertTrue(Hibernate.isInitialized(first.get(0).getContent()));
+        assertEquals("text 2", first.get(1).getExtractedText());
+
+        List<Document> rest = documentRepository.findWithContentByStatusInIdRange(
+                Document.ProcessingStatus.COMPLETED, first.get(1).getId(), documents.get(3).getId(),
+                PageRequest.ofSize(2));
+        assertEquals(List.of(documents.get(3).getId()), rest.stream().map(Document::getId).toList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.document.analyzer.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the statement pattern Hibernate produces for IDENTITY keys (one INSERT and
+ * generated-key fetch per row) with pooled sequences plus JDBC batching (one nextval per
+ * 50 rows, one batch per 50 inserts). Runs only with {@code -Dbenchmark=true}; uses an
+ * in-memory H2 database unless {@code benchmark.jdbc-url}, {@code benchmark.jdbc-user} and
+ * {@code benchmark.jdbc-password} point at PostgreSQL, where the round-trip savings show.
+ *
+ * <pre>mvn test -Dtest=InsertThroughputBenchmarkTest -Dbenchmark=true</pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int BATCH_SIZE = 50;
+
+    @Test
+    void compareIdentityAndBatchedSequenceInserts() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:insert-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.jdbc-user", "sa"),
+                System.getProperty("benchmark.jdbc-password", ""))) {
+            connection.setAutoCommit(false);
+            createTables(connection);
+
+            // warm-up so JIT and server-side plan caches do not skew the first run
+            insertWithIdentity(connection, ROWS / 10);
+            insertWithSequenceBatches(connection, ROWS / 10);
+            truncate(connection);
+
+            long identityNanos = time(() -> insertWithIdentity(connection, ROWS));
+            long sequenceNanos = time(() -> insertWithSequenceBatches(connection, ROWS));
+
+            assertEquals(ROWS, count(connection, "bench_identity"));
+            assertEquals(ROWS, count(connection, "bench_sequence"));
+
+            log.info("IDENTITY, row by row:      {} rows/s", String.format("%,10.0f", ROWS / (identityNanos / 1e9)));
+            log.info("SEQUENCE pooled + batched: {} rows/s ({}x)", String.format("%,10.0f", ROWS / (sequenceNanos / 1e9)),
+                    String.format("%.1f", (double) identityNanos / sequenceNanos));
+
+            dropTables(connection);
+        }
+    }
+
+    private void insertWithIdentity(Connection connection, int rows) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity (file_name, file_size, processing_status) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void insertWithSequenceBatches(Connection connection, int rows) throws SQLException {
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_sequence (id, file_name, file_size, processing_status) VALUES (?, ?, ?, ?)")) {
+            long nextId = 0;
+            long maxId = -1;
+            for (int i = 0; i < rows; i++) {
+                if (nextId > maxId) {
+                    try (ResultSet result = nextval.executeQuery()) {
+                        result.next();
+                        maxId = result.getLong(1);
+                        nextId = maxId - BATCH_SIZE + 1;
+                    }
+                }
+                insert.setLong(1, nextId++);
+                insert.setString(2, "doc-" + i + ".txt");
+                insert.setLong(3, 1024L);
+                insert.setString(4, "PENDING");
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void bind(PreparedStatement insert, int i) throws SQLException {
+        insert.setString(1, "doc-" + i + ".txt");
+        insert.setLong(2, 1024L);
+        insert.setString(3, "PENDING");
+    }
+
+    private void createTables(Connection connection) throws SQLException {
+        dropTables(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "file_name VARCHAR(255) NOT NULL, file_size BIGINT NOT NULL, processing_status VARCHAR(50) NOT NULL)");
+            statement.execute("CREATE SEQUENCE bench_seq START WITH " + BATCH_SIZE + " INCREMENT BY " + BATCH_SIZE);
+            statement.execute("CREATE TABLE bench_sequence (id BIGINT PRIMARY KEY, "
+                    + "file_name VARCHAR(255) NOT NULL, file_size BIGINT NOT NULL, processing_status VARCHAR(50) NOT NULL)");
+        }
+        connection.commit();
+    }
+
+    private void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM bench_identity");
+            statement.execute("DELETE FROM bench_sequence");
+        }
+        connection.commit();
+    }
+
+    private void dropTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_sequence");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_seq");
+        }
+        connection.commit();
+    }
+
+    private long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private long time(SqlRunnable runnable) throws SQLException {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface SqlRunnable {
+        void run() throws SQLException;
+    }
+}
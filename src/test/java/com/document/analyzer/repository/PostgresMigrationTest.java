@@ -0,0 +1,132 @@
+package com.document.analyzer.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL migrations on a real PostgreSQL server. Databases from before Flyway
+ * come in two shapes: schema.sql created BIGSERIAL ids (the same tables as V1), while
+ * {@code ddl-auto=update} created identity columns. Both are baselined at V1 and upgraded.
+ */
+class PostgresMigrationTest {
+
+    private static final List<String> POOLED_TABLES = List.of("users", "documents", "classifications", "risk_analyses");
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void testUpgradesDatabaseCreatedFromSchemaSql() throws IOException {
+        JdbcTemplate jdbc = database("from_schema_sql");
+        jdbc.execute(initialSchema());
+        seed(jdbc);
+
+        migrate(jdbc.getDataSource(), true);
+
+        assertUpgraded(jdbc);
+    }
+
+    @Test
+    void testUpgradesDatabaseCreatedByHibernate() throws IOException {
+        JdbcTemplate jdbc = database("from_hibernate");
+        jdbc.execute(initialSchema().replace("BIGSERIAL PRIMARY KEY", "BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY"));
+        seed(jdbc);
+        assertEquals(4, jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE column_name = 'id' AND is_identity = 'YES'", Integer.class));
+
+        migrate(jdbc.getDataSource(), true);
+
+        assertUpgraded(jdbc);
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE column_name = 'id' AND is_identity = 'YES'", Integer.class));
+    }
+
+    @Test
+    void testMigratesEmptyDatabase() {
+        JdbcTemplate jdbc = database("empty");
+
+        migrate(jdbc.getDataSource(), false);
+
+        assertEquals("6", jdbc.queryForObject("SELECT MAX(version) FROM flyway_schema_history", String.class));
+        long userId = jdbc.queryForObject("INSERT INTO users (email, first_name, last_name, password_hash, role) "
+                + "VALUES ('new@example.com', 'New', 'User', 'hash', 'ANALYST') RETURNING id", Long.class);
+        assertTrue(userId > 3, "sample users keep their ids");
+    }
+
+    private void assertUpgraded(JdbcTemplate jdbc) {
+        assertEquals("6", jdbc.queryForObject("SELECT MAX(version) FROM flyway_schema_history", String.class));
+        for (String table : POOLED_TABLES) {
+            String columnDefault = jdbc.queryForObject("SELECT column_default FROM information_schema.columns "
+                    + "WHERE table_name = ? AND column_name = 'id'", String.class, table);
+            assertTrue(columnDefault.contains(table + "_seq"), () -> table + ".id defaults to " + columnDefault);
+            long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long next = jdbc.queryForObject("SELECT nextval('" + table + "_seq')", Long.class);
+            assertTrue(next > maxId, () -> table + "_seq hands out " + next + " at max id " + maxId);
+        }
+
+        assertEquals("Signed agreement", jdbc.queryForObject("SELECT c.extracted_text FROM documents d "
+                + "JOIN document_content c ON c.id = d.content_id WHERE d.file_name = 'contract.txt'", String.class));
+        assertEquals(1, jdbc.queryForObject("SELECT total FROM risk_stat_counters "
+                + "WHERE dimension = 'REVIEW_STATUS' AND bucket = 'PENDING'", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT total FROM risk_stat_counters "
+                + "WHERE dimension = 'CATEGORY' AND bucket = 'CONTRACT'", Integer.class));
+
+        long documentId = jdbc.queryForObject("INSERT INTO documents (file_name, file_path, file_size, document_type, "
+                + "user_id, processing_status) SELECT 'new.txt', '/uploads/new.txt', 1, 'TXT', id, 'PENDING' "
+                + "FROM users WHERE email = 'analyst@example.com' RETURNING id", Long.class);
+        assertTrue(documentId > jdbc.queryForObject("SELECT MIN(id) FROM documents", Long.class));
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO documents (file_name, file_path, file_size, document_type, extracted_text, user_id, "
+                + "processing_status) SELECT 'contract.txt', '/uploads/contract.txt', 16, 'TXT', 'Signed agreement', id, "
+                + "'COMPLETED' FROM users WHERE email = 'analyst@example.com'");
+        jdbc.update("INSERT INTO classifications (document_id, category, confidence, version) "
+                + "SELECT id, 'CONTRACT', 0.9, 1 FROM documents");
+        jdbc.update("INSERT INTO risk_analyses (document_id, overall_risk_level, risk_score, framework) "
+                + "SELECT id, 'HIGH', 0.8, 'OWASP' FROM documents");
+    }
+
+    private static void migrate(DataSource dataSource, boolean baseline) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .baselineOnMigrate(baseline)
+                .load()
+                .migrate();
+    }
+
+    private static String initialSchema() throws IOException {
+        return new ClassPathResource("db/migration/postgresql/V1__initial_schema.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private static JdbcTemplate database(String name) {
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return new JdbcTemplate(new SingleConnectionDataSource(
+                postgres.getJdbcUrl("postgres", name), "postgres", "postgres", true));
+    }
+}
@@ -0,0 +1,103 @@
+package com.document.analyzer.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the unreviewed-analysis finders against the PostgreSQL partial indexes, which H2
+ * cannot express. The captured SQL is prepared with a generic plan, so the planner has to
+ * prove {@code reviewed = false} from the statement itself rather than from bound values.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.document.analyzer.repository.CapturedStatements")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostgresQueryPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 51);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RiskAnalysisRepository riskAnalysisRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 200; i++) {
+            jdbcTemplate.update("INSERT INTO documents (file_name, file_path, file_size, document_type, user_id, processing_status) "
+                    + "SELECT ?, ?, 10, 'TXT', id, 'COMPLETED' FROM users WHERE email = 'analyst@example.com'",
+                    "doc-" + i + ".txt", "/uploads/doc-" + i + ".txt");
+        }
+        jdbcTemplate.update("INSERT INTO risk_analyses (document_id, overall_risk_level, risk_score, framework, reviewed) "
+                + "SELECT id, 'HIGH', 0.8, 'OWASP', MOD(id, 10) <> 0 FROM documents");
+        jdbcTemplate.execute("ANALYZE risk_analyses");
+    }
+
+    @Test
+    void testReviewQueueUsesThePartialIndex() {
+        assertPlanUses("idx_risk_analyses_unreviewed", CapturedStatements.of(() ->
+                riskAnalysisRepository.findByReviewedFalseAndIdLessThanOrderByIdDesc(Long.MAX_VALUE, PAGE)));
+    }
+
+    @Test
+    void testPendingListOfAnUploaderUsesThePartialDocumentIndex() {
+        assertPlanUses("idx_risk_analyses_unreviewed_document", CapturedStatements.of(() ->
+                riskAnalysisRepository.findUnreviewedByUploaderId(1L, Long.MAX_VALUE, PAGE)));
+    }
+
+    // a sequential scan is cheapest on a table this small, so rule it out to see which index applies
+    private void assertPlanUses(String index, String sql) {
+        int parameters = 0;
+        StringBuilder numbered = new StringBuilder();
+        for (char c : sql.toCharArray()) {
+            numbered.append(c == '?' ? "$" + ++parameters : String.valueOf(c));
+        }
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE finder AS " + numbered);
+        try {
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN EXECUTE finder("
+                    + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")", String.class);
+            assertTrue(plan.stream().anyMatch(line -> line.contains(" " + index + " ")),
+                    () -> "expected " + index + " in plan:\n" + String.join("\n", plan));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE finder");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations on H2, lets Hibernate validate the entity mappings against
+ * them, and EXPLAINs the SQL the hot repository finders generate to check it is planned on
+ * the intended indexes. H2 has no partial indexes, so the unreviewed queue is checked
+ * against its H2 composite here; the PostgreSQL partial indexes are only verified by
+ * {@link PostgresQueryPlanTest}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.document.analyzer.repository.CapturedStatements"})
+class QueryPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 51);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ClassificationRepository classificationRepository;
+
+    @Autowired
+    private RiskAnalysisRepository riskAnalysisRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, first_name, last_name, password_hash, role) "
+                + "VALUES ('plan@example.com', 'Plan', 'User', 'hash', 'ANALYST')");
+        for (int i = 0; i < 200; i++) {
+            jdbcTemplate.update("INSERT INTO documents (file_name, file_path, file_size, document_type, user_id, processing_status) "
+                    + "SELECT ?, ?, 10, 'TXT', id, ? FROM users WHERE email = 'plan@example.com'",
+                    "doc-" + i + ".txt", "/uploads/doc-" + i + ".txt", i % 4 == 0 ? "PENDING" : "COMPLETED");
+        }
+        jdbcTemplate.update("INSERT INTO classifications (document_id, category, confidence, version) "
+                + "SELECT id, CASE WHEN MOD(id, 2) = 0 THEN 'CONTRACT' ELSE 'REPORT' END, 0.9, 1 FROM documents");
+        jdbcTemplate.update("INSERT INTO risk_analyses (document_id, overall_risk_level, risk_score, framework, reviewed) "
+                + "SELECT id, 'HIGH', 0.8, 'OWASP', MOD(id, 10) = 0 FROM documents");
+    }
+
+    @Test
+    void testDocumentListingsUseUserAndStatusIndexes() {
+        assertPlanUses("IDX_DOCUMENTS_USER_ID", CapturedStatements.of(() ->
+                documentRepository.findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(1L, 1000L, PAGE)));
+        assertPlanUses("IDX_DOCUMENTS_PROCESSING_STATUS", CapturedStatements.of(() ->
+                documentRepository.findSummariesByProcessingStatusAndIdLessThanOrderByIdDesc(
+                        Document.ProcessingStatus.PENDING, 1000L, PAGE)));
+        assertPlanUses("IDX_DOCUMENTS_CONTENT_HASH", CapturedStatements.of(() ->
+                documentRepository.findFirstByContentHashAndProcessingStatus("abc", Document.ProcessingStatus.COMPLETED)));
+    }
+
+    @Test
+    void testClassificationFindersUseIndexes() {
+        assertIndexLookup(CapturedStatements.of(() -> classificationRepository.findByDocumentId(7L)));
+        assertPlanUses("IDX_CLASSIFICATIONS_CATEGORY", CapturedStatements.of(() ->
+                classificationRepository.findByCategoryAndIdLessThanOrderByIdDesc(
+                        Classification.DocumentCategory.CONTRACT, 1000L, PAGE)));
+    }
+
+    @Test
+    void testRiskAnalysisFindersUseTheirIndexes() {
+        assertIndexLookup(CapturedStatements.of(() -> riskAnalysisRepository.findByDocumentId(7L)));
+        assertPlanUses("IDX_RISK_ANALYSES_UNREVIEWED", CapturedStatements.of(() ->
+                riskAnalysisRepository.findByReviewedFalseAndIdLessThanOrderByIdDesc(1000L, PAGE)));
+        assertPlanUses("IDX_RISK_ANALYSES_OVERALL_RISK_LEVEL", CapturedStatements.of(() ->
+                riskAnalysisRepository.findByOverallRiskLevelAndIdLessThanOrderByIdDesc(
+                        RiskAnalysis.RiskLevel.CRITICAL, 1000L, PAGE)));
+        // two ranges cannot share one index, so the score listing pages along the primary key
+        assertIndexLookup(CapturedStatements.of(() ->
+                riskAnalysisRepository.findByRiskScoreGreaterThanAndIdLessThanOrderByIdDesc(0.95f, 1000L, PAGE)));
+    }
+
+    // H2 indexes foreign keys on its own and may pick that index over ours
+    private void assertIndexLookup(String sql) {
+        String plan = explain(sql);
+        assertFalse(plan.contains("tableScan"), () -> "expected an index lookup in plan:\n" + plan);
+    }
+
+    private void assertPlanUses(String index, String sql) {
+        String plan = explain(sql);
+        assertTrue(plan.toUpperCase().contains(index), () -> "expected " + index + " in plan:\n" + plan);
+    }
+
+    // H2 picks indexes when it prepares the statement, before any value is bound
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            return statement;
+        }, (ResultSet rs) -> rs.next() ? rs.getString(1) : "");
+    }
+}
@@ -0,0 +1,128 @@
+package com.document.analyzer.repository;
+
+import com.document.analyzer.domain.ClassificationResponse;
+import com.document.analyzer.domain.CursorPage;
+import com.document.analyzer.domain.RiskAnalysisResponse;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class RiskAnalysisRepositoryTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private RiskAnalysisRepository riskAnalysisRepository;
+
+    @Autowired
+    private ClassificationRepository classificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User uploader;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        uploader = persistUser("uploader@example.com");
+        User reviewer = persistUser("reviewer@example.com");
+        for (int i = 0; i < ROWS; i++) {
+            Document document = Document.builder()
+                    .fileName("doc-" + i + ".txt")
+                    .filePath("/uploads/doc-" + i + ".txt")
+                    .fileSize(10L)
+                    .documentType(Document.DocumentType.TXT)
+                    .uploadedBy(uploader)
+                    .processingStatus(Document.ProcessingStatus.COMPLETED)
+                    .build();
+            entityManager.persist(document);
+            entityManager.persist(Classification.builder()
+                    .document(document)
+                    .category(Classification.DocumentCategory.CONTRACT)
+                    .confidence(0.9f)
+                    .build());
+            RiskAnalysis analysis = RiskAnalysis.builder()
+                    .document(document)
+                    .overallRiskLevel(RiskAnalysis.RiskLevel.HIGH)
+                    .riskScore(0.8f)
+                    .framework(RiskAnalysis.AnalysisFramework.OWASP)
+                    .build();
+            entityManager.persist(analysis);
+            if (i % 2 == 0) {
+                analysis.setReviewed(true);
+                analysis.setReviewedByUser(reviewer);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testPendingReviewPageLoadsInOneStatement() {
+        List<RiskAnalysisResponse> responses = riskAnalysisRepository
+                .findUnreviewedByUploaderId(uploader.getId(), Long.MAX_VALUE, CursorPage.request(50))
+                .stream().map(RiskAnalysisResponse::from).toList();
+
+        assertEquals(ROWS / 2, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getDocument().getFileName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testReviewedListingFetchesDocumentAndReviewer() {
+        List<RiskAnalysisResponse> responses = riskAnalysisRepository
+                .findByOverallRiskLevelAndIdLessThanOrderByIdDesc(
+                        RiskAnalysis.RiskLevel.HIGH, Long.MAX_VALUE, CursorPage.request(50))
+                .stream().map(RiskAnalysisResponse::from).toList();
+
+        assertEquals(ROWS, responses.size());
+        assertEquals(ROWS / 2, responses.stream().filter(r -> r.getReviewedByUser() != null).count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testClassificationListingFetchesDocument() {
+        List<ClassificationResponse> responses = classificationRepository
+                .findByCategoryAndIdLessThanOrderByIdDesc(
+                        Classification.DocumentCategory.CONTRACT, Long.MAX_VALUE, CursorPage.request(50))
+                .stream().map(ClassificationResponse::from).toList();
+
+        assertEquals(ROWS, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getDocument().getFileName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder()
+                .email(email)
+                .firstName("Test")
+                .lastName("User")
+                .passwordHash("hash")
+                .role(User.UserRole.ANALYST)
+                .active(true)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
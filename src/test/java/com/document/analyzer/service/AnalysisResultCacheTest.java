@@ -0,0 +1,149 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.AnalysisResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisResultCacheTest {
+
+    @Test
+    void testHitsAndMissesAreCounted() {
+        AnalysisResultCache cache = new AnalysisResultCache(10, Duration.ofMinutes(5));
+        AnalysisResponse response = AnalysisResponse.builder().summary("Cached").build();
+
+        assertEquals(response, cache.get("same text", () -> response));
+        assertEquals(response, cache.get("same text", () -> AnalysisResponse.builder().build()));
+
+        assertEquals(1L, cache.getStats().get("hits"));
+        assertEquals(1L, cache.getStats().get("misses"));
+    }
+
+    @Test
+    void testSizeBoundEvictsEntries() {
+        AnalysisResultCache cache = new AnalysisResultCache(2, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 5; i++) {
+            String text = "document " + i;
+            cache.get(text, () -> AnalysisResponse.builder().summary(text).build());
+        }
+
+        assertEquals(2L, cache.getStats().get("size"));
+        assertEquals(3L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    void testFailedAnalysisIsNotCached() {
+        AnalysisResultCache cache = new AnalysisResultCache(10, Duration.ofMinutes(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("bad text", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Analysis failed sanity check");
+        }));
+        cache.get("bad text", () -> {
+            calls.incrementAndGet();
+            return AnalysisResponse.builder().build();
+        });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testIncompleteAnalysisIsReturnedButNotCached() {
+        AnalysisResultCache cache = new AnalysisResultCache(10, Duration.ofMinutes(5));
+        AnalysisResponse incomplete = AnalysisResponse.builder()
+                .metadata(Map.of(AnalysisResponse.INCOMPLETE, true))
+                .build();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertTrue(cache.get("long text", () -> {
+            calls.incrementAndGet();
+            return incomplete;
+        }).isIncomplete());
+        cache.get("long text", () -> {
+            calls.incrementAndGet();
+            return AnalysisResponse.builder().build();
+        });
+        cache.put("other text", incomplete);
+
+        assertEquals(2, calls.get());
+        assertNull(cache.getIfPresent("other text"));
+    }
+
+    @Test
+    void testCallersGetTheirOwnCopy() {
+        AnalysisResultCache cache = new AnalysisResultCache(10, Duration.ofMinutes(5));
+        AnalysisResponse response = AnalysisResponse.builder()
+                .summary("Cached")
+                .keyPoints(new ArrayList<>(List.of("Point")))
+                .risks(new ArrayList<>(List.of(new AnalysisResponse.RiskItem("HIGH", "Risk", "Impact"))))
+                .build();
+
+        AnalysisResponse first = cache.get("same text", () -> response);
+        response.getKeyPoints().add("Added after caching");
+        first.setSummary("Changed by a caller");
+        first.getRisks().get(0).setLevel("LOW");
+        AnalysisResponse second = cache.getIfPresent("same text");
+
+        assertNotSame(first, second);
+        assertEquals("Cached", second.getSummary());
+        assertEquals(List.of("Point"), second.getKeyPoints());
+        assertEquals("HIGH", second.getRisks().get(0).getLevel());
+    }
+
+    @Test
+    void testConcurrentMissesForOneTextRunTheAnalysisOnce() throws Exception {
+        AnalysisResultCache cache = new AnalysisResultCache(10, Duration.ofMinutes(5));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch analysisStarted = new CountDownLatch(1);
+        CountDownLatch finishAnalysis = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<AnalysisResponse> first = executor.submit(() -> cache.get("slow text", () -> {
+                calls.incrementAndGet();
+                analysisStarted.countDown();
+                await(finishAnalysis);
+                return AnalysisResponse.builder().summary("Slow").build();
+            }));
+            assertTrue(analysisStarted.await(5, TimeUnit.SECONDS));
+            Future<AnalysisResponse> second = executor.submit(() -> cache.get("slow text", () -> {
+                calls.incrementAndGet();
+                return AnalysisResponse.builder().build();
+            }));
+
+            // other texts are not held up by the analysis in flight
+            assertEquals("Other", cache.get("other text", () -> AnalysisResponse.builder().summary("Other").build())
+                    .getSummary());
+            assertNull(cache.getIfPresent("slow text"));
+
+            finishAnalysis.countDown();
+            assertEquals("Slow", first.get(5, TimeUnit.SECONDS).getSummary());
+            assertEquals("Slow", second.get(5, TimeUnit.SECONDS).getSummary());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
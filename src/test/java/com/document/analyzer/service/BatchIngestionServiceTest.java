@@ -0,0 +1,173 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.BatchUploadManifest;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.ClassificationRepository;
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.repository.RiskAnalysisRepository;
+import com.document.analyzer.repository.UserRepository;
+import com.document.analyzer.storage.LocalDocumentStorage;
+import com.document.analyzer.util.DocumentTextExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchIngestionServiceTest {
+
+    @Mock
+    private UploadService uploadService;
+
+    @Mock
+    private DocumentTextExtractor documentTextExtractor;
+
+    @Mock
+    private MultipartFile archive;
+
+    @TempDir
+    Path storageDir;
+
+    private final User user = User.builder().id(1L).build();
+    private final AtomicLong ids = new AtomicLong(100);
+    private BatchIngestionService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ClassificationService classificationService =
+                new ClassificationService(mock(ClassificationRepository.class), mock(DocumentRepository.class),
+                        mock(RiskStatsService.class), ClassificationRules.defaults());
+        RiskAnalysisService riskAnalysisService = new RiskAnalysisService(
+                mock(RiskAnalysisRepository.class), mock(DocumentRepository.class), mock(UserRepository.class),
+                mock(RiskStatsService.class));
+        service = new BatchIngestionService(uploadService, classificationService, riskAnalysisService,
+                documentTextExtractor, new LocalDocumentStorage(storageDir), new SyncTaskExecutor(), 2, 100);
+
+        when(uploadService.getUploader(1L)).thenReturn(user);
+        lenient().when(uploadService.stageDocument(anyString(), any(InputStream.class), eq(user))).thenAnswer(invocation -> {
+            String fileName = invocation.getArgument(0);
+            byte[] content = invocation.<InputStream>getArgument(1).readAllBytes();
+            return Document.builder()
+                    .fileName(fileName)
+                    .filePath("/uploads/" + fileName)
+                    .fileSize((long) content.length)
+                    .documentType(Document.DocumentType.TXT)
+                    .uploadedBy(user)
+                    .processingStatus(Document.ProcessingStatus.PROCESSING)
+                    .build();
+        });
+        lenient().when(uploadService.saveStagedBatch(anyList(), anyList(), anyList())).thenAnswer(invocation -> {
+            List<Document> documents = invocation.getArgument(0);
+            documents.forEach(document -> document.setId(ids.incrementAndGet()));
+            return documents;
+        });
+        lenient().when(documentTextExtractor.extractText(any(Path.class))).thenReturn("Confidential payment agreement");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngestZipStreamsEntriesAndPersistsInBatches() throws IOException {
+        when(archive.getInputStream()).thenReturn(zip(
+                "contract.txt", "Contract body",
+                "nested/invoice.txt", "Invoice body",
+                "__MACOSX/._contract.txt", "resource fork",
+                "report.txt", "Report body"));
+
+        BatchUploadManifest manifest = service.ingestZip(archive, 1L);
+
+        assertEquals(3, manifest.getTotal());
+        assertEquals(3, manifest.getCompleted());
+        assertEquals(List.of("contract.txt", "invoice.txt", "report.txt"),
+                manifest.getEntries().stream().map(BatchUploadManifest.Entry::getFileName).toList());
+        assertEquals(List.of(101L, 102L, 103L),
+                manifest.getEntries().stream().map(BatchUploadManifest.Entry::getDocumentId).toList());
+
+        ArgumentCaptor<List<Classification>> classifications = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<RiskAnalysis>> riskAnalyses = ArgumentCaptor.forClass(List.class);
+        verify(uploadService, times(2)).saveStagedBatch(anyList(), classifications.capture(), riskAnalyses.capture());
+        assertEquals(2, classifications.getAllValues().get(0).size());
+        assertEquals(1, riskAnalyses.getAllValues().get(1).size());
+        assertEquals(Classification.DocumentCategory.CONTRACT, classifications.getAllValues().get(0).get(0).getCategory());
+    }
+
+    @Test
+    void testManifestReportsRejectedDuplicateAndFailedEntries() throws IOException {
+        when(uploadService.stageDocument(eq("malware.exe"), any(InputStream.class), eq(user)))
+                .thenThrow(new RuntimeException("File type not allowed"));
+        when(uploadService.stageDocument(eq("known.txt"), any(InputStream.class), eq(user)))
+                .thenReturn(Document.builder().id(42L).fileName("known.txt")
+                        .processingStatus(Document.ProcessingStatus.COMPLETED).build());
+        when(documentTextExtractor.extractText(Path.of("/uploads/corrupt.txt"))).thenThrow(new IOException("Corrupt file"));
+        when(archive.getInputStream()).thenReturn(zip(
+                "malware.exe", "x",
+                "known.txt", "y",
+                "corrupt.txt", "z"));
+
+        BatchUploadManifest manifest = service.ingestZip(archive, 1L);
+
+        List<BatchUploadManifest.Entry> entries = manifest.getEntries();
+        assertEquals(BatchUploadManifest.Outcome.REJECTED, entries.get(0).getOutcome());
+        assertNull(entries.get(0).getDocumentId());
+        assertEquals(BatchUploadManifest.Outcome.DUPLICATE, entries.get(1).getOutcome());
+        assertEquals(42L, entries.get(1).getDocumentId());
+        assertEquals(BatchUploadManifest.Outcome.FAILED, entries.get(2).getOutcome());
+        assertEquals("Corrupt file", entries.get(2).getMessage());
+        assertEquals(2, manifest.getFailed());
+        assertEquals(1, manifest.getDuplicates());
+        verify(uploadService).saveStagedBatch(anyList(), eq(List.of()), eq(List.of()));
+    }
+
+    @Test
+    void testFailedPersistMarksEntriesFailedAndDiscardsFiles() throws IOException {
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getOriginalFilename()).thenReturn("policy.txt");
+        when(file.getInputStream()).thenReturn(new ByteArrayInputStream("Policy".getBytes(StandardCharsets.UTF_8)));
+        when(uploadService.saveStagedBatch(anyList(), anyList(), anyList())).thenThrow(new RuntimeException("DB down"));
+
+        BatchUploadManifest manifest = service.ingestFiles(List.of(file), 1L);
+
+        assertEquals(BatchUploadManifest.Outcome.FAILED, manifest.getEntries().get(0).getOutcome());
+        verify(uploadService).discardStagedFile(any(Document.class));
+    }
+
+    private static InputStream zip(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("nested/"));
+            zip.closeEntry();
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,169 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.ClassificationRuleSet;
+import com.document.analyzer.domain.DocumentType;
+import com.document.analyzer.entity.Classification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassificationRulesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void defaultRulesLoadBothRuleSets() {
+        ClassificationRuleSet ruleSet = ClassificationRules.defaults().current().ruleSet();
+
+        assertFalse(ruleSet.getDocumentCategories().isEmpty());
+        assertFalse(ruleSet.getDocumentTypes().isEmpty());
+        assertEquals(ClassificationRuleSet.Field.CONTENT, ruleSet.getDocumentTypes().get(0).getField());
+        assertEquals(8.0, ruleSet.getDocumentTypes().get(0).getWeight());
+    }
+
+    @Test
+    void weightsAreSummedPerCategoryOncePerMatchingRule() {
+        ClassificationRules.Compiled rules = ClassificationRules.compile(ClassificationRuleSet.builder()
+                .documentCategories(List.of(
+                        rule("CONTRACT", ClassificationRuleSet.Field.CONTENT, 1.0, "contract"),
+                        rule("INVOICE", ClassificationRuleSet.Field.FILE_NAME, 1.5, "invoice"),
+                        rule("INVOICE", ClassificationRuleSet.Field.CONTENT, 1.0, "amount due")))
+                .build());
+
+        ClassificationRules.Scores<Classification.DocumentCategory> scores = rules.score(
+                Classification.DocumentCategory.class, "Invoice-042.pdf", "Contract contract CONTRACT, amount due");
+
+        assertEquals(Map.of(Classification.DocumentCategory.CONTRACT, 1.0,
+                Classification.DocumentCategory.INVOICE, 2.5), scores.scores());
+        assertEquals(Classification.DocumentCategory.INVOICE, scores.best(Classification.DocumentCategory.OTHER));
+    }
+
+    @Test
+    void fieldsAreScannedSeparately() {
+        ClassificationRules.Compiled rules = ClassificationRules.compile(ClassificationRuleSet.builder()
+                .documentCategories(List.of(rule("REPORT", ClassificationRuleSet.Field.FILE_NAME, 1.0, "report")))
+                .build());
+
+        assertEquals(Classification.DocumentCategory.OTHER, rules.score(Classification.DocumentCategory.class,
+                "q3.pdf", "quarterly report").best(Classification.DocumentCategory.OTHER));
+        assertEquals(Classification.DocumentCategory.REPORT, rules.score(Classification.DocumentCategory.class,
+                "q3-report.pdf", null).best(Classification.DocumentCategory.OTHER));
+    }
+
+    @Test
+    void tiesGoToTheCategoryListedFirst() {
+        ClassificationRules.Compiled rules = ClassificationRules.compile(ClassificationRuleSet.builder()
+                .documentCategories(List.of(
+                        rule("REPORT", ClassificationRuleSet.Field.CONTENT, 1.0, "analysis"),
+                        rule("INVOICE", ClassificationRuleSet.Field.CONTENT, 1.0, "invoice")))
+                .build());
+
+        assertEquals(Classification.DocumentCategory.REPORT, rules.score(Classification.DocumentCategory.class,
+                null, "invoice analysis").best(Classification.DocumentCategory.OTHER));
+    }
+
+    @Test
+    void defaultRulesPickTheFirstMatchingCategory() {
+        ClassificationRules.Compiled rules = ClassificationRules.defaults().current();
+
+        assertEquals(Classification.DocumentCategory.CONTRACT, rules.score(Classification.DocumentCategory.class,
+                "invoice.pdf", "invoice for the services under our agreement").best(Classification.DocumentCategory.OTHER));
+        assertEquals(Classification.DocumentCategory.CONTRACT, rules.score(Classification.DocumentCategory.class,
+                "report.pdf", "report and analysis of the contract").best(Classification.DocumentCategory.OTHER));
+        assertEquals(Classification.DocumentCategory.INVOICE, rules.score(Classification.DocumentCategory.class,
+                "report.pdf", "analysis of the unpaid bill").best(Classification.DocumentCategory.OTHER));
+        assertEquals(Classification.DocumentCategory.POLICY, rules.score(Classification.DocumentCategory.class,
+                "application-form-policy.pdf", "guideline for the application form").best(Classification.DocumentCategory.OTHER));
+    }
+
+    @Test
+    void defaultRulesPickTheFirstMatchingDocumentType() {
+        ClassificationRules.Compiled rules = ClassificationRules.defaults().current();
+
+        assertEquals(DocumentType.NDA, rules.score(DocumentType.class, null,
+                "confidential supplier contract with deliverables and a service level agreement").best(DocumentType.OTHER));
+        assertEquals(DocumentType.EMAIL_CHANGE_OF_TERMS, rules.score(DocumentType.class, null,
+                "dear customer, changes to the terms of service and user agreement").best(DocumentType.OTHER));
+        assertEquals(DocumentType.PLATFORM_TERMS, rules.score(DocumentType.class, null,
+                "terms of service for vendor and supplier contract deliverables").best(DocumentType.OTHER));
+    }
+
+    @Test
+    void scoringIgnoresRulesOfTheOtherRuleSet() {
+        ClassificationRules.Compiled rules = ClassificationRules.defaults().current();
+
+        ClassificationRules.Scores<DocumentType> scores = rules.score(DocumentType.class, "invoice.pdf", "invoice");
+
+        assertTrue(scores.scores().isEmpty());
+        assertEquals(DocumentType.OTHER, scores.best(DocumentType.OTHER));
+    }
+
+    @Test
+    void rejectsUnknownCategoriesEmptyKeywordsAndNonPositiveWeights() {
+        assertThrows(ClassificationRules.InvalidRulesException.class, () -> ClassificationRules.compile(
+                ClassificationRuleSet.builder().documentTypes(List.of(
+                        rule("INVOICE", ClassificationRuleSet.Field.CONTENT, 1.0, "invoice"))).build()));
+        assertThrows(ClassificationRules.InvalidRulesException.class, () -> ClassificationRules.compile(
+                ClassificationRuleSet.builder().documentTypes(List.of(
+                        rule("NDA", ClassificationRuleSet.Field.CONTENT, 1.0, ""))).build()));
+        assertThrows(ClassificationRules.InvalidRulesException.class, () -> ClassificationRules.compile(
+                ClassificationRuleSet.builder().documentTypes(List.of(
+                        rule("NDA", ClassificationRuleSet.Field.CONTENT, 0, "nda"))).build()));
+    }
+
+    @Test
+    void reloadIfModifiedSwapsInChangedRules() throws Exception {
+        Path file = tempDir.resolve("rules.json");
+        Files.writeString(file, "{\"documentTypes\": [{\"category\": \"NDA\", \"keywords\": [\"secret\"]}]}");
+        ClassificationRules rules = new ClassificationRules(new DefaultResourceLoader(), file.toUri().toString());
+        ClassificationRules.Compiled before = rules.current();
+
+        rules.reloadIfModified();
+        assertSame(before, rules.current());
+
+        Files.writeString(file, "{\"documentTypes\": [{\"category\": \"PLATFORM_TERMS\", \"keywords\": [\"secret\"]}]}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        rules.reloadIfModified();
+
+        assertNotSame(before, rules.current());
+        assertEquals(DocumentType.NDA, before.score(DocumentType.class, null, "top secret").best(DocumentType.OTHER));
+        assertEquals(DocumentType.PLATFORM_TERMS,
+                rules.current().score(DocumentType.class, null, "top secret").best(DocumentType.OTHER));
+    }
+
+    @Test
+    void invalidRuleFileKeepsTheCurrentRules() throws Exception {
+        Path file = tempDir.resolve("rules.json");
+        Files.writeString(file, "{\"documentTypes\": [{\"category\": \"NDA\", \"keywords\": [\"secret\"]}]}");
+        ClassificationRules rules = new ClassificationRules(new DefaultResourceLoader(), file.toUri().toString());
+        ClassificationRules.Compiled before = rules.current();
+
+        Files.writeString(file, "{\"documentTypes\": [{\"category\": \"MEMO\", \"keywords\": [\"secret\"]}]}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        rules.reloadIfModified();
+        assertSame(before, rules.current());
+
+        Files.writeString(file, "{ not json");
+        assertThrows(ClassificationRules.InvalidRulesException.class, rules::reload);
+        assertSame(before, rules.current());
+    }
+
+    private static ClassificationRuleSet.Rule rule(String category, ClassificationRuleSet.Field field,
+                                                   double weight, String... keywords) {
+        return ClassificationRuleSet.Rule.builder()
+                .category(category)
+                .field(field)
+                .weight(weight)
+                .keywords(List.of(keywords))
+                .build();
+    }
+}
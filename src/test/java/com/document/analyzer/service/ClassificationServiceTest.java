@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -27,6 +28,12 @@ public class ClassificationServiceTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private RiskStatsService riskStatsService;
+
+    @Spy
+    private ClassificationRules classificationRules = ClassificationRules.defaults();
+
     @InjectMocks
     private ClassificationService classificationService;
 
@@ -120,8 +127,11 @@ public class ClassificationServiceTest {
 
     @Test
     void testDeleteClassification() {
+        when(classificationRepository.findById(1L)).thenReturn(Optional.of(testClassification));
+
         classificationService.deleteClassification(1L);
 
-        verify(classificationRepository, times(1)).deleteById(1L);
+        verify(classificationRepository, times(1)).delete(testClassification);
+        verify(riskStatsService, times(1)).record(any(RiskStatsService.Delta.class));
     }
 }
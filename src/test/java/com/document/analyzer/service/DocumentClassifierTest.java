@@ -12,7 +12,7 @@ class DocumentClassifierTest {
 
     @BeforeEach
     void setUp() {
-        classifier = new DocumentClassifier();
+        classifier = new DocumentClassifier(ClassificationRules.defaults());
     }
 
     @Test
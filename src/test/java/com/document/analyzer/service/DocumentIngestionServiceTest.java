@@ -0,0 +1,94 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentIngestionServiceTest {
+
+    @Mock
+    private UploadService uploadService;
+
+    @Mock
+    private ClassificationService classificationService;
+
+    @Mock
+    private RiskAnalysisService riskAnalysisService;
+
+    @Mock
+    private MultipartFile mockFile;
+
+    private Document pendingDocument;
+
+    @BeforeEach
+    void setUp() {
+        pendingDocument = Document.builder()
+                .id(7L)
+                .fileName("contract.pdf")
+                .filePath("/uploads/contract.pdf")
+                .fileSize(2048L)
+                .documentType(Document.DocumentType.PDF)
+                .processingStatus(Document.ProcessingStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    void testSubmitDocumentRunsPipelineOnExecutor() throws IOException {
+        DocumentIngestionService service = new DocumentIngestionService(
+                uploadService, classificationService, riskAnalysisService, new SyncTaskExecutor());
+        when(uploadService.storeDocument(mockFile, 1L)).thenReturn(pendingDocument);
+
+        Document document = service.submitDocument(mockFile, 1L);
+
+        assertEquals(Document.ProcessingStatus.PENDING, document.getProcessingStatus());
+        InOrder inOrder = inOrder(uploadService, classificationService, riskAnalysisService);
+        inOrder.verify(uploadService).updateProcessingStatus(7L, Document.ProcessingStatus.PROCESSING);
+        inOrder.verify(uploadService).extractText(7L);
+        inOrder.verify(classificationService).classifyDocument(7L);
+        inOrder.verify(riskAnalysisService).analyzeDocumentRisk(7L, RiskAnalysis.AnalysisFramework.OWASP);
+        inOrder.verify(uploadService).updateProcessingStatus(7L, Document.ProcessingStatus.COMPLETED);
+    }
+
+    @Test
+    void testProcessingFailureMarksDocumentFailed() throws IOException {
+        DocumentIngestionService service = new DocumentIngestionService(
+                uploadService, classificationService, riskAnalysisService, new SyncTaskExecutor());
+        when(uploadService.storeDocument(mockFile, 1L)).thenReturn(pendingDocument);
+        when(uploadService.extractText(7L)).thenThrow(new IOException("Corrupt file"));
+
+        service.submitDocument(mockFile, 1L);
+
+        verify(uploadService).updateProcessingStatus(7L, Document.ProcessingStatus.FAILED);
+        verify(classificationService, never()).classifyDocument(any());
+    }
+
+    @Test
+    void testSaturatedExecutorRejectsAndRemovesDocument() throws IOException {
+        DocumentIngestionService service = new DocumentIngestionService(
+                uploadService, classificationService, riskAnalysisService, task -> {
+                    throw new TaskRejectedException("Ingestion queue is full");
+                });
+        when(uploadService.storeDocument(mockFile, 1L)).thenReturn(pendingDocument);
+
+        assertThrows(TaskRejectedException.class, () -> service.submitDocument(mockFile, 1L));
+
+        verify(uploadService).deleteDocument(7L);
+        verify(classificationService, never()).classifyDocument(any());
+    }
+}
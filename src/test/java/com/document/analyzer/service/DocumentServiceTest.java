@@ -6,19 +6,29 @@ import com.document.analyzer.domain.DocumentType;
 import com.document.analyzer.domain.LLMAnalysisResult;
 import com.document.analyzer.domain.RiskCategory;
 import com.document.analyzer.util.DocumentProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +36,8 @@ class DocumentServiceTest {
 
     private DocumentService documentService;
 
+    private MeterRegistry meterRegistry;
+
     @Mock
     private DocumentClassifier documentClassifier;
 
@@ -46,13 +58,18 @@ class DocumentServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
         documentService = new DocumentService(
                 documentClassifier,
                 riskFrameworkSelector,
                 intentAnalyzer,
                 sanityChecker,
                 jsonFormatter,
-                documentProcessor
+                documentProcessor,
+                new AnalysisResultCache(100, Duration.ofMinutes(5)),
+                new PipelineMetrics(observationRegistry, meterRegistry)
         );
     }
 
@@ -95,6 +112,12 @@ class DocumentServiceTest {
 
         assertNotNull(response);
         assertEquals("Platform Terms", response.getDocumentType());
+        for (String stage : List.of("classify", "framework", "llm", "sanity", "format")) {
+            assertEquals(1, meterRegistry.get(PipelineMetrics.STAGE).tag("pipeline", "analysis").tag("stage", stage)
+                    .timer().count(), stage);
+        }
+        assertEquals(1, meterRegistry.get(PipelineMetrics.PIPELINE).tag("pipeline", "analysis").timer().count());
+        assertEquals(25.0, meterRegistry.get("document.text.length").summary().totalAmount());
     }
 
     @Test
@@ -130,6 +153,8 @@ class DocumentServiceTest {
         when(sanityChecker.check(any())).thenReturn(sanityResult);
 
         assertThrows(IllegalStateException.class, () -> documentService.analyze(request));
+        assertEquals(1, meterRegistry.get(PipelineMetrics.PIPELINE).tag("error", "IllegalStateException").timer().count());
+        assertEquals(0, meterRegistry.find(PipelineMetrics.STAGE).tag("stage", "format").timers().size());
     }
 
     @Test
@@ -169,4 +194,113 @@ class DocumentServiceTest {
         assertNotNull(response);
         assertEquals("NDA", response.getDocumentType());
     }
+
+    @Test
+    void testRepeatedAnalysisIsServedFromCache() {
+        stubPipelineFor("Repeated contract text");
+        AnalysisRequest request = AnalysisRequest.builder()
+                .text("Repeated contract text")
+                .build();
+
+        AnalysisResponse first = documentService.analyze(request);
+        AnalysisResponse second = documentService.analyze(request);
+
+        assertEquals(first, second);
+        verify(intentAnalyzer, times(1)).analyze(any(), any(), any());
+    }
+
+    @Test
+    void testSkipCacheAlwaysRunsPipeline() {
+        stubPipelineFor("Repeated contract text");
+        AnalysisRequest request = AnalysisRequest.builder()
+                .text("Repeated contract text")
+                .skipCache(true)
+                .build();
+
+        documentService.analyze(request);
+        documentService.analyze(request);
+
+        verify(intentAnalyzer, times(2)).analyze(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAnalyzeStreamingEmitsClassificationFirstAndResultLast() {
+        when(documentProcessor.processDocument(any(), any())).thenReturn("Streaming contract text");
+        when(documentClassifier.classify(any())).thenReturn(DocumentType.B2B_CONTRACT);
+        when(riskFrameworkSelector.selectRiskCategory(any())).thenReturn(RiskCategory.CONTRACTUAL);
+        LLMAnalysisResult mockResult = LLMAnalysisResult.builder().summary("Streamed summary").confidence(0.8).build();
+        when(intentAnalyzer.analyzeStreaming(any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.<BiConsumer<String, Object>>getArgument(3).accept("summary", "Streamed summary");
+            return mockResult;
+        });
+        when(sanityChecker.check(mockResult)).thenReturn(new SanityChecker.SanityCheckResult(true, List.of()));
+        AnalysisResponse response = AnalysisResponse.builder().summary("Streamed summary").build();
+        when(jsonFormatter.format(DocumentType.B2B_CONTRACT, RiskCategory.CONTRACTUAL, mockResult)).thenReturn(response);
+
+        List<String> events = new ArrayList<>();
+        documentService.analyzeStreaming(AnalysisRequest.builder().text("Streaming contract text").build(),
+                (name, data) -> events.add(name));
+
+        assertEquals(List.of("classification", "summary", "sanity", "result"), events);
+    }
+
+    @Test
+    void testAnalyzeStreamingReportsSanityFailureBeforeThrowing() {
+        when(documentProcessor.processDocument(any(), any())).thenReturn("Streaming contract text");
+        when(documentClassifier.classify(any())).thenReturn(DocumentType.B2B_CONTRACT);
+        when(riskFrameworkSelector.selectRiskCategory(any())).thenReturn(RiskCategory.CONTRACTUAL);
+        when(intentAnalyzer.analyzeStreaming(any(), any(), any(), any()))
+                .thenReturn(LLMAnalysisResult.builder().summary("Analysis failed").confidence(0.0).build());
+        when(sanityChecker.check(any())).thenReturn(new SanityChecker.SanityCheckResult(false, List.of("Error")));
+
+        List<String> events = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> documentService.analyzeStreaming(
+                AnalysisRequest.builder().text("Streaming contract text").build(), (name, data) -> events.add(name)));
+
+        assertEquals(List.of("classification", "sanity"), events);
+    }
+
+    @Test
+    void testAnalyzeStreamingReplaysCachedResult() {
+        stubPipelineFor("Repeated contract text");
+        AnalysisRequest request = AnalysisRequest.builder()
+                .text("Repeated contract text")
+                .build();
+        AnalysisResponse cached = documentService.analyze(request);
+
+        List<String> events = new ArrayList<>();
+        List<Object> payloads = new ArrayList<>();
+        documentService.analyzeStreaming(request, (name, data) -> {
+            events.add(name);
+            payloads.add(data);
+        });
+
+        assertEquals(List.of("classification", "summary", "keyPoint", "sanity", "result"), events);
+        assertEquals(cached, payloads.get(payloads.size() - 1));
+        verify(intentAnalyzer, never()).analyzeStreaming(any(), any(), any(), any());
+    }
+
+    private void stubPipelineFor(String text) {
+        when(documentProcessor.processDocument(any(), any())).thenReturn(text);
+        when(documentClassifier.classify(any())).thenReturn(DocumentType.B2B_CONTRACT);
+        when(riskFrameworkSelector.selectRiskCategory(any())).thenReturn(RiskCategory.CONTRACTUAL);
+        LLMAnalysisResult mockResult = LLMAnalysisResult.builder()
+                .summary("Contract analysis summary")
+                .keyPoints(List.of("Point 1"))
+                .risks(List.of())
+                .recommendations(List.of())
+                .confidence(0.8)
+                .build();
+        when(intentAnalyzer.analyze(any(), any(), any())).thenReturn(mockResult);
+        when(sanityChecker.check(any())).thenReturn(new SanityChecker.SanityCheckResult(true, List.of()));
+        when(jsonFormatter.format(any(), any(), any())).thenReturn(AnalysisResponse.builder()
+                .documentType("B2B Contract")
+                .riskCategory("Contractual")
+                .summary("Contract analysis summary")
+                .keyPoints(List.of("Point 1"))
+                .risks(List.of())
+                .recommendations(List.of())
+                .build());
+    }
 }
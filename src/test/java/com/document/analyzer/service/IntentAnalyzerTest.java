@@ -1,14 +1,26 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.config.LLMProperties;
 import com.document.analyzer.domain.DocumentType;
 import com.document.analyzer.domain.LLMAnalysisResult;
 import com.document.analyzer.domain.RiskCategory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class IntentAnalyzerTest {
 
@@ -16,7 +28,9 @@ class IntentAnalyzerTest {
 
     @BeforeEach
     void setUp() {
-        analyzer = new IntentAnalyzer();
+        LLMProperties properties = new LLMProperties();
+        properties.setMaxChunkTokens(50);
+        analyzer = new IntentAnalyzer(new LLMClient(properties), properties, ObservationRegistry.NOOP);
     }
 
     @Test
@@ -89,4 +103,181 @@ class IntentAnalyzerTest {
         assertNotNull(result.getConfidence());
         assertTrue(result.getConfidence() >= 0.0 && result.getConfidence() <= 1.0);
     }
+
+    @Test
+    void testAnalyzeChunksLongDocumentAndMergesResults() {
+        String paragraph = "The supplier shall indemnify the customer against all third party claims arising here.";
+        String text = String.join("\n\n", java.util.Collections.nCopies(12, paragraph));
+
+        LLMAnalysisResult result = analyzer.analyze(text, DocumentType.B2B_CONTRACT, RiskCategory.CONTRACTUAL);
+
+        assertEquals("Document analysis summary based on content", result.getSummary());
+        assertEquals(3, result.getKeyPoints().size());
+        assertEquals(2, result.getRisks().size());
+        assertEquals(0.85, result.getConfidence(), 1e-9);
+    }
+
+    @Test
+    void testChunkRequestsAreTracedUnderCallersObservation() {
+        List<Observation.Context> requests = new CopyOnWriteArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                if (IntentAnalyzer.LLM_REQUEST.equals(context.getName())) {
+                    requests.add(context);
+                }
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        LLMProperties properties = new LLMProperties();
+        properties.setMaxChunkTokens(50);
+        IntentAnalyzer tracedAnalyzer = new IntentAnalyzer(new LLMClient(properties), properties, registry);
+        String paragraph = "The supplier shall indemnify the customer against all third party claims arising here.";
+        String text = String.join("\n\n", java.util.Collections.nCopies(12, paragraph));
+
+        Observation analysis = Observation.createNotStarted("analysis", registry);
+        analysis.observe(() -> tracedAnalyzer.analyze(text, DocumentType.B2B_CONTRACT, RiskCategory.CONTRACTUAL));
+
+        assertTrue(requests.size() > 1);
+        assertTrue(requests.stream().allMatch(context -> context.getParentObservation() == analysis));
+        assertTrue(requests.stream().allMatch(context -> "true".equals(context.getLowCardinalityKeyValue("chunked").getValue())));
+    }
+
+    @Test
+    void testMergeResultsDeduplicatesRisksKeepingHighestLevel() {
+        LLMAnalysisResult first = LLMAnalysisResult.builder()
+                .summary("Payment terms section")
+                .keyPoints(List.of("Net 30 payment"))
+                .risks(List.of(Map.of("level", "LOW", "description", "Late payment penalty", "impact", "Minor")))
+                .recommendations(List.of("Negotiate payment terms"))
+                .confidence(0.6)
+                .build();
+        LLMAnalysisResult second = LLMAnalysisResult.builder()
+                .summary("Liability section")
+                .keyPoints(List.of("Unlimited liability", "net 30 payment"))
+                .risks(List.of(
+                        Map.of("level", "HIGH", "description", "late payment  penalty", "impact", "Severe"),
+                        Map.of("level", "MEDIUM", "description", "Unlimited liability", "impact", "Exposure")))
+                .recommendations(List.of("Cap liability", "Negotiate payment terms"))
+                .confidence(0.9)
+                .build();
+        LLMAnalysisResult failed = LLMAnalysisResult.builder()
+                .summary("Analysis failed")
+                .keyPoints(List.of())
+                .risks(List.of())
+                .recommendations(List.of())
+                .confidence(0.0)
+                .build();
+
+        LLMAnalysisResult merged = IntentAnalyzer.mergeResults(List.of(first, second, failed), List.of(100, 300, 200));
+
+        assertEquals("Payment terms section Liability section", merged.getSummary());
+        assertEquals(List.of("Unlimited liability", "net 30 payment"), merged.getKeyPoints());
+        assertEquals(2, merged.getRisks().size());
+        assertEquals("HIGH", merged.getRisks().get(0).get("level"));
+        assertEquals("Severe", merged.getRisks().get(0).get("impact"));
+        assertEquals(List.of("Cap liability", "Negotiate payment terms"), merged.getRecommendations());
+        assertEquals((0.6 * 100 + 0.9 * 300) / 600, merged.getConfidence(), 1e-9);
+        assertEquals(1, merged.getFailedChunks());
+    }
+
+    @Test
+    void testChunksOfOneDocumentAreSentAFewAtATime() {
+        LLMProperties properties = new LLMProperties();
+        properties.setMaxChunkTokens(50);
+        properties.setMaxChunkConcurrency(2);
+        LLMClient llmClient = mock(LLMClient.class);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(llmClient.isEnabled()).thenReturn(true);
+        when(llmClient.complete(anyString(), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return "{\"summary\": \"Chunk\", \"confidence\": 0.8}";
+        });
+        IntentAnalyzer capped = new IntentAnalyzer(llmClient, properties, ObservationRegistry.NOOP);
+
+        LLMAnalysisResult result = capped.analyze("word ".repeat(2000), DocumentType.OTHER, RiskCategory.OTHER);
+
+        assertEquals(0, result.getFailedChunks());
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void testFailedChunkMarksTheMergedResultIncomplete() {
+        LLMProperties properties = new LLMProperties();
+        properties.setMaxChunkTokens(50);
+        LLMClient llmClient = mock(LLMClient.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(llmClient.isEnabled()).thenReturn(true);
+        when(llmClient.complete(anyString(), anyString())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("LLM concurrency limit reached");
+            }
+            return "{\"summary\": \"Chunk\", \"confidence\": 0.8}";
+        });
+        IntentAnalyzer flaky = new IntentAnalyzer(llmClient, properties, ObservationRegistry.NOOP);
+
+        LLMAnalysisResult result = flaky.analyze("word ".repeat(400), DocumentType.OTHER, RiskCategory.OTHER);
+
+        assertEquals(1, result.getFailedChunks());
+        assertTrue(result.getConfidence() < 0.8);
+    }
+
+    @Test
+    void testMergeResultsWithOnlyFailedChunks() {
+        LLMAnalysisResult failed = LLMAnalysisResult.builder().summary("Analysis failed").confidence(0.0).build();
+
+        LLMAnalysisResult merged = IntentAnalyzer.mergeResults(List.of(failed, failed), List.of(10, 10));
+
+        assertEquals("Analysis failed", merged.getSummary());
+        assertEquals(0.0, merged.getConfidence());
+    }
+
+    @Test
+    void testParseLLMResponseHandlesEscapesAndNestedPunctuation() {
+        String json = """
+                {
+                  "summary": "Agreement \\"as is\\", with [brackets] and {braces}",
+                  "keyPoints": ["Term: 12 months, renewable", "Fees]"],
+                  "risks": [
+                    {"level": "HIGH", "description": "Clause }, { splits", "impact": "Line\\nbreak"}
+                  ],
+                  "recommendations": [],
+                  "confidence": 0.7,
+                  "model": "ignored"
+                }""";
+
+        LLMAnalysisResult result = IntentAnalyzer.parseLLMResponse(json);
+
+        assertEquals("Agreement \"as is\", with [brackets] and {braces}", result.getSummary());
+        assertEquals(List.of("Term: 12 months, renewable", "Fees]"), result.getKeyPoints());
+        assertEquals(1, result.getRisks().size());
+        assertEquals("Clause }, { splits", result.getRisks().get(0).get("description"));
+        assertEquals("Line\nbreak", result.getRisks().get(0).get("impact"));
+        assertEquals(List.of(), result.getRecommendations());
+        assertEquals(0.7, result.getConfidence());
+    }
+
+    @Test
+    void testParseLLMResponseStripsCodeFenceAndDefaultsMissingFields() {
+        LLMAnalysisResult result = IntentAnalyzer.parseLLMResponse("```json\n{\"summary\": \"Fenced\"}\n```");
+
+        assertEquals("Fenced", result.getSummary());
+        assertEquals(List.of(), result.getKeyPoints());
+        assertEquals(List.of(), result.getRisks());
+        assertEquals(0.0, result.getConfidence());
+    }
+
+    @Test
+    void testParseLLMResponseWithMalformedJson() {
+        assertEquals("Analysis failed", IntentAnalyzer.parseLLMResponse("{\"summary\": ").getSummary());
+        assertEquals("Analysis failed", IntentAnalyzer.parseLLMResponse("not json").getSummary());
+    }
 }
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -45,6 +46,22 @@ class JsonFormatterTest {
         assertEquals(2, response.getKeyPoints().size());
     }
 
+    @Test
+    void testFormatFlagsResultsWithFailedChunks() {
+        LLMAnalysisResult result = LLMAnalysisResult.builder()
+                .summary("Partial")
+                .confidence(0.4)
+                .failedChunks(3)
+                .build();
+
+        AnalysisResponse response = formatter.format(DocumentType.OTHER, RiskCategory.OTHER, result);
+
+        assertTrue(response.isIncomplete());
+        assertEquals(3, response.getMetadata().get("failedChunks"));
+        assertFalse(formatter.format(DocumentType.OTHER, RiskCategory.OTHER,
+                LLMAnalysisResult.builder().confidence(0.9).build()).isIncomplete());
+    }
+
     @Test
     void testFormatWithNullResult() {
         AnalysisResponse response = formatter.format(DocumentType.OTHER, RiskCategory.OTHER, null);
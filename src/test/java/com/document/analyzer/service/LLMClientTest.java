@@ -0,0 +1,299 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.config.LLMProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LLMClientTest {
+
+    private static final String COMPLETION = """
+            {"choices":[{"message":{"role":"assistant","content":"{\\"summary\\":\\"Stubbed\\"}"}}]}""";
+
+    private HttpServer server;
+    private LLMClient client;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int failuresBeforeSuccess;
+    private volatile int failureStatus = 503;
+    private volatile long responseDelayMillis;
+    private volatile String retryAfter;
+    private volatile boolean stallBody;
+    private final CountDownLatch releaseStalled = new CountDownLatch(1);
+    private volatile String lastAuthorization;
+    private volatile String lastRequestBody;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseStalled.countDown();
+        if (client != null) {
+            client.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testCompleteReturnsMessageContent() {
+        client = newClient(4, 0);
+
+        String content = client.complete("system prompt", "user prompt");
+
+        assertEquals("{\"summary\":\"Stubbed\"}", content);
+        assertEquals("Bearer stub-key", lastAuthorization);
+        assertTrue(lastRequestBody.contains("\"model\":\"stub-model\""));
+        assertTrue(lastRequestBody.contains("user prompt"));
+    }
+
+    @Test
+    void testRetriesServerErrorsAndRateLimits() {
+        client = newClient(4, 3);
+        failuresBeforeSuccess = 2;
+        failureStatus = 429;
+
+        String content = client.complete("system", "user");
+
+        assertEquals("{\"summary\":\"Stubbed\"}", content);
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testGivesUpAfterMaxRetries() {
+        client = newClient(4, 1);
+        failuresBeforeSuccess = 10;
+
+        assertThrows(IllegalStateException.class, () -> client.complete("system", "user"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testClientErrorsAreNotRetried() {
+        client = newClient(4, 3);
+        failuresBeforeSuccess = 10;
+        failureStatus = 400;
+
+        assertThrows(IllegalStateException.class, () -> client.complete("system", "user"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testRetryAfterBeyondMaxBackoffFailsFast() {
+        client = newClient(4, 3);
+        failuresBeforeSuccess = 1;
+        failureStatus = 429;
+        retryAfter = "3600";
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> client.complete("system", "user"));
+
+        assertEquals(1, requests.get());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void testPermitIsReleasedWhileWaitingToRetry() throws Exception {
+        LLMProperties properties = properties(1, 1);
+        properties.setRetryBackoff(Duration.ofSeconds(1));
+        properties.setMaxRetryBackoff(Duration.ofSeconds(2));
+        properties.setAcquireTimeout(Duration.ofMillis(500));
+        client = new LLMClient(properties);
+        failuresBeforeSuccess = 1;
+        failureStatus = 429;
+        retryAfter = "1";
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> rateLimited = callers.submit(() -> client.complete("system", "user"));
+            while (requests.get() < 1) {
+                Thread.sleep(5);
+            }
+            // the first call is now sleeping out its Retry-After without the only permit
+            assertEquals("{\"summary\":\"Stubbed\"}", client.complete("system", "user"));
+            assertEquals("{\"summary\":\"Stubbed\"}", rateLimited.get());
+        }
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testConcurrencyIsCapped() throws Exception {
+        client = newClient(2, 0);
+        responseDelayMillis = 100;
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> client.complete("system", "user")));
+            }
+            for (Future<String> result : results) {
+                assertEquals("{\"summary\":\"Stubbed\"}", result.get());
+            }
+        }
+
+        assertEquals(8, requests.get());
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void testCompleteStreamingDeliversDeltas() {
+        client = newClient(4, 0);
+        List<String> deltas = new ArrayList<>();
+
+        String content = client.completeStreaming("system", "user", deltas::add);
+
+        assertEquals("{\"summary\":\"Streamed\"}", content);
+        assertEquals(List.of("{\"summary\":", "\"Streamed\"", "}"), deltas);
+        assertTrue(lastRequestBody.contains("\"stream\":true"));
+    }
+
+    @Test
+    void testCompleteStreamingRetriesBeforeStreamStarts() {
+        client = newClient(4, 2);
+        failuresBeforeSuccess = 1;
+        List<String> deltas = new ArrayList<>();
+
+        assertEquals("{\"summary\":\"Streamed\"}", client.completeStreaming("system", "user", deltas::add));
+        assertEquals(2, requests.get());
+        assertEquals(3, deltas.size());
+    }
+
+    @Test
+    void testStalledBodyTimesOutAndIsRetried() {
+        LLMProperties properties = properties(1, 1);
+        properties.setRequestTimeout(Duration.ofMillis(300));
+        client = new LLMClient(properties);
+        stallBody = true;
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> client.complete("system", "user"));
+
+        assertEquals(2, requests.get());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        stallBody = false;
+        assertEquals("{\"summary\":\"Stubbed\"}", client.complete("system", "user"));
+    }
+
+    @Test
+    void testStalledStreamFailsAndReleasesThePermit() {
+        LLMProperties properties = properties(1, 2);
+        properties.setRequestTimeout(Duration.ofMillis(300));
+        client = new LLMClient(properties);
+        stallBody = true;
+        List<String> deltas = new ArrayList<>();
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> client.completeStreaming("system", "user", deltas::add));
+
+        assertEquals(1, requests.get());
+        assertEquals(List.of("{\"summary\":"), deltas);
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        stallBody = false;
+        assertEquals("{\"summary\":\"Streamed\"}", client.completeStreaming("system", "user", delta -> { }));
+    }
+
+    // sends the headers and the first part of the body, then stops until the test ends
+    private void writeStalled(HttpExchange exchange, boolean stream) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", stream ? "text/event-stream" : "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        out.write((stream ? "data: {\"choices\":[{\"delta\":{\"content\":\"{\\\"summary\\\":\"}}]}\n\n"
+                : "{\"choices\":[").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        releaseStalled.await();
+    }
+
+    private void writeStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String delta : List.of("{\\\"summary\\\":", "\\\"Streamed\\\"", "}")) {
+                out.write(("data: {\"choices\":[{\"delta\":{\"content\":\"" + delta + "\"}}]}\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write(": keep-alive\n\ndata: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private LLMClient newClient(int maxConcurrency, int maxRetries) {
+        return new LLMClient(properties(maxConcurrency, maxRetries));
+    }
+
+    private LLMProperties properties(int maxConcurrency, int maxRetries) {
+        LLMProperties properties = new LLMProperties();
+        properties.setEnabled(true);
+        properties.setEndpoint("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        properties.setApiKey("stub-key");
+        properties.setModel("stub-model");
+        properties.setRequestTimeout(Duration.ofSeconds(5));
+        properties.setMaxConcurrency(maxConcurrency);
+        properties.setMaxRetries(maxRetries);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setMaxRetryBackoff(Duration.ofMillis(50));
+        return properties;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            int attempt = requests.incrementAndGet();
+            lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+            lastRequestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+            if (attempt <= failuresBeforeSuccess) {
+                if (retryAfter != null) {
+                    exchange.getResponseHeaders().add("Retry-After", retryAfter);
+                }
+                exchange.sendResponseHeaders(failureStatus, -1);
+                return;
+            }
+            if (stallBody) {
+                writeStalled(exchange, lastRequestBody.contains("\"stream\":true"));
+                return;
+            }
+            if (lastRequestBody.contains("\"stream\":true")) {
+                writeStream(exchange);
+                return;
+            }
+            byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
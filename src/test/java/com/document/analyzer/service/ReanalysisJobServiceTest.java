@@ -0,0 +1,97 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.ReanalysisJob;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.ClassificationRepository;
+import com.document.analyzer.repository.RiskAnalysisRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({ReanalysisJobService.class, ClassificationService.class, ClassificationRules.class, RiskAnalysisService.class,
+        RiskStatsService.class})
+class ReanalysisJobServiceTest {
+
+    @Autowired
+    private ReanalysisJobService reanalysisJobService;
+
+    @Autowired
+    private ClassificationService classificationService;
+
+    @Autowired
+    private RiskAnalysisService riskAnalysisService;
+
+    @Autowired
+    private ClassificationRepository classificationRepository;
+
+    @Autowired
+    private RiskAnalysisRepository riskAnalysisRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testChunkWriteReplacesResultsAndAdvancesCheckpoint() {
+        User user = User.builder().email("rescore@example.com").firstName("Re").lastName("Score")
+                .passwordHash("hash").role(User.UserRole.ANALYST).active(true).build();
+        entityManager.persist(user);
+        Document analyzed = persistCompleted(user, "invoice.txt", "payment due with credit card");
+        Document unanalyzed = persistCompleted(user, "notes.txt", "confidential password list");
+        entityManager.persist(classificationService.buildClassification(analyzed));
+        entityManager.persist(RiskAnalysis.builder().document(analyzed)
+                .overallRiskLevel(RiskAnalysis.RiskLevel.MINIMAL).riskScore(0f)
+                .framework(RiskAnalysis.AnalysisFramework.OWASP).reviewed(false).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        ReanalysisJob job = reanalysisJobService.createJob(RiskAnalysis.AnalysisFramework.NIST);
+        assertEquals(2, job.getTotal());
+        assertThrows(ReanalysisJobService.JobConflictException.class,
+                () -> reanalysisJobService.createJob(RiskAnalysis.AnalysisFramework.NIST));
+
+        List<Document> chunk = reanalysisJobService.nextChunk(job, 0L, 10);
+        entityManager.clear();
+        reanalysisJobService.writeChunk(job.getId(),
+                chunk.stream().map(classificationService::buildClassification).toList(),
+                chunk.stream().map(d -> riskAnalysisService.buildAnalysis(d, job.getFramework())).toList(),
+                chunk.get(chunk.size() - 1).getId(), 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, classificationRepository.count());
+        List<RiskAnalysis> analyses = riskAnalysisRepository.findByDocumentIdIn(
+                List.of(analyzed.getId(), unanalyzed.getId()));
+        assertEquals(2, analyses.size());
+        analyses.forEach(a -> assertEquals(RiskAnalysis.AnalysisFramework.NIST, a.getFramework()));
+
+        ReanalysisJob checkpoint = reanalysisJobService.findJob(job.getId()).orElseThrow();
+        assertEquals(unanalyzed.getId(), checkpoint.getLastDocumentId());
+        assertEquals(2, checkpoint.getProcessed());
+        assertEquals(List.of(), reanalysisJobService.nextChunk(checkpoint, checkpoint.getLastDocumentId(), 10));
+    }
+
+    private Document persistCompleted(User user, String fileName, String text) {
+        Document document = Document.builder()
+                .fileName(fileName)
+                .filePath("/uploads/" + fileName)
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .extractedText(text)
+                .uploadedBy(user)
+                .build();
+        entityManager.persist(document);
+        document.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+        return document;
+    }
+}
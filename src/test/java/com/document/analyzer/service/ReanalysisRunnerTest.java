@@ -0,0 +1,157 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.ReanalysisJobStatus;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.ReanalysisJob;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.repository.ClassificationRepository;
+import com.document.analyzer.repository.DocumentRepository;
+import com.document.analyzer.repository.RiskAnalysisRepository;
+import com.document.analyzer.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReanalysisRunnerTest {
+
+    @Mock
+    private ReanalysisJobService reanalysisJobService;
+
+    private ReanalysisRunner runner;
+    private ReanalysisJob job;
+
+    @BeforeEach
+    void setUp() {
+        ClassificationService classificationService =
+                new ClassificationService(mock(ClassificationRepository.class), mock(DocumentRepository.class),
+                        mock(RiskStatsService.class), ClassificationRules.defaults());
+        RiskAnalysisService riskAnalysisService = new RiskAnalysisService(
+                mock(RiskAnalysisRepository.class), mock(DocumentRepository.class), mock(UserRepository.class),
+                mock(RiskStatsService.class));
+        runner = new ReanalysisRunner(reanalysisJobService, classificationService, riskAnalysisService,
+                new SyncTaskExecutor(), new SyncTaskExecutor(), 2, true);
+
+        job = ReanalysisJob.builder()
+                .id(7L)
+                .status(ReanalysisJob.Status.RUNNING)
+                .framework(RiskAnalysis.AnalysisFramework.NIST)
+                .maxDocumentId(5L)
+                .lastDocumentId(0L)
+                .total(3L)
+                .processed(0L)
+                .failed(0L)
+                .runStartProcessed(0L)
+                .runStartedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void testStartRescoresChunksAndCheckpointsAfterEach() {
+        when(reanalysisJobService.createJob(RiskAnalysis.AnalysisFramework.NIST)).thenReturn(job);
+        when(reanalysisJobService.nextChunk(job, 0L, 2)).thenReturn(List.of(document(1L), document(3L)));
+        when(reanalysisJobService.nextChunk(job, 3L, 2)).thenReturn(List.of(document(5L)));
+        when(reanalysisJobService.nextChunk(job, 5L, 2)).thenReturn(List.of());
+
+        runner.start(RiskAnalysis.AnalysisFramework.NIST);
+
+        verify(reanalysisJobService).writeChunk(eq(7L), argThat(c -> c.size() == 2),
+                argThat(a -> a.size() == 2 && a.stream().allMatch(r ->
+                        r.getFramework() == RiskAnalysis.AnalysisFramework.NIST)), eq(3L), eq(0));
+        verify(reanalysisJobService).writeChunk(eq(7L), argThat(c -> c.size() == 1),
+                argThat(a -> a.size() == 1), eq(5L), eq(0));
+        verify(reanalysisJobService).finishJob(7L, ReanalysisJob.Status.COMPLETED, null);
+    }
+
+    @Test
+    void testResumeContinuesAfterCheckpoint() {
+        job.setLastDocumentId(3L);
+        when(reanalysisJobService.restartJob(7L)).thenReturn(job);
+        when(reanalysisJobService.nextChunk(job, 3L, 2)).thenReturn(List.of(document(5L)));
+        when(reanalysisJobService.nextChunk(job, 5L, 2)).thenReturn(List.of());
+
+        runner.resume(7L);
+
+        verify(reanalysisJobService, never()).nextChunk(any(), eq(0L), anyInt());
+        verify(reanalysisJobService).writeChunk(eq(7L), anyList(), anyList(), eq(5L), eq(0));
+        verify(reanalysisJobService).finishJob(7L, ReanalysisJob.Status.COMPLETED, null);
+    }
+
+    @Test
+    void testCancelStopsAfterChunkInFlight() {
+        when(reanalysisJobService.createJob(RiskAnalysis.AnalysisFramework.NIST)).thenReturn(job);
+        when(reanalysisJobService.findJob(7L)).thenReturn(Optional.of(job));
+        when(reanalysisJobService.nextChunk(job, 0L, 2)).thenReturn(List.of(document(1L), document(3L)));
+        when(reanalysisJobService.nextChunk(job, 3L, 2)).thenReturn(List.of(document(5L)));
+        doAnswer(invocation -> runner.cancel(7L))
+                .when(reanalysisJobService).writeChunk(eq(7L), anyList(), anyList(), eq(3L), eq(0));
+
+        runner.start(RiskAnalysis.AnalysisFramework.NIST);
+
+        verify(reanalysisJobService, never()).writeChunk(anyLong(), anyList(), anyList(), eq(5L), anyInt());
+        verify(reanalysisJobService).finishJob(7L, ReanalysisJob.Status.CANCELLED, null);
+    }
+
+    @Test
+    void testWriteFailureMarksJobFailedForResume() {
+        when(reanalysisJobService.createJob(RiskAnalysis.AnalysisFramework.NIST)).thenReturn(job);
+        when(reanalysisJobService.nextChunk(job, 0L, 2)).thenReturn(List.of(document(1L)));
+        when(reanalysisJobService.nextChunk(job, 1L, 2)).thenReturn(List.of());
+        doThrow(new RuntimeException("connection reset"))
+                .when(reanalysisJobService).writeChunk(anyLong(), anyList(), anyList(), anyLong(), anyInt());
+
+        runner.start(RiskAnalysis.AnalysisFramework.NIST);
+
+        verify(reanalysisJobService).finishJob(7L, ReanalysisJob.Status.FAILED, "connection reset");
+    }
+
+    @Test
+    void testStatusReportsThroughputAndEta() {
+        LocalDateTime now = LocalDateTime.now();
+        job.setTotal(1000L);
+        job.setProcessed(300L);
+        job.setRunStartProcessed(100L);
+        job.setRunStartedAt(now.minusSeconds(10));
+
+        ReanalysisJobStatus status = ReanalysisJobStatus.from(job, now);
+
+        assertEquals(20.0, status.getDocumentsPerSecond(), 0.001);
+        assertEquals(35L, status.getEtaSeconds());
+        assertEquals(30.0, status.getPercentComplete(), 0.001);
+    }
+
+    @Test
+    void testResumeRejectsCompletedJob() {
+        when(reanalysisJobService.restartJob(7L))
+                .thenThrow(new ReanalysisJobService.JobConflictException("Re-analysis job 7 has already completed"));
+
+        assertThrows(ReanalysisJobService.JobConflictException.class, () -> runner.resume(7L));
+        verify(reanalysisJobService, never()).nextChunk(any(), anyLong(), anyInt());
+    }
+
+    private Document document(Long id) {
+        return Document.builder()
+                .id(id)
+                .fileName("contract-" + id + ".txt")
+                .documentType(Document.DocumentType.TXT)
+                .extractedText("This confidential agreement contains a password")
+                .processingStatus(Document.ProcessingStatus.COMPLETED)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.document.analyzer.service;
 
+import com.document.analyzer.domain.CursorPage;
 import com.document.analyzer.entity.Document;
 import com.document.analyzer.entity.RiskAnalysis;
 import com.document.analyzer.entity.User;
@@ -12,11 +13,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,9 @@ public class RiskAnalysisServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RiskStatsService riskStatsService;
+
     @InjectMocks
     private RiskAnalysisService riskAnalysisService;
 
@@ -95,6 +103,37 @@ public class RiskAnalysisServiceTest {
         verify(riskAnalysisRepository, times(1)).save(any(RiskAnalysis.class));
     }
 
+    @Test
+    void testAnalyzeDocumentRiskScoresKeywordCategories() {
+        testDocument.setExtractedText("Customer password and credit card numbers for the patient billing contract. "
+                + "Additional filler text to keep the document above the short content threshold.");
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(riskAnalysisRepository.save(any(RiskAnalysis.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RiskAnalysis analysis = riskAnalysisService.analyzeDocumentRisk(1L, RiskAnalysis.AnalysisFramework.OWASP);
+
+        assertEquals(1.0f, analysis.getRiskScore());
+        assertEquals(RiskAnalysis.RiskLevel.CRITICAL, analysis.getOverallRiskLevel());
+        assertTrue(analysis.getIdentifiedRisks().contains("credentials"));
+        assertTrue(analysis.getIdentifiedRisks().contains("Financial"));
+        assertTrue(analysis.getIdentifiedRisks().contains("Protected Health Information"));
+        assertTrue(analysis.getIdentifiedRisks().contains("Legal agreements"));
+        assertFalse(analysis.getIdentifiedRisks().contains("Personally Identifiable"));
+    }
+
+    @Test
+    void testAnalyzeDocumentRiskWithoutIndicators() {
+        testDocument.setExtractedText("Quarterly meeting notes");
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(riskAnalysisRepository.save(any(RiskAnalysis.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RiskAnalysis analysis = riskAnalysisService.analyzeDocumentRisk(1L, RiskAnalysis.AnalysisFramework.OWASP);
+
+        assertEquals(0.05f, analysis.getRiskScore());
+        assertEquals(RiskAnalysis.RiskLevel.MINIMAL, analysis.getOverallRiskLevel());
+        assertTrue(analysis.getIdentifiedRisks().contains("No critical security indicators identified"));
+    }
+
     @Test
     void testGetAnalysisForDocument() {
         when(riskAnalysisRepository.findByDocumentId(1L)).thenReturn(Optional.of(testRiskAnalysis));
@@ -107,9 +146,20 @@ public class RiskAnalysisServiceTest {
 
     @Test
     void testGetUnreviewedAnalyses() {
-        riskAnalysisService.getUnreviewedAnalyses();
+        RiskAnalysis older = RiskAnalysis.builder().id(5L).reviewed(false).build();
+        RiskAnalysis oldest = RiskAnalysis.builder().id(3L).reviewed(false).build();
+        when(riskAnalysisRepository.findByReviewedFalseAndIdLessThanOrderByIdDesc(
+                eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(testRiskAnalysis, older, oldest));
+
+        CursorPage<RiskAnalysis> page = riskAnalysisService.getUnreviewedAnalyses(null, 2);
 
-        verify(riskAnalysisRepository, times(1)).findByReviewed(false);
+        assertEquals(List.of(testRiskAnalysis, older), page.getItems());
+        assertTrue(page.isHasMore());
+
+        riskAnalysisService.getUnreviewedAnalyses(page.getNextCursor(), 2);
+
+        verify(riskAnalysisRepository).findByReviewedFalseAndIdLessThanOrderByIdDesc(5L, PageRequest.ofSize(3));
     }
 
     @Test
@@ -138,8 +188,38 @@ public class RiskAnalysisServiceTest {
 
     @Test
     void testGetAnalysesByFramework() {
-        riskAnalysisService.getAnalysesByFramework(RiskAnalysis.AnalysisFramework.OWASP);
+        CursorPage<RiskAnalysis> page = riskAnalysisService.getAnalysesByFramework(
+                RiskAnalysis.AnalysisFramework.OWASP, null, 50);
 
-        verify(riskAnalysisRepository, times(1)).findByFramework(RiskAnalysis.AnalysisFramework.OWASP);
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(riskAnalysisRepository, times(1)).findByFrameworkAndIdLessThanOrderByIdDesc(
+                RiskAnalysis.AnalysisFramework.OWASP, Long.MAX_VALUE, PageRequest.ofSize(51));
+    }
+
+    @Test
+    void testApplyReanalysesUpdatesLatestAnalysisAndInsertsMissing() {
+        testRiskAnalysis.setReviewed(true);
+        testRiskAnalysis.setReviewNotes("Accepted");
+        testRiskAnalysis.setReviewedByUser(testUser);
+        RiskAnalysis older = RiskAnalysis.builder().id(0L).document(testDocument)
+                .overallRiskLevel(RiskAnalysis.RiskLevel.CRITICAL).build();
+        Document newDocument = Document.builder().id(2L).build();
+        when(riskAnalysisRepository.findByDocumentIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(older, testRiskAnalysis));
+
+        RiskAnalysis rescored = RiskAnalysis.builder().document(testDocument)
+                .overallRiskLevel(RiskAnalysis.RiskLevel.LOW).riskScore(0.2f)
+                .framework(RiskAnalysis.AnalysisFramework.NIST).build();
+        RiskAnalysis created = RiskAnalysis.builder().document(newDocument)
+                .overallRiskLevel(RiskAnalysis.RiskLevel.LOW).riskScore(0.2f).build();
+        riskAnalysisService.applyReanalyses(List.of(rescored, created));
+
+        assertEquals(RiskAnalysis.RiskLevel.LOW, testRiskAnalysis.getOverallRiskLevel());
+        assertEquals(RiskAnalysis.AnalysisFramework.NIST, testRiskAnalysis.getFramework());
+        assertFalse(testRiskAnalysis.getReviewed());
+        assertNull(testRiskAnalysis.getReviewedByUser());
+        assertEquals(RiskAnalysis.RiskLevel.CRITICAL, older.getOverallRiskLevel());
+        verify(riskAnalysisRepository).saveAll(List.of(created));
     }
 }
@@ -0,0 +1,150 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.domain.RiskStatistics;
+import com.document.analyzer.entity.Classification;
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.RiskAnalysis;
+import com.document.analyzer.entity.RiskStatCounter;
+import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.RiskStatCounterRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counters are written just before commit, so these tests commit their transaction and
+ * clean the tables up afterwards.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({RiskStatsService.class, RiskAnalysisService.class, ClassificationService.class, ClassificationRules.class})
+class RiskStatsServiceTest {
+
+    @Autowired
+    private RiskStatsService riskStatsService;
+
+    @Autowired
+    private RiskAnalysisService riskAnalysisService;
+
+    @Autowired
+    private ClassificationService classificationService;
+
+    @Autowired
+    private RiskStatCounterRepository riskStatCounterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        if (TestTransaction.isActive()) {
+            TestTransaction.end();
+        }
+        for (String table : new String[]{"risk_analyses", "classifications", "documents", "document_content",
+                "users", "risk_stat_counters"}) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void testCountersFollowWritesAndMatchRebuild() {
+        User uploader = persistUser("uploader@example.com");
+        User reviewer = persistUser("reviewer@example.com");
+        Document contract = persistDocument(uploader, "contract.txt", "confidential agreement");
+        Document invoice = persistDocument(uploader, "invoice.txt", "payment by credit card and password");
+
+        RiskAnalysis contractAnalysis = riskAnalysisService.analyzeDocumentRisk(
+                contract.getId(), RiskAnalysis.AnalysisFramework.OWASP);
+        RiskAnalysis invoiceAnalysis = riskAnalysisService.analyzeDocumentRisk(
+                invoice.getId(), RiskAnalysis.AnalysisFramework.NIST);
+        classificationService.classifyDocument(contract.getId());
+        Classification invoiceClassification = classificationService.classifyDocument(invoice.getId());
+        riskAnalysisService.reviewAnalysis(contractAnalysis.getId(), reviewer.getId(), "ok");
+        riskAnalysisService.updateRiskLevel(invoiceAnalysis.getId(), RiskAnalysis.RiskLevel.CRITICAL);
+        classificationService.updateClassification(invoiceClassification.getId(),
+                Classification.DocumentCategory.POLICY);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        RiskStatistics stats = riskStatsService.getStatistics(7);
+        assertEquals(2, stats.getTotalAnalyses());
+        assertEquals(1, stats.getReviewed());
+        assertEquals(1, stats.getPendingReview());
+        assertEquals(1, stats.getByRiskLevel().get(RiskAnalysis.RiskLevel.CRITICAL));
+        assertEquals(1, stats.getByFramework().get(RiskAnalysis.AnalysisFramework.OWASP));
+        assertEquals(1, stats.getByFramework().get(RiskAnalysis.AnalysisFramework.NIST));
+        assertEquals(0, stats.getByFramework().get(RiskAnalysis.AnalysisFramework.ISO27001));
+        assertEquals(1, stats.getByCategory().get(Classification.DocumentCategory.POLICY));
+        assertEquals(2, stats.getTotalClassifications());
+        assertEquals(Map.of(reviewer.getId(), 1L), stats.getByReviewer());
+        assertEquals(Map.of(LocalDate.now(), 2L), stats.getByDay());
+
+        Map<RiskStatCounter.Key, Long> incremental = nonZeroCounters();
+        riskStatsService.rebuild();
+        assertEquals(incremental, nonZeroCounters());
+    }
+
+    @Test
+    void testDeletingUploaderRemovesTheirAnalysesFromCounters() {
+        User uploader = persistUser("leaver@example.com");
+        User reviewer = persistUser("reviewer@example.com");
+        Document document = persistDocument(uploader, "report.txt", "medical diagnosis");
+        RiskAnalysis analysis = riskAnalysisService.analyzeDocumentRisk(
+                document.getId(), RiskAnalysis.AnalysisFramework.GDPR);
+        classificationService.classifyDocument(document.getId());
+        riskAnalysisService.reviewAnalysis(analysis.getId(), reviewer.getId(), null);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        TestTransaction.start();
+        riskStatsService.recordUserRemoval(uploader.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", uploader.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        RiskStatistics stats = riskStatsService.getStatistics(7);
+        assertEquals(0, stats.getTotalAnalyses());
+        assertEquals(0, stats.getTotalClassifications());
+        assertEquals(Map.of(), stats.getByReviewer());
+        assertEquals(Map.of(), stats.getByDay());
+    }
+
+    private Map<RiskStatCounter.Key, Long> nonZeroCounters() {
+        return riskStatCounterRepository.findAll().stream()
+                .filter(counter -> counter.getTotal() != 0)
+                .collect(Collectors.toMap(RiskStatCounter::getKey, RiskStatCounter::getTotal));
+    }
+
+    private User persistUser(String email) {
+        User user = User.builder().email(email).firstName("Test").lastName("User")
+                .passwordHash("hash").role(User.UserRole.ANALYST).active(true).build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Document persistDocument(User user, String fileName, String text) {
+        Document document = Document.builder()
+                .fileName(fileName)
+                .filePath("/uploads/" + fileName)
+                .fileSize(10L)
+                .documentType(Document.DocumentType.TXT)
+                .extractedText(text)
+                .uploadedBy(user)
+                .build();
+        entityManager.persist(document);
+        return document;
+    }
+}
@@ -0,0 +1,140 @@
+package com.document.analyzer.service;
+
+import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.User;
+import com.document.analyzer.storage.DocumentStorage;
+import com.document.analyzer.storage.LocalDocumentStorage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deletions only run after commit, so these tests manage their own transactions.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({StoredFileLocks.class, StoredFileLocksTest.Storage.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StoredFileLocksTest {
+
+    @Autowired
+    private StoredFileLocks storedFileLocks;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM documents");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void testRolledBackDeletionKeepsTheFile() throws IOException {
+        String location = store("rollback");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storedFileLocks.deleteWhenUnreferenced(location);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(documentStorage.exists(location));
+    }
+
+    @Test
+    void testCommittedDeletionRemovesUnreferencedFile() throws IOException {
+        String location = store("unreferenced");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                storedFileLocks.deleteWhenUnreferenced(location));
+
+        assertFalse(documentStorage.exists(location));
+    }
+
+    @Test
+    void testDeletionWaitsForAnUploadHoldingTheLock() throws Exception {
+        String location = store("shared");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread upload = Thread.ofVirtual().start(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    storedFileLocks.lock(location);
+                    locked.countDown();
+                    await(release);
+                    persistDocument(location);
+                }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Thread deletion = Thread.ofVirtual().start(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> storedFileLocks.deleteWhenUnreferenced(location)));
+        assertFalse(deletion.join(Duration.ofMillis(200)));
+        release.countDown();
+        upload.join();
+        deletion.join();
+
+        assertTrue(documentStorage.exists(location));
+    }
+
+    private String store(String text) throws IOException {
+        return documentStorage.store(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                text + ".txt", 1024).location();
+    }
+
+    private void persistDocument(String location) {
+        User user = User.builder().email("uploader@example.com").firstName("Test").lastName("User")
+                .passwordHash("hash").role(User.UserRole.ANALYST).active(true).build();
+        entityManager.persist(user);
+        entityManager.persist(Document.builder()
+                .fileName("shared.txt")
+                .filePath(location)
+                .fileSize(6L)
+                .documentType(Document.DocumentType.TXT)
+                .uploadedBy(user)
+                .build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class Storage {
+        @Bean
+        DocumentStorage documentStorage() throws IOException {
+            return new LocalDocumentStorage(Files.createTempDirectory("stored-file-locks"));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.document.analyzer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingResultParserTest {
+
+    private static final String RESPONSE = """
+            ```json
+            {
+              "summary": "Supplier \\"as is\\" agreement",
+              "keyPoints": ["Term, 12 months", "Net 30"],
+              "risks": [
+                {"level": "HIGH", "description": "Unlimited liability", "impact": "Severe"},
+                {"level": "LOW", "description": "Late fees", "impact": "Minor", "extra": {"nested": "ignored"}}
+              ],
+              "recommendations": ["Cap liability"],
+              "confidence": 0.9
+            }
+            ```""";
+
+    @Test
+    void testEmitsEventsAsValuesCompleteAcrossDeltas() {
+        List<String> events = new ArrayList<>();
+        StreamingResultParser parser = new StreamingResultParser((name, data) -> events.add(name + "=" + data));
+
+        for (int i = 0; i < RESPONSE.length(); i += 3) {
+            parser.feed(RESPONSE.substring(i, Math.min(RESPONSE.length(), i + 3)));
+        }
+
+        assertEquals(List.of(
+                "summary=Supplier \"as is\" agreement",
+                "keyPoint=Term, 12 months",
+                "keyPoint=Net 30",
+                "risk={level=HIGH, description=Unlimited liability, impact=Severe}",
+                "risk={level=LOW, description=Late fees, impact=Minor}",
+                "recommendation=Cap liability"), events);
+    }
+
+    @Test
+    void testStopsEmittingAfterMalformedInput() {
+        List<String> events = new ArrayList<>();
+        StreamingResultParser parser = new StreamingResultParser((name, data) -> events.add(name));
+
+        parser.feed("{\"summary\": \"First\", \"keyPoints\": [oops");
+        parser.feed("\"Second\"]}");
+
+        assertEquals(List.of("summary"), events);
+    }
+}
@@ -1,19 +1,29 @@
 package com.document.analyzer.service;
 
 import com.document.analyzer.entity.Document;
+import com.document.analyzer.entity.DocumentContent;
 import com.document.analyzer.entity.RiskAnalysis;
 import com.document.analyzer.entity.User;
+import com.document.analyzer.repository.DocumentContentRepository;
 import com.document.analyzer.repository.DocumentRepository;
 import com.document.analyzer.repository.UserRepository;
+import com.document.analyzer.storage.LocalDocumentStorage;
+import com.document.analyzer.util.DocumentTextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -23,6 +33,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +42,9 @@ public class UploadServiceTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private DocumentContentRepository documentContentRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -40,6 +54,18 @@ public class UploadServiceTest {
     @Mock
     private RiskAnalysisService riskAnalysisService;
 
+    @Mock
+    private RiskStatsService riskStatsService;
+
+    @Mock
+    private StoredFileLocks storedFileLocks;
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(ObservationRegistry.NOOP, new SimpleMeterRegistry());
+
+    @Spy
+    private DocumentTextExtractor documentTextExtractor = new DocumentTextExtractor(DataSize.ofMegabytes(16), 1, 32, ObservationRegistry.NOOP);
+
     @Mock
     private MultipartFile mockFile;
 
@@ -48,6 +74,7 @@ public class UploadServiceTest {
 
     private User testUser;
     private Document testDocument;
+    private Path storageDir;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -70,8 +97,8 @@ public class UploadServiceTest {
                 .processingStatus(Document.ProcessingStatus.PENDING)
                 .build();
 
-        Path tempDir = Files.createTempDirectory("upload-test");
-        ReflectionTestUtils.setField(uploadService, "uploadDir", tempDir.toString());
+        storageDir = Files.createTempDirectory("upload-test");
+        ReflectionTestUtils.setField(uploadService, "documentStorage", new LocalDocumentStorage(storageDir));
     }
 
     @Test
@@ -80,8 +107,7 @@ public class UploadServiceTest {
         
         when(mockFile.getOriginalFilename()).thenReturn("test.txt");
         when(mockFile.getSize()).thenReturn(1024L);
-        when(mockFile.getBytes()).thenReturn(textContent);
-        doNothing().when(mockFile).transferTo(any(java.io.File.class));
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(textContent));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
             Document doc = invocation.getArgument(0);
@@ -96,8 +122,95 @@ public class UploadServiceTest {
         assertNotNull(document);
         assertEquals("test.txt", document.getFileName());
         assertEquals(Document.DocumentType.TXT, document.getDocumentType());
+        assertEquals("Test document content", document.getExtractedText());
+        assertEquals("9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092", document.getContentHash());
         verify(userRepository, times(1)).findById(1L);
         verify(documentRepository, times(2)).save(any(Document.class));
+        verify(pipelineMetrics).stage(eq(PipelineMetrics.UPLOAD), eq("save"), any());
+        verify(pipelineMetrics).stage(eq(PipelineMetrics.UPLOAD), eq("save-status"), any());
+    }
+
+    @Test
+    void testUploadDuplicateOfOwnDocumentReturnsExisting() throws IOException {
+        testDocument.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+        when(mockFile.getOriginalFilename()).thenReturn("test.txt");
+        when(mockFile.getSize()).thenReturn(1024L);
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream("Same content".getBytes()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(documentRepository.findFirstByContentHashAndUploadedByIdAndProcessingStatus(
+                any(), eq(1L), eq(Document.ProcessingStatus.COMPLETED))).thenReturn(Optional.of(testDocument));
+
+        Document document = uploadService.uploadDocument(mockFile, 1L);
+
+        assertSame(testDocument, document);
+        verify(documentRepository, never()).save(any(Document.class));
+        verify(classificationService, never()).classifyDocument(anyLong());
+        verify(riskAnalysisService, never()).analyzeDocumentRisk(anyLong(), any());
+    }
+
+    @Test
+    void testUploadDuplicateOfOtherUsersDocumentReusesResults() throws IOException {
+        testDocument.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+        testDocument.setExtractedText("Same content");
+        testDocument.setContentHash("abc123");
+        when(mockFile.getOriginalFilename()).thenReturn("copy.txt");
+        when(mockFile.getSize()).thenReturn(1024L);
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream("Same content".getBytes()));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(testUser));
+        when(documentRepository.findFirstByContentHashAndProcessingStatus(any(), eq(Document.ProcessingStatus.COMPLETED)))
+                .thenReturn(Optional.of(testDocument));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document doc = invocation.getArgument(0);
+            if (doc.getId() == null) {
+                doc.setId(2L);
+            }
+            return doc;
+        });
+
+        Document document = uploadService.uploadDocument(mockFile, 2L);
+
+        assertEquals(2L, document.getId());
+        assertEquals("copy.txt", document.getFileName());
+        assertEquals(testDocument.getFilePath(), document.getFilePath());
+        assertEquals("Same content", document.getExtractedText());
+        assertSame(testDocument.getContent(), document.getContent());
+        assertEquals(Document.ProcessingStatus.COMPLETED, document.getProcessingStatus());
+        verify(classificationService).copyClassification(1L, document);
+        verify(riskAnalysisService).copyAnalysis(1L, document);
+        verify(classificationService, never()).classifyDocument(anyLong());
+    }
+
+    @Test
+    void testUploadDuplicateKeepsStoredFileSharedWithOriginal() throws IOException {
+        String location = "9a/57/9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092.txt";
+        testDocument.setProcessingStatus(Document.ProcessingStatus.COMPLETED);
+        testDocument.setFilePath(location);
+        when(mockFile.getOriginalFilename()).thenReturn("test.txt");
+        when(mockFile.getSize()).thenReturn(21L);
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream("Test document content".getBytes()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(documentRepository.findFirstByContentHashAndUploadedByIdAndProcessingStatus(
+                any(), eq(1L), eq(Document.ProcessingStatus.COMPLETED))).thenReturn(Optional.of(testDocument));
+
+        uploadService.uploadDocument(mockFile, 1L);
+
+        assertTrue(Files.exists(storageDir.resolve(location)));
+        verify(storedFileLocks).lock(location);
+        verify(storedFileLocks).deleteWhenUnreferenced(location);
+    }
+
+    @Test
+    void testUploadFailsWhenStoredFileIsDeletedBeforeTheLock() throws IOException {
+        String location = "9a/57/9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092.txt";
+        when(mockFile.getOriginalFilename()).thenReturn("test.txt");
+        when(mockFile.getSize()).thenReturn(21L);
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream("Test document content".getBytes()));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        doAnswer(invocation -> Files.deleteIfExists(storageDir.resolve(location)))
+                .when(storedFileLocks).lock(location);
+
+        assertThrows(IllegalStateException.class, () -> uploadService.uploadDocument(mockFile, 1L));
+        verify(documentRepository, never()).save(any());
     }
 
     @Test
@@ -112,9 +225,10 @@ public class UploadServiceTest {
 
     @Test
     void testGetUserDocuments() {
-        uploadService.getUserDocuments(1L);
+        uploadService.getUserDocuments(1L, null, 20);
 
-        verify(documentRepository, times(1)).findByUploadedById(1L);
+        verify(documentRepository, times(1)).findSummariesByUploadedByIdAndIdLessThanOrderByIdDesc(
+                1L, Long.MAX_VALUE, PageRequest.ofSize(21));
     }
 
     @Test
@@ -136,6 +250,21 @@ public class UploadServiceTest {
 
         verify(documentRepository, times(1)).findById(1L);
         verify(documentRepository, times(1)).deleteById(1L);
+        verify(storedFileLocks).deleteWhenUnreferenced("/uploads/test.pdf");
+    }
+
+    @Test
+    void testDeleteDocumentKeepsContentSharedWithDuplicates() throws IOException {
+        testDocument.setExtractedText("Shared content");
+        testDocument.getContent().setId(7L);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(documentRepository.countByContentId(7L)).thenReturn(1L, 0L);
+
+        uploadService.deleteDocument(1L);
+        verify(documentContentRepository, never()).delete(any());
+
+        uploadService.deleteDocument(1L);
+        verify(documentContentRepository).delete(testDocument.getContent());
     }
 
     @Test
@@ -160,6 +289,44 @@ public class UploadServiceTest {
         Files.deleteIfExists(tempFile);
     }
 
+    @Test
+    void testReExtractionLeavesContentSharedWithDuplicatesUntouched() throws IOException {
+        Path tempFile = Files.createTempFile("test", ".txt");
+        Files.write(tempFile, "Re-extracted content".getBytes());
+        testDocument.setFilePath(tempFile.toString());
+        testDocument.setExtractedText("Shared content");
+        DocumentContent shared = testDocument.getContent();
+        shared.setId(7L);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(documentRepository.countByContentId(7L)).thenReturn(1L);
+
+        Document document = uploadService.extractAndStoreText(1L);
+
+        assertEquals("Re-extracted content", document.getExtractedText());
+        assertNotSame(shared, document.getContent());
+        assertEquals("Shared content", shared.getText());
+        verify(documentContentRepository, never()).delete(any());
+    }
+
+    @Test
+    void testReExtractionDeletesContentNoLongerReferenced() throws IOException {
+        Path tempFile = Files.createTempFile("test", ".txt");
+        Files.write(tempFile, "Re-extracted content".getBytes());
+        testDocument.setFilePath(tempFile.toString());
+        testDocument.setExtractedText("Old content");
+        DocumentContent old = testDocument.getContent();
+        old.setId(7L);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(testDocument));
+        when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(documentRepository.countByContentId(7L)).thenReturn(0L);
+
+        uploadService.extractText(1L);
+
+        assertEquals("Re-extracted content", testDocument.getExtractedText());
+        verify(documentContentRepository).delete(old);
+    }
+
     @Test
     void testDocumentTypeInference() {
         testDocument.setFileName("invoice.docx");
@@ -177,8 +344,7 @@ public class UploadServiceTest {
         
         when(mockFile.getOriginalFilename()).thenReturn("test.pdf");
         when(mockFile.getSize()).thenReturn(1024L);
-        when(mockFile.getBytes()).thenReturn(pdfContent);
-        doNothing().when(mockFile).transferTo(any(java.io.File.class));
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(pdfContent));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
             Document doc = invocation.getArgument(0);
@@ -195,4 +361,29 @@ public class UploadServiceTest {
         assertEquals(Document.DocumentType.PDF, document.getDocumentType());
         verify(userRepository, times(1)).findById(1L);
     }
+
+    @Test
+    void testStageDocumentStreamsToStorageWithoutSaving() throws IOException {
+        Document staged = uploadService.stageDocument("notes.txt",
+                new ByteArrayInputStream("Test document content".getBytes()), testUser);
+
+        assertNull(staged.getId());
+        assertEquals(Document.ProcessingStatus.PROCESSING, staged.getProcessingStatus());
+        assertEquals(21L, staged.getFileSize());
+        assertEquals("9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092", staged.getContentHash());
+        assertEquals("9a/57/9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092.txt", staged.getFilePath());
+        assertTrue(Files.exists(storageDir.resolve(staged.getFilePath())));
+        verify(documentRepository, never()).save(any(Document.class));
+    }
+
+    @Test
+    void testStageDocumentRejectsOversizedStreamAndCleansUp() throws IOException {
+        ReflectionTestUtils.setField(uploadService, "maxFileSize", DataSize.ofBytes(8));
+        assertThrows(RuntimeException.class, () -> uploadService.stageDocument("big.txt",
+                new ByteArrayInputStream("more than eight bytes".getBytes()), testUser));
+
+        try (var files = Files.walk(storageDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
 }
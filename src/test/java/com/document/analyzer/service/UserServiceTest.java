@@ -21,6 +21,9 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RiskStatsService riskStatsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -0,0 +1,94 @@
+package com.document.analyzer.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalDocumentStorageTest {
+
+    private static final String HASH = "9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092";
+
+    @TempDir
+    Path root;
+
+    private LocalDocumentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalDocumentStorage(root);
+    }
+
+    @Test
+    void testStoreShardsByContentHash() throws IOException {
+        DocumentStorage.StoredObject stored = storage.store(content("Test document content"), "Report.TXT", 1024);
+
+        assertEquals("9a/57/" + HASH + ".txt", stored.location());
+        assertEquals(HASH, stored.contentHash());
+        assertEquals(21L, stored.size());
+        assertEquals("Test document content", Files.readString(root.resolve(stored.location())));
+        assertEquals("Test document content", storage.read(stored.location(), Files::readString));
+        try (InputStream in = storage.open(stored.location())) {
+            assertEquals("Test document content", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(0, regularFiles(root.resolve(".tmp")));
+    }
+
+    @Test
+    void testStoreSameContentTwiceKeepsOneFile() throws IOException {
+        DocumentStorage.StoredObject first = storage.store(content("Test document content"), "a.txt", 1024);
+        DocumentStorage.StoredObject second = storage.store(content("Test document content"), "b.txt", 1024);
+
+        assertEquals(first.location(), second.location());
+        assertEquals(1, regularFiles(root));
+    }
+
+    @Test
+    void testStoreRejectsOversizedContentWithoutLeavingFiles() throws IOException {
+        assertThrows(DocumentStorage.TooLargeException.class,
+                () -> storage.store(content("more than eight bytes"), "big.txt", 8));
+
+        assertEquals(0, regularFiles(root));
+    }
+
+    @Test
+    void testUnsafeExtensionIsDropped() throws IOException {
+        DocumentStorage.StoredObject stored = storage.store(content("x"), "evil.t/../xt", 1024);
+
+        assertFalse(stored.location().contains(".."));
+        assertTrue(storage.exists(stored.location()));
+    }
+
+    @Test
+    void testLegacyAbsolutePathsAreStillReadable(@TempDir Path legacyDir) throws IOException {
+        Path legacy = Files.writeString(legacyDir.resolve("1234_old.txt"), "legacy");
+
+        assertEquals("legacy", storage.read(legacy.toString(), Files::readString));
+        storage.delete(legacy.toString());
+        assertFalse(Files.exists(legacy));
+    }
+
+    @Test
+    void testRelativeLocationCannotEscapeRoot() {
+        assertThrows(IllegalArgumentException.class, () -> storage.exists("../outside.txt"));
+    }
+
+    private static InputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long regularFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.document.analyzer.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the S3 backend against an in-process stand-in that implements path-style object
+ * PUT/GET/HEAD/DELETE on one bucket and checks every request's SigV4 signature.
+ */
+class S3DocumentStorageTest {
+
+    private static final String HASH = "9a5736fd6959125e54440ffd943f934a2daf0cdc3632d314dd2f374a06e21092";
+
+    @TempDir
+    Path spoolDir;
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final S3RequestSigner signer = new S3RequestSigner("AKIDEXAMPLE", "secret", "us-east-1",
+            Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC));
+    private HttpServer server;
+    private S3DocumentStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/documents/", this::handle);
+        server.start();
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        storage = new S3DocumentStorage(endpoint, "documents", Duration.ofSeconds(5), signer, spoolDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testStoreUploadsOnceUnderContentKey() throws IOException {
+        DocumentStorage.StoredObject first = storage.store(content("Test document content"), "notes.txt", 1024);
+        DocumentStorage.StoredObject second = storage.store(content("Test document content"), "copy.txt", 1024);
+
+        assertEquals("9a/57/" + HASH + ".txt", first.location());
+        assertEquals(first.location(), second.location());
+        assertEquals(List.of("HEAD", "PUT", "HEAD"), requests);
+        assertEquals("Test document content", new String(objects.get(first.location()), StandardCharsets.UTF_8));
+        assertEquals(0, Files.list(spoolDir).count());
+    }
+
+    @Test
+    void testReadOpenAndDelete() throws IOException {
+        String location = storage.store(content("Test document content"), "notes.txt", 1024).location();
+
+        assertEquals("Test document content", storage.read(location, file -> {
+            assertTrue(file.toString().endsWith(".txt"));
+            return Files.readString(file);
+        }));
+        try (InputStream in = storage.open(location)) {
+            assertEquals("Test document content", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        storage.delete(location);
+        assertFalse(storage.exists(location));
+        assertThrows(NoSuchFileException.class, () -> storage.open(location));
+        assertEquals(0, Files.list(spoolDir).count());
+    }
+
+    @Test
+    void testTransferToFetchesOnlyTheRequestedRange() throws IOException {
+        String location = storage.store(content("Test document content"), "notes.txt", 1024).location();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        storage.transferTo(location, 5, 8, Channels.newChannel(out));
+
+        assertEquals("document", out.toString(StandardCharsets.UTF_8));
+        assertEquals(21L, storage.size(location));
+        assertEquals(List.of("HEAD", "PUT", "GET 206", "HEAD"), requests);
+    }
+
+    @Test
+    void testOversizedContentIsNeverUploaded() {
+        assertThrows(DocumentStorage.TooLargeException.class,
+                () -> storage.store(content("more than eight bytes"), "big.txt", 8));
+
+        assertTrue(requests.isEmpty());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        requests.add(method);
+        String key = exchange.getRequestURI().getPath().substring("/documents/".length());
+        String payloadHash = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        String expected = signer.authorization(method, URI.create("http://" + exchange.getRequestHeaders().getFirst("Host")
+                + exchange.getRequestURI()), payloadHash, exchange.getRequestHeaders().getFirst("x-amz-date"));
+        if (!expected.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 403, new byte[0]);
+            return;
+        }
+        byte[] object = objects.get(key);
+        switch (method) {
+            case "PUT" -> {
+                objects.put(key, exchange.getRequestBody().readAllBytes());
+                respond(exchange, 200, new byte[0]);
+            }
+            case "GET" -> {
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                if (object == null || range == null) {
+                    respond(exchange, object == null ? 404 : 200, object == null ? new byte[0] : object);
+                    return;
+                }
+                requests.set(requests.size() - 1, "GET 206");
+                String[] bounds = range.substring("bytes=".length()).split("-");
+                int start = Integer.parseInt(bounds[0]);
+                int end = Integer.parseInt(bounds[1]);
+                exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+                respond(exchange, 206, Arrays.copyOfRange(object, start, end + 1));
+            }
+            case "HEAD" -> {
+                if (object != null) {
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.length));
+                }
+                exchange.sendResponseHeaders(object == null ? 404 : 200, -1);
+                exchange.close();
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                respond(exchange, 204, new byte[0]);
+            }
+            default -> respond(exchange, 405, new byte[0]);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static InputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
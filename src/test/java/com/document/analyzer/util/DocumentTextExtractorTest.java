@@ -0,0 +1,114 @@
+package com.document.analyzer.util;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentTextExtractorTest {
+
+    private final DocumentTextExtractor extractor = new DocumentTextExtractor(DataSize.ofKilobytes(64), 1, 32, ObservationRegistry.NOOP);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExtractPlainText() throws IOException {
+        Path file = tempDir.resolve("notes.txt");
+        Files.writeString(file, "Plain text content", StandardCharsets.UTF_8);
+
+        assertEquals("Plain text content", extractor.extractText(file));
+    }
+
+    @Test
+    void testExtractPdfKeepsPageOrder() throws IOException {
+        Path file = tempDir.resolve("contract.pdf");
+        writePdf(file, "First page clause", "Second page clause");
+
+        String text = extractor.extractText(file);
+        assertTrue(text.indexOf("First page clause") < text.indexOf("Second page clause"));
+        assertTrue(text.contains("Second page clause"));
+    }
+
+    @Test
+    void testParallelExtractionKeepsPageOrder() throws IOException {
+        Path file = tempDir.resolve("long-contract.pdf");
+        String[] pages = new String[23];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = "Clause number " + (i + 1);
+        }
+        writePdf(file, pages);
+
+        DocumentTextExtractor parallelExtractor = new DocumentTextExtractor(DataSize.ofKilobytes(64), 4, 10, ObservationRegistry.NOOP);
+        try {
+            String parallelText = parallelExtractor.extractText(file);
+
+            assertEquals(extractor.extractText(file), parallelText);
+            for (int i = 1; i < pages.length; i++) {
+                assertTrue(parallelText.indexOf(pages[i - 1] + System.lineSeparator())
+                        < parallelText.indexOf(pages[i] + System.lineSeparator()));
+            }
+        } finally {
+            parallelExtractor.destroy();
+        }
+    }
+
+    @Test
+    void testPdfPageCountIsAddedToCurrentObservation() throws IOException {
+        Path file = tempDir.resolve("contract.pdf");
+        writePdf(file, "First page clause", "Second page clause");
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(context -> true);
+        DocumentTextExtractor observedExtractor = new DocumentTextExtractor(DataSize.ofKilobytes(64), 1, 32, registry);
+
+        Observation observation = Observation.start("extract", registry);
+        try (Observation.Scope scope = observation.openScope()) {
+            observedExtractor.extractText(file);
+        } finally {
+            observation.stop();
+        }
+
+        assertEquals("2", observation.getContext()
+                .getHighCardinalityKeyValue(DocumentTextExtractor.PAGE_COUNT).getValue());
+    }
+
+    @Test
+    void testUnsupportedTypeReturnsPlaceholder() throws IOException {
+        Path file = tempDir.resolve("scan.png");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertEquals(DocumentTextExtractor.UNSUPPORTED_TYPE_TEXT, extractor.extractText(file));
+    }
+
+    static void writePdf(Path file, String... pageTexts) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (String pageText : pageTexts) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(pageText);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.document.analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeywordMatcherTest {
+
+    enum Label {
+        SECRET, MONEY, CONTRACT
+    }
+
+    private final KeywordMatcher<Label> matcher = KeywordMatcher.builder(Label.class)
+            .add(Label.SECRET, "password", "api key", "token")
+            .add(Label.MONEY, "bank", "bank account", "payment")
+            .add(Label.CONTRACT, "contract", "tract")
+            .build();
+
+    @Test
+    void testMatchIsCaseInsensitive() {
+        KeywordMatcher.Matches<Label> matches = matcher.match("Your PASSWORD and Api Key are attached");
+
+        assertTrue(matches.contains(Label.SECRET));
+        assertEquals(2, matches.count(Label.SECRET));
+        assertFalse(matches.contains(Label.MONEY));
+    }
+
+    @Test
+    void testOverlappingKeywordsAreAllReported() {
+        KeywordMatcher.Matches<Label> matches = matcher.match("bank account and contract");
+
+        assertEquals(2, matches.count(Label.MONEY));
+        assertEquals(List.of(0, 0), matches.positions(Label.MONEY));
+        assertEquals(2, matches.count(Label.CONTRACT));
+        assertEquals(List.of(17, 20), matches.positions(Label.CONTRACT));
+    }
+
+    @Test
+    void testPositionsAreCappedButCountsAreNot() {
+        String text = "payment token ".repeat(2000) + "contract";
+
+        KeywordMatcher.Matches<Label> matches = matcher.match(text);
+
+        assertEquals(text.length(), matches.scannedLength());
+        assertEquals(KeywordMatcher.MAX_RECORDED_POSITIONS, matches.positions(Label.SECRET).size());
+        assertEquals(2000, matches.count(Label.SECRET));
+        assertEquals(2000, matches.count(Label.MONEY));
+    }
+
+    @Test
+    void testNullAndNonMatchingText() {
+        assertTrue(matcher.match((String) null).counts().isEmpty());
+        assertTrue(matcher.match("nothing relevant here é中").counts().isEmpty());
+    }
+
+    @Test
+    void testEmptyKeywordIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> KeywordMatcher.builder(Label.class).add(Label.SECRET, ""));
+    }
+}
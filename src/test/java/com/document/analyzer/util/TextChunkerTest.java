@@ -0,0 +1,70 @@
+package com.document.analyzer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextChunkerTest {
+
+    @Test
+    void testShortTextIsSingleChunk() {
+        assertEquals(List.of("Short document."), TextChunker.chunk("  Short document.\n", 100));
+    }
+
+    @Test
+    void testBlankTextHasNoChunks() {
+        assertTrue(TextChunker.chunk(null, 100).isEmpty());
+        assertTrue(TextChunker.chunk("   ", 100).isEmpty());
+    }
+
+    @Test
+    void testSplitsOnParagraphBoundaries() {
+        String first = "a".repeat(30);
+        String second = "b".repeat(30);
+        String third = "c".repeat(30);
+
+        List<String> chunks = TextChunker.chunk(first + "\n\n" + second + "\n\n" + third, 10);
+
+        assertEquals(List.of(first, second, third), chunks);
+    }
+
+    @Test
+    void testPacksSmallParagraphsTogether() {
+        List<String> chunks = TextChunker.chunk("one\n\ntwo\n\nthree\n\n" + "x".repeat(40), 10);
+
+        assertEquals(List.of("one\n\ntwo\n\nthree", "x".repeat(40)), chunks);
+    }
+
+    @Test
+    void testSplitsOnNumberedSections() {
+        String text = "1. Definitions " + "d".repeat(40) + "\n2. Payment " + "p".repeat(40);
+
+        List<String> chunks = TextChunker.chunk(text, 15);
+
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.get(0).startsWith("1. Definitions"));
+        assertTrue(chunks.get(1).startsWith("2. Payment"));
+    }
+
+    @Test
+    void testOversizedParagraphSplitsOnSentencesAndWords() {
+        String sentence = "word ".repeat(10).strip() + ".";
+        String paragraph = String.join(" ", List.of(sentence, sentence, sentence)) + " " + "long ".repeat(40).strip();
+
+        List<String> chunks = TextChunker.chunk(paragraph, 20);
+
+        for (String chunk : chunks) {
+            assertTrue(chunk.length() <= 20 * TextChunker.CHARS_PER_TOKEN, chunk);
+        }
+        assertEquals(paragraph.replaceAll("\\s+", ""), String.join("", chunks).replaceAll("\\s+", ""));
+    }
+
+    @Test
+    void testRejectsNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class, () -> TextChunker.chunk("text", 0));
+    }
+}